@@ -0,0 +1,85 @@
+package benchmarks;
+
+import database.DatabaseManager;
+import model.Article;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Shared inputs for the benchmarks: recorded API responses and an embedded database
+ */
+final class Fixtures {
+
+    // One full SerpApi google_scholar page (20 organic results, with profiles and pagination)
+    static final String AUTHOR_SEARCH_PAGE = "/fixtures/author_search_page.json";
+
+    private static final AtomicInteger DATABASES = new AtomicInteger();
+
+    private Fixtures() {
+    }
+
+    /**
+     * Drops the application's console logging (one line per stored article),
+     * which would otherwise dominate the write benchmarks
+     */
+    static void silenceLogging() {
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    static byte[] load(String resource) {
+        try (InputStream in = Fixtures.class.getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing fixture " + resource);
+            }
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Opens a fresh in-memory database with the application schema
+     * H2 in MySQL mode accepts the production DDL and upsert syntax
+     */
+    static DatabaseManager openDatabase() throws SQLException {
+        silenceLogging();
+        String url = "jdbc:h2:mem:bench" + DATABASES.incrementAndGet()
+                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+        DatabaseManager db = new DatabaseManager(url, null, null);
+        db.connect();
+        db.createSchema();
+        return db;
+    }
+
+    /**
+     * Builds articles shaped like parsed API results, unique per sequence number
+     */
+    static List<Article> articles(int firstSequence, int count) {
+        List<Article> articles = new ArrayList<>(count);
+        for (int i = firstSequence; i < firstSequence + count; i++) {
+            articles.add(article(i));
+        }
+        return articles;
+    }
+
+    static Article article(int sequence) {
+        return new Article(
+                "On the electrodynamics of moving bodies, part " + sequence,
+                "A Einstein, B Podolsky, N Rosen",
+                LocalDate.of(1935, 5, 15),
+                "Can quantum-mechanical description of physical reality be considered complete? "
+                        + "In a complete theory there is an element corresponding to each element of reality.",
+                "https://journals.example.org/doi/10.1103/PhysRev." + sequence,
+                "Can quantum-mechanical description of physical re...",
+                sequence % 5000,
+                "Albert Einstein");
+    }
+}
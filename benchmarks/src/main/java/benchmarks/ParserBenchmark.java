@@ -0,0 +1,77 @@
+package benchmarks;
+
+import model.Article;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import service.HttpTransport;
+import service.RateLimiter;
+import service.ScholarAPIService;
+import service.SerpApiResponseParser;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Response decoding: the streaming parser on its own, and the full
+ * request path (transport -> retry chain -> parser) with a canned transport
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 10, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(3)
+public class ParserBenchmark {
+
+    private byte[] page;
+    private SerpApiResponseParser parser;
+    private ScholarAPIService service;
+
+    @Setup
+    public void setUp() {
+        Fixtures.silenceLogging();
+        page = Fixtures.load(Fixtures.AUTHOR_SEARCH_PAGE);
+        parser = new SerpApiResponseParser();
+
+        // No cache, no network and a limiter that never makes a request wait
+        HttpTransport transport = uri -> CompletableFuture.completedFuture(
+                new HttpTransport.Response(200, Map.of(), new ByteArrayInputStream(page)));
+        service = new ScholarAPIService(new RateLimiter(Integer.MAX_VALUE, 1e9), null, transport);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        service.close();
+    }
+
+    /** Decodes all 20 results of a page */
+    @Benchmark
+    public List<Article> parseFullPage() throws IOException {
+        return parser.parseOrganicResults(new ByteArrayInputStream(page), "Albert Einstein", 20);
+    }
+
+    /** Decodes one result and stops, the early-exit path */
+    @Benchmark
+    public List<Article> parseFirstResult() throws IOException {
+        return parser.parseOrganicResults(new ByteArrayInputStream(page), "Albert Einstein", 1);
+    }
+
+    /** One page through ScholarAPIService, including retry/handling overhead */
+    @Benchmark
+    public List<Article> fetchPage() throws Exception {
+        return service.fetchPageAsync("Albert Einstein", 0, 20).get();
+    }
+}
@@ -0,0 +1,74 @@
+package benchmarks;
+
+import database.DatabaseManager;
+import database.WriteResult;
+import model.Article;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write path against an embedded database
+ * Every invocation writes papers the database hasn't seen, except
+ * rewriteUnchanged, which measures a refresh where nothing changed
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 10, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(3)
+public class PersistenceBenchmark {
+
+    @Param({"200"})
+    public int batchSize;
+
+    private DatabaseManager db;
+    private int sequence;
+    private List<Article> stored;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        db = Fixtures.openDatabase();
+        stored = Fixtures.articles(-batchSize, batchSize);
+        db.writeArticles(stored, batchSize);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        db.close();
+    }
+
+    /** One article per round trip */
+    @Benchmark
+    public int insertArticle() throws SQLException {
+        return db.insertArticle(Fixtures.article(sequence++));
+    }
+
+    /** One batch/transaction of new articles */
+    @Benchmark
+    public int insertArticles() throws SQLException {
+        List<Article> batch = Fixtures.articles(sequence, batchSize);
+        sequence += batchSize;
+        return db.insertArticles(batch, batchSize);
+    }
+
+    /** Hash lookup only, no writes */
+    @Benchmark
+    public WriteResult rewriteUnchanged() throws SQLException {
+        return db.writeArticles(stored, batchSize);
+    }
+}
@@ -0,0 +1,57 @@
+package benchmarks;
+
+import database.DatabaseManager;
+import model.Article;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read path: full table load (row mapping of every column) versus one keyset page
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(3)
+public class ReadBenchmark {
+
+    @Param({"5000"})
+    public int rows;
+
+    private DatabaseManager db;
+
+    @Setup
+    public void setUp() throws SQLException {
+        db = Fixtures.openDatabase();
+        db.insertArticles(Fixtures.articles(0, rows));
+    }
+
+    @TearDown
+    public void tearDown() {
+        db.close();
+    }
+
+    @Benchmark
+    public List<Article> getAllArticles() throws SQLException {
+        return db.getAllArticles();
+    }
+
+    @Benchmark
+    public List<Article> getFirstPage() throws SQLException {
+        return db.getArticlePage(DatabaseManager.FIRST_PAGE, 200);
+    }
+}
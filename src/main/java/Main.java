@@ -1,11 +1,23 @@
+import database.ArticleRepository;
 import database.DatabaseManager;
+import metrics.MetricsExporters;
 import model.Article;
+import pipeline.IngestPipeline;
+import pipeline.IngestProgress;
+import pipeline.PipelineConfig;
+import pipeline.PipelineReport;
+import ranking.RankingEngine;
 import service.ScholarAPIService;
+import ui.ArticleTableModel;
+import ui.HarvestEvent;
+import ui.LeaderboardTableModel;
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 /**
  * Main graphical user interface
@@ -13,7 +25,14 @@ import java.util.List;
  */
 public class Main extends JFrame {
 
-    private DatabaseManager dbManager;
+    // Most results shown for one search
+    private static final int SEARCH_LIMIT = 500;
+    // Leaderboard size when it is opened (the institution tracks its Top 3)
+    private static final int DEFAULT_TOP_N = 3;
+    // Articles harvested per researcher
+    private static final int MAX_RESULTS_PER_RESEARCHER = 3;
+
+    private ArticleRepository dbManager;
     private ScholarAPIService apiService;
 
     // GUI Components
@@ -22,8 +41,12 @@ public class Main extends JFrame {
     private JButton btnSearch;
     private JButton btnViewDB;
     private JButton btnClear;
+    private JTextField txtQuery;
+    private JButton btnFind;
+    private JComboBox<RankingEngine.Order> cmbRankOrder;
+    private JButton btnRanking;
     private JTable tableArticles;
-    private DefaultTableModel tableModel;
+    private ArticleTableModel tableModel;
     private JTextArea txtLog;
     private JProgressBar progressBar;
 
@@ -67,7 +90,7 @@ public class Main extends JFrame {
      * Creates search input panel with text fields and buttons
      */
     private JPanel createSearchPanel() {
-        JPanel panel = new JPanel(new GridLayout(4, 2, 10, 10));
+        JPanel panel = new JPanel(new GridLayout(6, 2, 10, 10));
         panel.setBorder(BorderFactory.createTitledBorder("Researcher Search"));
 
         panel.add(new JLabel("Researcher 1:"));
@@ -94,6 +117,23 @@ public class Main extends JFrame {
         progressBar.setStringPainted(true);
         panel.add(progressBar);
 
+        // Full-text search over stored titles, abstracts and keywords
+        txtQuery = new JTextField();
+        txtQuery.addActionListener(e -> searchStoredArticles());
+        panel.add(txtQuery);
+
+        btnFind = new JButton("🔎 Search Stored Articles");
+        btnFind.addActionListener(e -> searchStoredArticles());
+        panel.add(btnFind);
+
+        // Researcher leaderboard, ranked by the selected metric
+        cmbRankOrder = new JComboBox<>(RankingEngine.Order.values());
+        panel.add(cmbRankOrder);
+
+        btnRanking = new JButton("🏆 Top Researchers");
+        btnRanking.addActionListener(e -> showLeaderboard());
+        panel.add(btnRanking);
+
         return panel;
     }
 
@@ -104,13 +144,8 @@ public class Main extends JFrame {
         JPanel panel = new JPanel(new BorderLayout());
         panel.setBorder(BorderFactory.createTitledBorder("Articles"));
 
-        String[] columns = {"ID", "Title", "Authors", "Date", "Citations", "Researcher"};
-        tableModel = new DefaultTableModel(columns, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false; // Make table read-only
-            }
-        };
+        // Rows are read page by page as the table scrolls
+        tableModel = new ArticleTableModel(200);
 
         tableArticles = new JTable(tableModel);
         tableArticles.setAutoResizeMode(JTable.AUTO_RESIZE_ALL_COLUMNS);
@@ -139,31 +174,64 @@ public class Main extends JFrame {
 
     /**
      * Initializes database and API services
-     * Called once at startup
+     * Called once at startup; connecting and loading the in-memory indexes
+     * reads the whole database, so it runs in the background and the
+     * buttons that need the database stay disabled until it is done
      */
     private void initializeServices() {
-        try {
-            log("Initializing services...");
+        log("Initializing services...");
+        setDatabaseActionsEnabled(false);
 
-            dbManager = new DatabaseManager();
-            dbManager.connect();
-            dbManager.createSchema();
+        SwingWorker<ArticleRepository, Void> worker = new SwingWorker<>() {
+            @Override
+            protected ArticleRepository doInBackground() throws Exception {
+                ArticleRepository repository = new DatabaseManager();
+                try {
+                    repository.connect();
+                    repository.createSchema();
+                } catch (SQLException e) {
+                    repository.close();
+                    throw e;
+                }
+                apiService = new ScholarAPIService();
+                MetricsExporters.start();
+                return repository;
+            }
 
-            apiService = new ScholarAPIService();
+            @Override
+            protected void done() {
+                try {
+                    dbManager = get();
+                    tableModel.setDatabaseManager(dbManager);
+                    setDatabaseActionsEnabled(true);
+                    log("✓ Services initialized successfully");
+
+                } catch (ExecutionException e) {
+                    logError("Database initialization error: " + e.getCause().getMessage());
+                    JOptionPane.showMessageDialog(Main.this,
+                            "Error connecting to database.\nCheck configuration.",
+                            "Error", JOptionPane.ERROR_MESSAGE);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
 
-            log("✓ Services initialized successfully");
+        worker.execute();
+    }
 
-        } catch (SQLException e) {
-            logError("Database initialization error: " + e.getMessage());
-            JOptionPane.showMessageDialog(this,
-                    "Error connecting to database.\nCheck configuration.",
-                    "Error", JOptionPane.ERROR_MESSAGE);
-        }
+    private void setDatabaseActionsEnabled(boolean enabled) {
+        btnSearch.setEnabled(enabled);
+        btnViewDB.setEnabled(enabled);
+        btnFind.setEnabled(enabled);
+        btnRanking.setEnabled(enabled);
     }
 
     /**
      * Main method - Searches and saves articles for both researchers
      * Runs in background thread to avoid freezing GUI
+     * Stored articles are added to the table as each batch is written and
+     * the progress bar counts stored articles against those expected
      */
     private void searchAndSaveArticles() {
         String researcher1 = txtResearcher1.getText().trim();
@@ -176,114 +244,167 @@ public class Main extends JFrame {
             return;
         }
 
-        // Execute in separate thread to avoid blocking GUI
-        SwingWorker<Void, String> worker = new SwingWorker<>() {
-            @Override
-            protected Void doInBackground() throws Exception {
-                btnSearch.setEnabled(false);
-                progressBar.setValue(0);
+        List<String> researchers = List.of(researcher1, researcher2);
+        btnSearch.setEnabled(false);
+        progressBar.setValue(0);
+        progressBar.setString(null);
+        log("🔍 Searching articles for " + String.join(", ", researchers) + "...");
 
-                try {
-                    // Researcher 1
-                    publish("🔍 Searching articles for " + researcher1 + "...");
-                    progressBar.setValue(10);
-
-                    List<Article> articles1 = apiService.searchArticlesByAuthor(researcher1, 3);
-                    // For testing without API: apiService.getMockArticles(researcher1, 3);
-
-                    progressBar.setValue(30);
+        // Execute in separate thread to avoid blocking GUI
+        SwingWorker<PipelineReport, HarvestEvent> worker = new SwingWorker<>() {
+            private int rowsAdded;
 
-                    for (Article article : articles1) {
-                        dbManager.insertArticle(article);
-                        Thread.sleep(200);
+            @Override
+            protected PipelineReport doInBackground() throws Exception {
+                // Fetching, parsing and saving overlap; batches are reported as they are written
+                IngestPipeline pipeline = new IngestPipeline(apiService, dbManager, new PipelineConfig());
+                pipeline.setPersistListener(batch -> {
+                    publish(HarvestEvent.message("✓ Saved " + batch.size() + " articles"));
+                    for (Article article : batch) {
+                        publish(HarvestEvent.row(article));
                     }
+                });
+                pipeline.setProgressListener(progress -> publish(HarvestEvent.progress(progress)));
 
-                    publish("✓ Saved " + articles1.size() + " articles for " + researcher1);
-                    progressBar.setValue(50);
-
-                    // Researcher 2
-                    publish("🔍 Searching articles for " + researcher2 + "...");
-                    progressBar.setValue(60);
-
-                    List<Article> articles2 = apiService.searchArticlesByAuthor(researcher2, 3);
-                    // For testing without API: apiService.getMockArticles(researcher2, 3);
-
-                    progressBar.setValue(80);
+                return pipeline.run(researchers, MAX_RESULTS_PER_RESEARCHER);
+            }
 
-                    for (Article article : articles2) {
-                        dbManager.insertArticle(article);
-                        Thread.sleep(200);
+            @Override
+            protected void process(List<HarvestEvent> events) {
+                // Publishes are coalesced, so each call adds its rows in one table update
+                List<Article> rows = new ArrayList<>();
+                IngestProgress progress = null;
+                for (HarvestEvent event : events) {
+                    switch (event.getType()) {
+                        case ROW: rows.add(event.getArticle()); break;
+                        case PROGRESS: progress = event.getProgress(); break;
+                        case MESSAGE: log(event.getMessage()); break;
                     }
-
-                    publish("✓ Saved " + articles2.size() + " articles for " + researcher2);
-                    progressBar.setValue(100);
-
-                    publish("✅ Process completed successfully");
-
-                } catch (Exception e) {
-                    publish("❌ Error: " + e.getMessage());
-                    e.printStackTrace();
                 }
 
-                return null;
-            }
-
-            @Override
-            protected void process(List<String> chunks) {
-                // Update log in real-time
-                for (String message : chunks) {
-                    log(message);
+                rowsAdded += tableModel.addArticles(rows);
+                if (progress != null) {
+                    // Persist workers report concurrently, so an older snapshot may arrive last
+                    progressBar.setValue(Math.max(progressBar.getValue(), progress.getPercent()));
+                    progressBar.setString(progress.toString());
                 }
             }
 
             @Override
             protected void done() {
-                // Re-enable button and refresh table
                 btnSearch.setEnabled(true);
-                loadArticlesFromDB();
+
+                try {
+                    PipelineReport report = get();
+                    progressBar.setValue(100);
+
+                    report.getArticlesByResearcher().forEach((researcher, count) ->
+                            log("✓ Saved " + count + " articles for " + researcher));
+                    report.getErrorsByResearcher().forEach((researcher, error) ->
+                            log("❌ " + researcher + ": " + error));
+                    log(report.toString());
+                    log("✓ " + rowsAdded + " new articles added to the table");
+
+                    log(report.hasErrors()
+                            ? "⚠ Process completed with errors"
+                            : "✅ Process completed successfully");
+
+                } catch (ExecutionException e) {
+                    logError("Error: " + e.getCause().getMessage());
+                    e.getCause().printStackTrace();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+
                 JOptionPane.showMessageDialog(Main.this,
                         "Process completed. Check log for details.",
                         "Information", JOptionPane.INFORMATION_MESSAGE);
             }
         };
 
-        worker.execute();
+        // New rows are only added to a loaded table, so the harvest starts once
+        // the reload has shown it; rows stored before that are in its first page
+        if (tableModel.isShowingTable()) {
+            worker.execute();
+        } else {
+            loadArticlesFromDB().thenRun(worker::execute);
+        }
     }
 
     /**
-     * Loads all articles from database and displays in table
+     * Shows database articles in the table
+     * Only the count and first page are read now; other pages load while scrolling
+     *
+     * @return Completes on the event thread once the table is shown, or the load failed
      */
-    private void loadArticlesFromDB() {
-        try {
-            log("Loading articles from database...");
-            clearTable();
-
-            List<Article> articles = dbManager.getAllArticles();
-
-            for (Article article : articles) {
-                Object[] row = {
-                        article.getId(),
-                        article.getTitle(),
-                        article.getAuthors(),
-                        article.getPublicationDate(),
-                        article.getCitedBy(),
-                        article.getResearcherName()
-                };
-                tableModel.addRow(row);
-            }
+    private CompletableFuture<Void> loadArticlesFromDB() {
+        log("Loading articles from database...");
+
+        return tableModel.reload()
+                .thenAccept(count -> log("✓ " + count + " articles available"))
+                .exceptionally(e -> {
+                    logError("Load error: " + e.getMessage());
+                    return null;
+                });
+    }
 
-            log("✓ Loaded " + articles.size() + " articles");
+    /**
+     * Shows stored articles matching the search box, best match first
+     * An empty query goes back to the full table
+     */
+    private void searchStoredArticles() {
+        String query = txtQuery.getText().trim();
+        if (query.isEmpty()) {
+            loadArticlesFromDB();
+            return;
+        }
 
-        } catch (SQLException e) {
-            logError("Load error: " + e.getMessage());
+        log("Searching stored articles for \"" + query + "\"...");
+        tableModel.search(query, SEARCH_LIMIT)
+                .thenAccept(count -> log("✓ " + count + " matching articles"))
+                .exceptionally(e -> {
+                    logError("Search error: " + e.getMessage());
+                    return null;
+                });
+    }
+
+    /**
+     * Opens the leaderboard of tracked researchers
+     * Metrics are kept in memory by the database manager, so the dialog
+     * re-ranks instantly when the size is changed
+     */
+    private void showLeaderboard() {
+        if (dbManager == null) {
+            logError("Database not connected");
+            return;
         }
+        RankingEngine.Order order = (RankingEngine.Order) cmbRankOrder.getSelectedItem();
+
+        LeaderboardTableModel model = new LeaderboardTableModel();
+        JSpinner spnTopN = new JSpinner(new SpinnerNumberModel(DEFAULT_TOP_N, 1, 1000, 1));
+        Runnable refresh = () -> model.setRows(dbManager.getTopResearchers((Integer) spnTopN.getValue(), order));
+        spnTopN.addChangeListener(e -> refresh.run());
+        refresh.run();
+
+        JPanel top = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        top.add(new JLabel("Top"));
+        top.add(spnTopN);
+        top.add(new JLabel("by " + order));
+
+        JDialog dialog = new JDialog(this, "Top Researchers", false);
+        dialog.add(top, BorderLayout.NORTH);
+        dialog.add(new JScrollPane(new JTable(model)), BorderLayout.CENTER);
+        dialog.setSize(700, 300);
+        dialog.setLocationRelativeTo(this);
+        dialog.setVisible(true);
+        log("✓ Leaderboard of " + dbManager.getRankingEngine().getResearcherCount() + " researchers");
     }
 
     /**
      * Clears table view (doesn't delete from database)
      */
     private void clearTable() {
-        tableModel.setRowCount(0);
+        tableModel.clear();
     }
 
     /**
@@ -306,6 +427,12 @@ public class Main extends JFrame {
      */
     @Override
     public void dispose() {
+        if (tableModel != null) {
+            tableModel.dispose();
+        }
+        if (apiService != null) {
+            apiService.close();
+        }
         if (dbManager != null) {
             dbManager.close();
         }
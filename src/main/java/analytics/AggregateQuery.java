@@ -0,0 +1,116 @@
+package analytics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Citation statistics grouped by researcher, publication year and/or venue
+ *
+ * Every group reports its article count and citation sum; percentiles of
+ * the per-article citation counts and a top-K cut are optional. Without a
+ * group the whole corpus is one row.
+ *
+ * <pre>
+ * new AggregateQuery(Dimension.RESEARCHER, Dimension.YEAR)
+ *         .percentiles(50, 90)
+ *         .top(10, Measure.SUM);
+ * </pre>
+ */
+public class AggregateQuery {
+
+    public enum Dimension { RESEARCHER, YEAR, VENUE }
+
+    public enum Measure { COUNT, SUM }
+
+    private final List<Dimension> groupBy;
+    private double[] percentiles = new double[0];
+    private int limit;
+    private Measure orderBy;
+
+    /**
+     * @param groupBy Group columns, in output and sort order
+     */
+    public AggregateQuery(Dimension... groupBy) {
+        List<Dimension> dimensions = new ArrayList<>();
+        for (Dimension dimension : groupBy) {
+            if (dimensions.contains(dimension)) {
+                throw new IllegalArgumentException("Duplicate group column " + dimension);
+            }
+            dimensions.add(dimension);
+        }
+        this.groupBy = Collections.unmodifiableList(dimensions);
+    }
+
+    /**
+     * Percentiles of the citation counts within each group (nearest rank)
+     *
+     * @param percentiles Values in (0, 100], e.g. 50 for the median
+     */
+    public AggregateQuery percentiles(double... percentiles) {
+        for (double p : percentiles) {
+            if (!(p > 0 && p <= 100)) {
+                throw new IllegalArgumentException("Percentile out of range: " + p);
+            }
+        }
+        this.percentiles = percentiles.clone();
+        return this;
+    }
+
+    /**
+     * Keeps the k groups with the largest measure
+     */
+    public AggregateQuery top(int k, Measure by) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("k must be positive");
+        }
+        this.limit = k;
+        this.orderBy = by;
+        return this;
+    }
+
+    /**
+     * Sorts by a measure, largest first, instead of by the group columns
+     */
+    public AggregateQuery orderBy(Measure by) {
+        this.orderBy = by;
+        return this;
+    }
+
+    public List<Dimension> getGroupBy() { return groupBy; }
+
+    public boolean groupsBy(Dimension dimension) { return groupBy.contains(dimension); }
+
+    /** Requested percentiles; empty if none */
+    public double[] getPercentiles() { return percentiles.clone(); }
+
+    public boolean hasPercentiles() { return percentiles.length > 0; }
+
+    /** Maximum groups returned, 0 for all */
+    public int getLimit() { return limit; }
+
+    /** Measure sorted on (largest first), or null to sort by the group columns */
+    public Measure getOrderBy() { return orderBy; }
+
+    /**
+     * Whether SQL alone can answer the query
+     * Percentiles need every value of a group, which the supported databases
+     * can't compute portably in GROUP BY.
+     */
+    public boolean canPushDown() {
+        return !hasPercentiles();
+    }
+
+    double[] percentileArray() { return percentiles; }
+
+    @Override
+    public String toString() {
+        return "AggregateQuery{" +
+                "groupBy=" + groupBy +
+                (hasPercentiles() ? ", percentiles=" + Arrays.toString(percentiles) : "") +
+                (orderBy != null ? ", orderBy=" + orderBy : "") +
+                (limit > 0 ? ", limit=" + limit : "") +
+                '}';
+    }
+}
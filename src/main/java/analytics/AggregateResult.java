@@ -0,0 +1,35 @@
+package analytics;
+
+import java.util.List;
+
+/**
+ * Rows of an aggregate query and how they were computed
+ */
+public class AggregateResult {
+
+    public enum Engine { SQL, SNAPSHOT }
+
+    private final List<AggregateRow> rows;
+    private final Engine engine;
+    private final long elapsedNanos;
+
+    public AggregateResult(List<AggregateRow> rows, Engine engine, long elapsedNanos) {
+        this.rows = List.copyOf(rows);
+        this.engine = engine;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public List<AggregateRow> getRows() { return rows; }
+    /** Where the planner ran the query */
+    public Engine getEngine() { return engine; }
+    public double getElapsedMillis() { return elapsedNanos / 1_000_000.0; }
+
+    @Override
+    public String toString() {
+        return "AggregateResult{" +
+                "rows=" + rows.size() +
+                ", engine=" + engine +
+                ", ms=" + String.format("%.2f", getElapsedMillis()) +
+                '}';
+    }
+}
@@ -0,0 +1,79 @@
+package analytics;
+
+import java.util.Arrays;
+
+/**
+ * One group of an aggregate query
+ * Group columns the query doesn't group by are null, as are articles
+ * without a researcher, publication date or venue.
+ */
+public class AggregateRow {
+    private final String researcher;
+    private final Integer year;
+    private final String venue;
+    private final long count;
+    private final long sum;
+    private final double[] percentileRanks;
+    private final int[] percentiles;
+
+    public AggregateRow(String researcher, Integer year, String venue, long count, long sum) {
+        this(researcher, year, venue, count, sum, new double[0], new int[0]);
+    }
+
+    AggregateRow(String researcher, Integer year, String venue, long count, long sum,
+                 double[] percentileRanks, int[] percentiles) {
+        this.researcher = researcher;
+        this.year = year;
+        this.venue = venue;
+        this.count = count;
+        this.sum = sum;
+        this.percentileRanks = percentileRanks;
+        this.percentiles = percentiles;
+    }
+
+    public String getResearcher() { return researcher; }
+    /** Publication year */
+    public Integer getYear() { return year; }
+    public String getVenue() { return venue; }
+    /** Articles in the group */
+    public long getCount() { return count; }
+    /** Citations of the group's articles */
+    public long getSum() { return sum; }
+
+    public double getMean() {
+        return count == 0 ? 0.0 : (double) sum / count;
+    }
+
+    /** Citation percentiles, in the order the query asked for them */
+    public int[] getPercentiles() { return percentiles.clone(); }
+
+    /**
+     * Citation count at a requested percentile
+     *
+     * @param p One of the query's percentiles
+     */
+    public int getPercentile(double p) {
+        for (int i = 0; i < percentileRanks.length; i++) {
+            if (percentileRanks[i] == p) {
+                return percentiles[i];
+            }
+        }
+        throw new IllegalArgumentException("Percentile " + p + " was not requested");
+    }
+
+    long getMeasure(AggregateQuery.Measure measure) {
+        return measure == AggregateQuery.Measure.COUNT ? count : sum;
+    }
+
+    @Override
+    public String toString() {
+        return "AggregateRow{" +
+                (researcher != null ? "researcher='" + researcher + "', " : "") +
+                (year != null ? "year=" + year + ", " : "") +
+                (venue != null ? "venue='" + venue + "', " : "") +
+                "count=" + count +
+                ", sum=" + sum +
+                (percentiles.length > 0 ? ", percentiles=" + Arrays.toString(percentiles) : "") +
+                '}';
+    }
+}
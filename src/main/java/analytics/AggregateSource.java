@@ -0,0 +1,24 @@
+package analytics;
+
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Stored articles as CitationAnalytics sees them
+ * Implemented by the article repository, so analytics doesn't depend on
+ * the database package.
+ */
+public interface AggregateSource {
+
+    /**
+     * Columnar copy of all articles for analytics (text loaded on access)
+     */
+    ArticleSnapshot loadArticleSnapshot() throws SQLException;
+
+    /**
+     * Runs an aggregate query as one GROUP BY in the database
+     *
+     * @throws IllegalArgumentException If the query can't be pushed down (see AggregateQuery.canPushDown)
+     */
+    List<AggregateRow> aggregate(AggregateQuery query) throws SQLException;
+}
@@ -0,0 +1,431 @@
+package analytics;
+
+import authors.AuthorDirectory;
+import model.Article;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Read-only columnar copy of the articles table for analytics
+ *
+ * One primitive array per numeric column instead of one object per
+ * article: citations, publication dates (as epoch days) and years are
+ * int[], researchers and venues are dictionary-encoded into int IDs, and
+ * author lists are stored as one flat int[] of author IDs with per-row
+ * offsets (names come from the shared AuthorDirectory). Researchers an
+ * article was also harvested for are kept the same way. A row costs about
+ * 32 bytes plus 4 per author, and a million rows are a handful of arrays
+ * the GC never has to trace into.
+ *
+ * Text columns (title, abstract, link, keywords) aren't copied; they are
+ * loaded per article on first access and a bounded number is cached.
+ *
+ * Rows are in ascending article ID order. Immutable apart from the text
+ * cache; safe to share between threads.
+ */
+public class ArticleSnapshot {
+
+    // Epoch day of articles without a publication date
+    public static final int NO_DATE = Integer.MIN_VALUE;
+
+    // Articles whose text is kept after being loaded
+    private static final int MAX_CACHED_TEXTS = 1024;
+
+    /**
+     * Loads the text columns of one article
+     */
+    @FunctionalInterface
+    public interface TextLoader {
+        /** @return The stored article, or null if it no longer exists */
+        Article load(int id) throws SQLException;
+    }
+
+    private final int size;
+    private final int[] ids;
+    private final int[] citedBy;
+    private final int[] publishedDays;
+    // Derived from publishedDays, for grouping by year
+    private final int[] publishedYears;
+    private final int[] researcherIds;
+    private final String[] researchers;
+    private final int[] venueIds;
+    private final String[] venues;
+    // Authors of row r are authorIds[authorOffsets[r] .. authorOffsets[r + 1])
+    private final int[] authorOffsets;
+    private final int[] authorIds;
+    // Researcher IDs of row r besides researcherIds[r], laid out the same way
+    private final int[] extraResearcherOffsets;
+    private final int[] extraResearcherIds;
+    private final AuthorDirectory directory;
+    private final TextLoader textLoader;
+
+    private final Map<Integer, Article> texts = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, Article> eldest) {
+            return size() > MAX_CACHED_TEXTS;
+        }
+    };
+
+    private ArticleSnapshot(Builder builder, Links authors, Links extraResearchers) {
+        this.size = builder.size;
+        this.ids = Arrays.copyOf(builder.ids, size);
+        this.citedBy = Arrays.copyOf(builder.citedBy, size);
+        this.publishedDays = Arrays.copyOf(builder.publishedDays, size);
+        this.publishedYears = new int[size];
+        for (int row = 0; row < size; row++) {
+            publishedYears[row] = publishedDays[row] == NO_DATE ? NO_DATE : yearOfEpochDay(publishedDays[row]);
+        }
+        this.researcherIds = Arrays.copyOf(builder.researcherIds, size);
+        this.researchers = builder.researchers.keySet().toArray(new String[0]);
+        this.venueIds = Arrays.copyOf(builder.venueIds, size);
+        this.venues = builder.venues.keySet().toArray(new String[0]);
+        this.authorOffsets = authors.offsets;
+        this.authorIds = authors.values;
+        this.extraResearcherOffsets = extraResearchers.offsets;
+        this.extraResearcherIds = extraResearchers.values;
+        this.directory = builder.directory;
+        this.textLoader = builder.textLoader;
+    }
+
+    public int size() { return size; }
+
+    public int getId(int row) { return ids[row]; }
+
+    public int getCitedBy(int row) { return citedBy[row]; }
+
+    /**
+     * Publication date as epoch day, or NO_DATE
+     */
+    public int getPublishedDay(int row) { return publishedDays[row]; }
+
+    /**
+     * Publication year, or NO_DATE
+     */
+    public int getPublishedYear(int row) { return publishedYears[row]; }
+
+    public LocalDate getPublicationDate(int row) {
+        int day = publishedDays[row];
+        return day == NO_DATE ? null : LocalDate.ofEpochDay(day);
+    }
+
+    /**
+     * Dictionary ID of the row's researcher (0 .. getResearcherCount() - 1), or -1 if none
+     */
+    public int getResearcherId(int row) { return researcherIds[row]; }
+
+    public String getResearcher(int row) {
+        int id = researcherIds[row];
+        return id < 0 ? null : researchers[id];
+    }
+
+    /**
+     * Number of researchers the row's article was harvested for besides getResearcher(row)
+     */
+    public int getExtraResearcherCount(int row) {
+        return extraResearcherOffsets[row + 1] - extraResearcherOffsets[row];
+    }
+
+    /**
+     * Dictionary ID of the index-th extra researcher of a row
+     */
+    public int getExtraResearcherId(int row, int index) {
+        return extraResearcherIds[extraResearcherOffsets[row] + index];
+    }
+
+    public int getResearcherCount() { return researchers.length; }
+
+    public String researcherName(int researcherId) { return researchers[researcherId]; }
+
+    /**
+     * Dictionary ID of the row's venue (0 .. getVenueCount() - 1), or -1 if none
+     */
+    public int getVenueId(int row) { return venueIds[row]; }
+
+    public String getVenue(int row) {
+        int id = venueIds[row];
+        return id < 0 ? null : venues[id];
+    }
+
+    public int getVenueCount() { return venues.length; }
+
+    public String venueName(int venueId) { return venues[venueId]; }
+
+    public int getAuthorCount(int row) {
+        return authorOffsets[row + 1] - authorOffsets[row];
+    }
+
+    /**
+     * Author ID (see AuthorDirectory) of the index-th author of a row, in author list order
+     */
+    public int getAuthorId(int row, int index) {
+        return authorIds[authorOffsets[row] + index];
+    }
+
+    /**
+     * Author list of a row rebuilt from the dictionary, or null if it has none
+     */
+    public String getAuthors(int row) {
+        int from = authorOffsets[row];
+        int to = authorOffsets[row + 1];
+        if (from == to) {
+            return null;
+        }
+        StringBuilder names = new StringBuilder();
+        for (int i = from; i < to; i++) {
+            if (i > from) {
+                names.append(", ");
+            }
+            names.append(directory.nameOf(authorIds[i]));
+        }
+        return names.toString();
+    }
+
+    /**
+     * Row of an article ID, or -1 if it isn't in the snapshot
+     */
+    public int rowOf(int id) {
+        int row = Arrays.binarySearch(ids, 0, size, id);
+        return row >= 0 ? row : -1;
+    }
+
+    /**
+     * Flyweight Article reading the row on demand
+     */
+    public Article view(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " of " + size);
+        }
+        return new ArticleView(this, row);
+    }
+
+    /**
+     * Visits every row through a single reused view
+     * The article passed in changes on the next call; don't keep it
+     */
+    public void forEach(Consumer<? super Article> action) {
+        ArticleView cursor = new ArticleView(this, 0);
+        for (int row = 0; row < size; row++) {
+            cursor.moveTo(row);
+            action.accept(cursor);
+        }
+    }
+
+    /**
+     * Text columns of a row, loaded on first access
+     */
+    Article text(int row) {
+        int id = ids[row];
+        synchronized (texts) {
+            Article cached = texts.get(id);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        Article loaded;
+        try {
+            loaded = textLoader.load(id);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Text of article " + id + " unavailable: " + e.getMessage(), e);
+        }
+        if (loaded == null) {
+            loaded = new Article();
+        }
+        synchronized (texts) {
+            texts.put(id, loaded);
+        }
+        return loaded;
+    }
+
+    /**
+     * Proleptic Gregorian year of an epoch day, like LocalDate.ofEpochDay(day).getYear()
+     * but without allocating (H. Hinnant's days-to-civil algorithm, with
+     * 400-year eras counted from 0000-03-01)
+     */
+    static int yearOfEpochDay(int day) {
+        long z = day + 719_468L;
+        long era = Math.floorDiv(z, 146_097L);
+        long dayOfEra = z - era * 146_097L;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36_524 - dayOfEra / 146_096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        // Years start in March, so January and February belong to the next one
+        long year = yearOfEra + era * 400 + (dayOfYear >= 306 ? 1 : 0);
+        return (int) year;
+    }
+
+    /**
+     * Approximate heap used by the columns (text cache and dictionaries excluded)
+     */
+    public long getColumnBytes() {
+        return 4L * (ids.length + citedBy.length + publishedDays.length + publishedYears.length
+                + researcherIds.length + venueIds.length + authorOffsets.length + authorIds.length
+                + extraResearcherOffsets.length + extraResearcherIds.length);
+    }
+
+    @Override
+    public String toString() {
+        return "ArticleSnapshot{" +
+                "articles=" + size +
+                ", researchers=" + researchers.length +
+                ", venues=" + venues.length +
+                ", authorLinks=" + authorIds.length +
+                ", columnBytes=" + getColumnBytes() +
+                '}';
+    }
+
+    /**
+     * Collects rows (ascending article ID) and author links, then freezes them
+     */
+    public static class Builder {
+        private final AuthorDirectory directory;
+        private final TextLoader textLoader;
+
+        private int size;
+        private int[] ids = new int[1024];
+        private int[] citedBy = new int[1024];
+        private int[] publishedDays = new int[1024];
+        private int[] researcherIds = new int[1024];
+        private int[] venueIds = new int[1024];
+        // Insertion order = dictionary ID
+        private final Map<String, Integer> researchers = new LinkedHashMap<>();
+        private final Map<String, Integer> venues = new LinkedHashMap<>();
+
+        private int links;
+        private int[] linkArticles = new int[1024];
+        private int[] linkAuthors = new int[1024];
+
+        private int researcherLinks;
+        private int[] researcherLinkArticles = new int[64];
+        private int[] researcherLinkIds = new int[64];
+
+        /**
+         * @param directory Names of the author IDs passed to addAuthor
+         * @param textLoader Loads title, abstract, link and keywords on demand
+         */
+        public Builder(AuthorDirectory directory, TextLoader textLoader) {
+            this.directory = directory;
+            this.textLoader = textLoader;
+        }
+
+        /**
+         * Adds a row; IDs must be added in ascending order
+         *
+         * @param publishedDay Epoch day, or NO_DATE
+         * @param researcher Researcher name, or null
+         * @param venue Venue name, or null
+         */
+        public Builder addArticle(int id, int publishedDay, int cited, String researcher, String venue) {
+            if (size > 0 && id <= ids[size - 1]) {
+                throw new IllegalArgumentException("Article IDs must be ascending");
+            }
+            if (size == ids.length) {
+                int capacity = size * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                citedBy = Arrays.copyOf(citedBy, capacity);
+                publishedDays = Arrays.copyOf(publishedDays, capacity);
+                researcherIds = Arrays.copyOf(researcherIds, capacity);
+                venueIds = Arrays.copyOf(venueIds, capacity);
+            }
+            ids[size] = id;
+            citedBy[size] = cited;
+            publishedDays[size] = publishedDay;
+            researcherIds[size] = researcher == null ? -1
+                    : researchers.computeIfAbsent(researcher, name -> researchers.size());
+            venueIds[size] = venue == null ? -1
+                    : venues.computeIfAbsent(venue, name -> venues.size());
+            size++;
+            return this;
+        }
+
+        /**
+         * Adds an author link; links of one article must be added in author list order
+         * Links to articles without a row are dropped when building
+         */
+        public Builder addAuthor(int articleId, int authorId) {
+            if (links == linkArticles.length) {
+                linkArticles = Arrays.copyOf(linkArticles, links * 2);
+                linkAuthors = Arrays.copyOf(linkAuthors, links * 2);
+            }
+            linkArticles[links] = articleId;
+            linkAuthors[links] = authorId;
+            links++;
+            return this;
+        }
+
+        /**
+         * Links a row to a researcher it was harvested for; links to the
+         * row's own researcher, or to articles without a row, are dropped
+         * when building
+         */
+        public Builder addResearcher(int articleId, String researcher) {
+            if (researcherLinks == researcherLinkArticles.length) {
+                researcherLinkArticles = Arrays.copyOf(researcherLinkArticles, researcherLinks * 2);
+                researcherLinkIds = Arrays.copyOf(researcherLinkIds, researcherLinks * 2);
+            }
+            researcherLinkArticles[researcherLinks] = articleId;
+            researcherLinkIds[researcherLinks] = researchers.computeIfAbsent(researcher, name -> researchers.size());
+            researcherLinks++;
+            return this;
+        }
+
+        public ArticleSnapshot build() {
+            return new ArticleSnapshot(this,
+                    group(linkArticles, linkAuthors, links, null),
+                    group(researcherLinkArticles, researcherLinkIds, researcherLinks, researcherIds));
+        }
+
+        /**
+         * Groups links by row (stable, so link order is kept)
+         *
+         * @param own Per-row value whose links are dropped, or null
+         */
+        private Links group(int[] articles, int[] values, int count, int[] own) {
+            // Count each row's links, then place them
+            int[] offsets = new int[size + 1];
+            int[] rows = new int[count];
+            int kept = 0;
+            // Links arrive grouped by article, so the previous lookup usually answers
+            int lastArticle = 0;
+            int row = -1;
+            for (int i = 0; i < count; i++) {
+                if (i == 0 || articles[i] != lastArticle) {
+                    lastArticle = articles[i];
+                    row = Math.max(-1, Arrays.binarySearch(ids, 0, size, lastArticle));
+                }
+                rows[i] = row >= 0 && (own == null || own[row] != values[i]) ? row : -1;
+                if (rows[i] >= 0) {
+                    offsets[row + 1]++;
+                    kept++;
+                }
+            }
+            for (int r = 0; r < size; r++) {
+                offsets[r + 1] += offsets[r];
+            }
+
+            int[] grouped = new int[kept];
+            int[] next = Arrays.copyOf(offsets, size);
+            for (int i = 0; i < count; i++) {
+                if (rows[i] >= 0) {
+                    grouped[next[rows[i]]++] = values[i];
+                }
+            }
+            return new Links(offsets, grouped);
+        }
+    }
+
+    /**
+     * Per-row lists in one flat array: row r has values[offsets[r] .. offsets[r + 1])
+     */
+    private static final class Links {
+        final int[] offsets;
+        final int[] values;
+
+        Links(int[] offsets, int[] values) {
+            this.offsets = offsets;
+            this.values = values;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package analytics;
+
+import model.Article;
+import java.time.LocalDate;
+
+/**
+ * Article backed by one row of an ArticleSnapshot (flyweight)
+ * Holds only the snapshot and a row number; every getter reads the
+ * columns, and the text getters load the row's text on first use.
+ * Read-only: setters throw.
+ */
+final class ArticleView extends Article {
+
+    private final ArticleSnapshot snapshot;
+    private int row;
+
+    ArticleView(ArticleSnapshot snapshot, int row) {
+        this.snapshot = snapshot;
+        this.row = row;
+    }
+
+    void moveTo(int row) {
+        this.row = row;
+    }
+
+    @Override
+    public int getId() { return snapshot.getId(row); }
+
+    @Override
+    public String getTitle() { return snapshot.text(row).getTitle(); }
+
+    @Override
+    public String getAuthors() { return snapshot.getAuthors(row); }
+
+    @Override
+    public LocalDate getPublicationDate() { return snapshot.getPublicationDate(row); }
+
+    @Override
+    public String getAbstractText() { return snapshot.text(row).getAbstractText(); }
+
+    @Override
+    public String getLink() { return snapshot.text(row).getLink(); }
+
+    @Override
+    public String getKeywords() { return snapshot.text(row).getKeywords(); }
+
+    @Override
+    public int getCitedBy() { return snapshot.getCitedBy(row); }
+
+    @Override
+    public String getResearcherName() { return snapshot.getResearcher(row); }
+
+    @Override
+    public String getVenue() { return snapshot.getVenue(row); }
+
+    @Override
+    public void setId(int id) { throw readOnly(); }
+
+    @Override
+    public void setTitle(String title) { throw readOnly(); }
+
+    @Override
+    public void setAuthors(String authors) { throw readOnly(); }
+
+    @Override
+    public void setPublicationDate(LocalDate publicationDate) { throw readOnly(); }
+
+    @Override
+    public void setAbstractText(String abstractText) { throw readOnly(); }
+
+    @Override
+    public void setLink(String link) { throw readOnly(); }
+
+    @Override
+    public void setKeywords(String keywords) { throw readOnly(); }
+
+    @Override
+    public void setCitedBy(int citedBy) { throw readOnly(); }
+
+    @Override
+    public void setResearcherName(String researcherName) { throw readOnly(); }
+
+    @Override
+    public void setVenue(String venue) { throw readOnly(); }
+
+    private static UnsupportedOperationException readOnly() {
+        return new UnsupportedOperationException("Snapshot articles are read-only");
+    }
+
+    @Override
+    public String toString() {
+        return "Article{" +
+                "id=" + getId() +
+                ", title='" + getTitle() + '\'' +
+                ", authors='" + getAuthors() + '\'' +
+                ", citedBy=" + getCitedBy() +
+                '}';
+    }
+}
@@ -0,0 +1,141 @@
+package analytics;
+
+import metrics.LatencyHistogram;
+import metrics.MetricsRegistry;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Aggregate queries over the stored articles, planned per query
+ *
+ * A query runs on the in-memory snapshot when one is fresh enough, or when
+ * it needs percentiles (which only the snapshot computes). Otherwise it is
+ * pushed down as one GROUP BY, which costs a table scan in the database
+ * but no load. Loading the snapshot costs about as much as two such scans,
+ * so once several queries arrive within the freshness window (a dashboard
+ * refreshing its charts) the snapshot is loaded and answers the rest of
+ * the burst in memory.
+ *
+ * Snapshot results may lag writes by up to the maximum snapshot age; call
+ * invalidate() after a harvest to see new articles right away. Thread-safe.
+ */
+public class CitationAnalytics {
+
+    // Defaults: a snapshot serves queries for a minute, and is loaded on the
+    // third SQL query within that minute
+    public static final long DEFAULT_MAX_SNAPSHOT_AGE_MS = 60_000;
+    public static final int DEFAULT_BURST_QUERIES = 3;
+
+    private static final MetricsRegistry METRICS = MetricsRegistry.getDefault();
+    private static final String AGGREGATE_HELP = "Aggregate query latency by engine";
+    private static final LatencyHistogram SQL_LATENCY = METRICS.histogram(
+            "scholar_aggregate_seconds", AGGREGATE_HELP, "engine", "sql");
+    private static final LatencyHistogram SNAPSHOT_LATENCY = METRICS.histogram(
+            "scholar_aggregate_seconds", AGGREGATE_HELP, "engine", "snapshot");
+
+    private final AggregateSource repository;
+    private final SnapshotAggregator aggregator;
+    private final long maxSnapshotAgeNanos;
+    private final int burstQueries;
+
+    private volatile ArticleSnapshot snapshot;
+    private volatile long snapshotLoadedAtNanos;
+    // Start times of recent SQL queries, oldest first
+    private final Deque<Long> recentSqlQueries = new ArrayDeque<>();
+
+    public CitationAnalytics(AggregateSource repository) {
+        this(repository, ForkJoinPool.commonPool(), DEFAULT_MAX_SNAPSHOT_AGE_MS, DEFAULT_BURST_QUERIES);
+    }
+
+    /**
+     * @param repository Database to query and to load snapshots from
+     * @param pool Runs the snapshot reductions
+     * @param maxSnapshotAgeMillis How long a loaded snapshot answers queries
+     * @param burstQueries SQL queries within that time after which the snapshot is loaded
+     */
+    public CitationAnalytics(AggregateSource repository, ForkJoinPool pool, long maxSnapshotAgeMillis,
+                             int burstQueries) {
+        if (maxSnapshotAgeMillis <= 0 || burstQueries <= 0) {
+            throw new IllegalArgumentException("Snapshot age and burst size must be positive");
+        }
+        this.repository = repository;
+        this.aggregator = new SnapshotAggregator(pool);
+        this.maxSnapshotAgeNanos = maxSnapshotAgeMillis * 1_000_000L;
+        this.burstQueries = burstQueries;
+    }
+
+    /**
+     * Runs a query on the engine the planner picks
+     */
+    public AggregateResult aggregate(AggregateQuery query) throws SQLException {
+        long start = System.nanoTime();
+        ArticleSnapshot current = freshSnapshot(start);
+        if (current == null && (!query.canPushDown() || isBurst(start))) {
+            current = loadSnapshot(start);
+        }
+
+        if (current != null) {
+            List<AggregateRow> rows = aggregator.aggregate(current, query);
+            SNAPSHOT_LATENCY.recordSince(start);
+            return new AggregateResult(rows, AggregateResult.Engine.SNAPSHOT, System.nanoTime() - start);
+        }
+        List<AggregateRow> rows = repository.aggregate(query);
+        SQL_LATENCY.recordSince(start);
+        return new AggregateResult(rows, AggregateResult.Engine.SQL, System.nanoTime() - start);
+    }
+
+    /**
+     * Loads a new snapshot now; concurrent callers share one load
+     */
+    public ArticleSnapshot refreshSnapshot() throws SQLException {
+        return loadSnapshot(System.nanoTime());
+    }
+
+    private synchronized ArticleSnapshot loadSnapshot(long requestedAtNanos) throws SQLException {
+        ArticleSnapshot current = snapshot;
+        // Another thread loaded one while this one waited for the lock
+        if (current != null && snapshotLoadedAtNanos - requestedAtNanos >= 0) {
+            return current;
+        }
+        current = repository.loadArticleSnapshot();
+        snapshotLoadedAtNanos = System.nanoTime();
+        snapshot = current;
+        synchronized (recentSqlQueries) {
+            recentSqlQueries.clear();
+        }
+        return current;
+    }
+
+    /**
+     * Drops the snapshot, so the next queries see the current data
+     */
+    public synchronized void invalidate() {
+        snapshot = null;
+    }
+
+    /**
+     * The loaded snapshot, or null if there is none (it may be stale)
+     */
+    public ArticleSnapshot getSnapshot() { return snapshot; }
+
+    private ArticleSnapshot freshSnapshot(long now) {
+        ArticleSnapshot current = snapshot;
+        return current != null && now - snapshotLoadedAtNanos < maxSnapshotAgeNanos ? current : null;
+    }
+
+    /**
+     * Records a query headed for SQL and tells whether it completes a burst
+     */
+    private boolean isBurst(long now) {
+        synchronized (recentSqlQueries) {
+            while (!recentSqlQueries.isEmpty() && now - recentSqlQueries.peekFirst() >= maxSnapshotAgeNanos) {
+                recentSqlQueries.pollFirst();
+            }
+            recentSqlQueries.addLast(now);
+            return recentSqlQueries.size() >= burstQueries;
+        }
+    }
+}
@@ -0,0 +1,450 @@
+package analytics;
+
+import analytics.AggregateQuery.Dimension;
+import analytics.AggregateQuery.Measure;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Runs aggregate queries over an ArticleSnapshot with fork/join
+ *
+ * The rows are split into slices; each leaf task reads the columns of its
+ * slice into a private partial (group key -> count, sum and, for
+ * percentiles, the citation counts) and partials are merged bottom-up, so
+ * no locks or shared maps are involved. A group key packs the
+ * dictionary IDs of the grouped columns into one long. Grouped by
+ * researcher, an article counts toward each researcher it was harvested
+ * for. Percentiles are only sorted for the groups that survive the top-K
+ * cut.
+ */
+public class SnapshotAggregator {
+
+    // Fewest rows read by one fork/join leaf task; each leaf builds its own
+    // groups, so leaves are only made smaller than needed to keep every
+    // worker busy when that is worth the merging
+    private static final int MIN_LEAF_SIZE = 32_768;
+    private static final int LEAVES_PER_WORKER = 4;
+
+    // Years of int epoch days lie within +-5.9 million
+    private static final long YEAR_RADIX = 1L << 24;
+    private static final int YEAR_OFFSET = 1 << 23;
+
+    private final ForkJoinPool pool;
+
+    public SnapshotAggregator(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * @return Groups in the query's order, at most its limit
+     */
+    public List<AggregateRow> aggregate(ArticleSnapshot snapshot, AggregateQuery query) {
+        KeyCodec codec = new KeyCodec(snapshot, query);
+        int leafSize = Math.max(MIN_LEAF_SIZE, snapshot.size() / (pool.getParallelism() * LEAVES_PER_WORKER) + 1);
+        Partial total = pool.invoke(new Reduce(snapshot, codec, query.hasPercentiles(), leafSize,
+                0, snapshot.size()));
+        if (query.getGroupBy().isEmpty() && total.groups == 0) {
+            // The corpus total exists even when the corpus is empty
+            total.groupOf(0, -1);
+        }
+
+        List<Ranked> ranked = new ArrayList<>(total.groups);
+        for (int group = 0; group < total.groups; group++) {
+            ranked.add(new Ranked(group, toRow(snapshot, codec, query, total, group, null)));
+        }
+        ranked = select(ranked, Comparator.comparing(entry -> entry.row, order(query)), query.getLimit());
+
+        List<AggregateRow> rows = new ArrayList<>(ranked.size());
+        for (Ranked entry : ranked) {
+            rows.add(query.hasPercentiles()
+                    ? toRow(snapshot, codec, query, total, entry.group, query.percentileArray())
+                    : entry.row);
+        }
+        return rows;
+    }
+
+    /**
+     * Output row of a group, before percentiles are computed
+     */
+    private static final class Ranked {
+        final int group;
+        final AggregateRow row;
+
+        Ranked(int group, AggregateRow row) {
+            this.group = group;
+            this.row = row;
+        }
+    }
+
+    private static AggregateRow toRow(ArticleSnapshot snapshot, KeyCodec codec, AggregateQuery query,
+                                      Partial partial, int group, double[] ranks) {
+        int row = partial.sampleRows[group];
+        String researcher = null;
+        Integer year = null;
+        String venue = null;
+        if (row >= 0) {
+            if (query.groupsBy(Dimension.RESEARCHER)) {
+                // The sample row may belong to the group through an extra researcher
+                int researcherId = codec.researcherOf(partial.keys[group]);
+                researcher = researcherId < 0 ? null : snapshot.researcherName(researcherId);
+            }
+            if (query.groupsBy(Dimension.YEAR)) {
+                int published = snapshot.getPublishedYear(row);
+                year = published == ArticleSnapshot.NO_DATE ? null : published;
+            }
+            if (query.groupsBy(Dimension.VENUE)) {
+                venue = snapshot.getVenue(row);
+            }
+        }
+        if (ranks == null) {
+            return new AggregateRow(researcher, year, venue, partial.counts[group], partial.sums[group]);
+        }
+        return new AggregateRow(researcher, year, venue, partial.counts[group], partial.sums[group],
+                ranks, percentiles(partial.values[group], partial.counts[group], ranks));
+    }
+
+    /**
+     * Nearest-rank percentiles: the smallest value with at least p% of the values at or below it
+     * Each rank is selected in linear time instead of sorting the group;
+     * ranks are visited in ascending order, so each search only covers the
+     * values above the previous rank.
+     */
+    private static int[] percentiles(int[] values, long count, double[] ranks) {
+        int[] result = new int[ranks.length];
+        if (count == 0) {
+            return result;
+        }
+        int n = (int) count;
+        int[] indexes = new int[ranks.length];
+        for (int i = 0; i < ranks.length; i++) {
+            indexes[i] = Math.min(n, Math.max(1, (int) Math.ceil(ranks[i] / 100 * n))) - 1;
+        }
+        Integer[] order = new Integer[ranks.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingInt(i -> indexes[i]));
+
+        int[] work = Arrays.copyOf(values, n);
+        int from = 0;
+        for (int i : order) {
+            result[i] = select(work, from, n - 1, indexes[i]);
+            from = indexes[i];
+        }
+        return result;
+    }
+
+    /**
+     * Moves the k-th smallest value of values[from..to] to index k and returns it
+     * (Hoare's selection with a median-of-three pivot)
+     */
+    private static int select(int[] values, int from, int to, int k) {
+        while (from < to) {
+            int middle = (from + to) >>> 1;
+            int pivot = Math.max(Math.min(values[from], values[middle]),
+                    Math.min(Math.max(values[from], values[middle]), values[to]));
+            int i = from;
+            int j = to;
+            while (i <= j) {
+                while (values[i] < pivot) {
+                    i++;
+                }
+                while (values[j] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    int swap = values[i];
+                    values[i++] = values[j];
+                    values[j--] = swap;
+                }
+            }
+            // values[from..j] <= pivot <= values[i..to], and values between j and i equal the pivot
+            if (k <= j) {
+                to = j;
+            } else if (k >= i) {
+                from = i;
+            } else {
+                return values[k];
+            }
+        }
+        return values[k];
+    }
+
+    /**
+     * Largest measure first, then the group columns; nulls sort first like in SQL
+     */
+    static Comparator<AggregateRow> order(AggregateQuery query) {
+        Comparator<AggregateRow> byGroup = (a, b) -> 0;
+        for (Dimension dimension : query.getGroupBy()) {
+            switch (dimension) {
+                case RESEARCHER:
+                    byGroup = byGroup.thenComparing(AggregateRow::getResearcher,
+                            Comparator.nullsFirst(Comparator.naturalOrder()));
+                    break;
+                case YEAR:
+                    byGroup = byGroup.thenComparing(AggregateRow::getYear,
+                            Comparator.nullsFirst(Comparator.naturalOrder()));
+                    break;
+                default:
+                    byGroup = byGroup.thenComparing(AggregateRow::getVenue,
+                            Comparator.nullsFirst(Comparator.naturalOrder()));
+            }
+        }
+        Measure measure = query.getOrderBy();
+        if (measure == null) {
+            return byGroup;
+        }
+        Comparator<AggregateRow> byMeasure = Comparator.comparingLong(row -> row.getMeasure(measure));
+        return byMeasure.reversed().thenComparing(byGroup);
+    }
+
+    /**
+     * Sorted first `limit` rows (all if 0), with a bounded heap when the limit is smaller
+     */
+    private static <T> List<T> select(List<T> rows, Comparator<T> order, int limit) {
+        if (limit == 0 || limit >= rows.size()) {
+            rows.sort(order);
+            return rows;
+        }
+        // Max-heap on the order: the head is the worst row kept so far
+        PriorityQueue<T> heap = new PriorityQueue<>(limit + 1, order.reversed());
+        for (T row : rows) {
+            heap.add(row);
+            if (heap.size() > limit) {
+                heap.poll();
+            }
+        }
+        List<T> top = new ArrayList<>(heap);
+        top.sort(order);
+        return top;
+    }
+
+    /**
+     * Packs the grouped columns of a row into one key (mixed radix)
+     */
+    private static final class KeyCodec {
+        private final ArticleSnapshot snapshot;
+        private final boolean byResearcher;
+        private final boolean byYear;
+        private final boolean byVenue;
+        private final long venueRadix;
+        private final long researcherRadix;
+
+        KeyCodec(ArticleSnapshot snapshot, AggregateQuery query) {
+            this.snapshot = snapshot;
+            this.byResearcher = query.groupsBy(Dimension.RESEARCHER);
+            this.byYear = query.groupsBy(Dimension.YEAR);
+            this.byVenue = query.groupsBy(Dimension.VENUE);
+            this.venueRadix = snapshot.getVenueCount() + 1L;
+            this.researcherRadix = venueRadix * YEAR_RADIX;
+        }
+
+        long keyOf(int row) {
+            // Dictionary ID + 1, so that "none" is 0
+            long researcher = byResearcher ? snapshot.getResearcherId(row) + 1 : 0;
+            long venue = byVenue ? snapshot.getVenueId(row) + 1 : 0;
+            long year = byYear ? yearCode(snapshot.getPublishedYear(row)) : 0;
+            return researcher * researcherRadix + venue * YEAR_RADIX + year;
+        }
+
+        /**
+         * Key of the row's other columns with another researcher
+         */
+        long withResearcher(long key, int researcherId) {
+            return (researcherId + 1) * researcherRadix + key % researcherRadix;
+        }
+
+        /**
+         * Researcher dictionary ID of a key, or -1 for none
+         */
+        int researcherOf(long key) {
+            return (int) (key / researcherRadix) - 1;
+        }
+
+        private static long yearCode(int year) {
+            return year == ArticleSnapshot.NO_DATE ? 0 : year + YEAR_OFFSET;
+        }
+    }
+
+    /**
+     * Aggregates a slice of the rows
+     */
+    private static final class Reduce extends RecursiveTask<Partial> {
+        private final ArticleSnapshot snapshot;
+        private final KeyCodec codec;
+        private final boolean keepValues;
+        private final int leafSize;
+        private final int from;
+        private final int to;
+
+        Reduce(ArticleSnapshot snapshot, KeyCodec codec, boolean keepValues, int leafSize, int from, int to) {
+            this.snapshot = snapshot;
+            this.codec = codec;
+            this.keepValues = keepValues;
+            this.leafSize = leafSize;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Partial compute() {
+            if (to - from <= leafSize) {
+                Partial partial = new Partial(keepValues);
+                // Neighbouring rows often share a group (same researcher, or no grouping at all)
+                long lastKey = -1;
+                int group = -1;
+                for (int row = from; row < to; row++) {
+                    long key = codec.keyOf(row);
+                    int extras = codec.byResearcher ? snapshot.getExtraResearcherCount(row) : 0;
+                    // Like the SQL join, an article with researchers isn't also counted under "none"
+                    if (extras == 0 || snapshot.getResearcherId(row) >= 0) {
+                        if (key != lastKey) {
+                            group = partial.groupOf(key, row);
+                            lastKey = key;
+                        }
+                        partial.add(group, snapshot.getCitedBy(row));
+                    }
+                    for (int i = 0; i < extras; i++) {
+                        long extraKey = codec.withResearcher(key, snapshot.getExtraResearcherId(row, i));
+                        partial.add(partial.groupOf(extraKey, row), snapshot.getCitedBy(row));
+                    }
+                }
+                return partial;
+            }
+
+            int middle = (from + to) >>> 1;
+            Reduce left = new Reduce(snapshot, codec, keepValues, leafSize, from, middle);
+            left.fork();
+            Partial right = new Reduce(snapshot, codec, keepValues, leafSize, middle, to).compute();
+            Partial joined = left.join();
+
+            // Merge the smaller partial into the larger one
+            Partial larger = joined.groups >= right.groups ? joined : right;
+            larger.merge(larger == joined ? right : joined);
+            return larger;
+        }
+    }
+
+    /**
+     * Groups of a slice: open-addressing index from key to group number,
+     * and per-group columns
+     */
+    private static final class Partial {
+        private static final long FREE = -1;
+
+        private final boolean keepValues;
+        private long[] slotKeys = filled(16);
+        private int[] slotGroups = new int[16];
+
+        private int groups;
+        private long[] keys = new long[8];
+        private int[] sampleRows = new int[8];
+        private long[] counts = new long[8];
+        private long[] sums = new long[8];
+        private int[][] values;
+
+        Partial(boolean keepValues) {
+            this.keepValues = keepValues;
+            this.values = keepValues ? new int[8][] : null;
+        }
+
+        void add(int group, int citedBy) {
+            if (keepValues) {
+                int[] list = values[group];
+                int n = (int) counts[group];
+                if (n == list.length) {
+                    values[group] = list = Arrays.copyOf(list, n * 2);
+                }
+                list[n] = citedBy;
+            }
+            counts[group]++;
+            sums[group] += citedBy;
+        }
+
+        /**
+         * Group number of a key, creating the group if needed
+         *
+         * @param sampleRow A row of the group, used to read its column values
+         */
+        int groupOf(long key, int sampleRow) {
+            int mask = slotKeys.length - 1;
+            int slot = mix(key) & mask;
+            while (slotKeys[slot] != FREE) {
+                if (slotKeys[slot] == key) {
+                    return slotGroups[slot];
+                }
+                slot = (slot + 1) & mask;
+            }
+
+            if (groups == keys.length) {
+                int capacity = groups * 2;
+                keys = Arrays.copyOf(keys, capacity);
+                sampleRows = Arrays.copyOf(sampleRows, capacity);
+                counts = Arrays.copyOf(counts, capacity);
+                sums = Arrays.copyOf(sums, capacity);
+                if (keepValues) {
+                    values = Arrays.copyOf(values, capacity);
+                }
+            }
+            int group = groups++;
+            keys[group] = key;
+            sampleRows[group] = sampleRow;
+            if (keepValues) {
+                values[group] = new int[4];
+            }
+            slotKeys[slot] = key;
+            slotGroups[slot] = group;
+            if (groups * 2 > slotKeys.length) {
+                rehash();
+            }
+            return group;
+        }
+
+        void merge(Partial other) {
+            for (int g = 0; g < other.groups; g++) {
+                int group = groupOf(other.keys[g], other.sampleRows[g]);
+                if (keepValues) {
+                    int n = (int) counts[group];
+                    int m = (int) other.counts[g];
+                    if (n + m > values[group].length) {
+                        values[group] = Arrays.copyOf(values[group], Math.max(n + m, n * 2));
+                    }
+                    System.arraycopy(other.values[g], 0, values[group], n, m);
+                }
+                counts[group] += other.counts[g];
+                sums[group] += other.sums[g];
+            }
+        }
+
+        private void rehash() {
+            int capacity = slotKeys.length * 2;
+            slotKeys = filled(capacity);
+            slotGroups = new int[capacity];
+            int mask = capacity - 1;
+            for (int group = 0; group < groups; group++) {
+                int slot = mix(keys[group]) & mask;
+                while (slotKeys[slot] != FREE) {
+                    slot = (slot + 1) & mask;
+                }
+                slotKeys[slot] = keys[group];
+                slotGroups[slot] = group;
+            }
+        }
+
+        private static long[] filled(int capacity) {
+            long[] array = new long[capacity];
+            Arrays.fill(array, FREE);
+            return array;
+        }
+
+        private static int mix(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+}
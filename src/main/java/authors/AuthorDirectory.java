@@ -0,0 +1,60 @@
+package authors;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory dictionary of stored authors
+ * Maps name keys to author IDs and IDs back to one shared display name,
+ * so each distinct author is held once no matter how many articles list
+ * them. Mirrors the authors table; only committed rows are added.
+ * Thread-safe.
+ */
+public class AuthorDirectory {
+
+    private final Map<String, Integer> idsByKey = new ConcurrentHashMap<>();
+    private final Map<Integer, String> namesById = new ConcurrentHashMap<>();
+
+    /**
+     * Adds a stored author; an already known ID keeps its first name
+     *
+     * @param id Row ID in the authors table
+     * @param key Name key (see AuthorNames.key)
+     * @param name Display name
+     */
+    public void add(int id, String key, String name) {
+        idsByKey.putIfAbsent(key, id);
+        namesById.putIfAbsent(id, name);
+    }
+
+    /**
+     * ID of the author with this name key, or 0 if unknown
+     */
+    public int idOf(String key) {
+        Integer id = idsByKey.get(key);
+        return id != null ? id : 0;
+    }
+
+    /**
+     * ID of the author with this name in any spelling AuthorNames maps to the same key, or 0
+     */
+    public int find(String name) {
+        return idOf(AuthorNames.key(name));
+    }
+
+    /**
+     * Display name of an author, or null if unknown
+     */
+    public String nameOf(int id) {
+        return namesById.get(id);
+    }
+
+    public int size() {
+        return namesById.size();
+    }
+
+    public void clear() {
+        idsByKey.clear();
+        namesById.clear();
+    }
+}
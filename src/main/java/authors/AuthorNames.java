@@ -0,0 +1,95 @@
+package authors;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Splits and normalizes the author lists Scholar returns
+ * ("A Einstein, B Podolsky, N Rosen", sometimes ending in "…" when Scholar
+ * truncated the list)
+ *
+ * Every name has a display form (as first seen, whitespace cleaned) and a
+ * key used to recognise the same person across articles: lower case,
+ * accents removed, punctuation dropped and leading initials joined, so
+ * "J.-P. Sartre", "JP Sartre" and "J P Sartre" all map to "jp sartre".
+ */
+public final class AuthorNames {
+
+    // Longest name stored (authors.name column)
+    public static final int MAX_LENGTH = 255;
+
+    private AuthorNames() {
+    }
+
+    /**
+     * Splits an author list into display names, keyed by name key
+     * Duplicates and truncation markers are dropped; order is kept
+     *
+     * @param authors Comma-separated author list; null yields no names
+     * @return Display name by key, in list order
+     */
+    public static Map<String, String> split(String authors) {
+        Map<String, String> names = new LinkedHashMap<>();
+        if (authors == null || authors.isBlank()) {
+            return names;
+        }
+        for (String part : authors.split(",")) {
+            String name = display(part);
+            String key = key(name);
+            if (!key.isEmpty()) {
+                names.putIfAbsent(key, name);
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Display form: NFKC, inner whitespace collapsed, truncation marks removed
+     */
+    public static String display(String name) {
+        String cleaned = Normalizer.normalize(name, Normalizer.Form.NFKC)
+                .replace("…", "")
+                .replace("...", "")
+                .trim()
+                .replaceAll("\\s+", " ");
+        return cleaned.length() > MAX_LENGTH ? cleaned.substring(0, MAX_LENGTH) : cleaned;
+    }
+
+    /**
+     * Matching key of a name ("" if nothing but punctuation is left)
+     */
+    public static String key(String name) {
+        String stripped = Normalizer.normalize(name, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}+", "")
+                .toLowerCase(Locale.ROOT);
+
+        List<String> tokens = new ArrayList<>();
+        StringBuilder token = new StringBuilder();
+        for (int i = 0; i <= stripped.length(); i++) {
+            char c = i < stripped.length() ? stripped.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                token.append(c);
+            } else if (token.length() > 0) {
+                tokens.add(token.toString());
+                token.setLength(0);
+            }
+        }
+
+        // Join single-letter initials ("j p sartre" -> "jp sartre"); the surname stays apart
+        StringBuilder key = new StringBuilder();
+        for (int i = 0; i < tokens.size(); i++) {
+            String current = tokens.get(i);
+            boolean initial = current.length() == 1 && i < tokens.size() - 1;
+            boolean previousInitial = i > 0 && tokens.get(i - 1).length() == 1;
+            if (key.length() > 0 && !(initial && previousInitial)) {
+                key.append(' ');
+            }
+            key.append(current);
+        }
+        return key.length() > MAX_LENGTH ? key.substring(0, MAX_LENGTH) : key.toString();
+    }
+}
@@ -0,0 +1,148 @@
+package authors;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Co-authorship graph over author IDs
+ * Every author has an adjacency map from co-author ID to the number of
+ * articles they share, so a neighbourhood is read in O(degree) without
+ * touching the database. Built from article_authors at startup and kept
+ * current as articles are written. Thread-safe (readers share a lock).
+ */
+public class CoauthorGraph {
+
+    // Author ID -> index into adjacency/articleCounts
+    private final IntIntHashMap slots = new IntIntHashMap(1024);
+    private final List<IntIntHashMap> adjacency = new ArrayList<>();
+    private int[] articleCounts = new int[1024];
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Adds the edges of one article
+     *
+     * @param authorIds Distinct author IDs of the article
+     */
+    public void addArticle(int[] authorIds) {
+        update(authorIds, 1);
+    }
+
+    /**
+     * Removes the edges one article added (e.g. before its author list is replaced)
+     */
+    public void removeArticle(int[] authorIds) {
+        update(authorIds, -1);
+    }
+
+    private void update(int[] authorIds, int delta) {
+        lock.writeLock().lock();
+        try {
+            for (int author : authorIds) {
+                int slot = slotOf(author);
+                articleCounts[slot] += delta;
+                IntIntHashMap neighbours = adjacency.get(slot);
+                for (int other : authorIds) {
+                    if (other != author) {
+                        neighbours.addTo(other, delta);
+                    }
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private int slotOf(int author) {
+        if (slots.containsKey(author)) {
+            // Stored as index + 1 because 0 means absent
+            return slots.get(author) - 1;
+        }
+        adjacency.add(new IntIntHashMap());
+        if (adjacency.size() > articleCounts.length) {
+            articleCounts = Arrays.copyOf(articleCounts, articleCounts.length * 2);
+        }
+        slots.put(author, adjacency.size());
+        return adjacency.size() - 1;
+    }
+
+    /**
+     * Visits the co-authors of an author with the number of shared articles
+     * The visitor runs under the read lock and must not modify the graph
+     */
+    public void forEachCoauthor(int authorId, IntIntHashMap.Visitor visitor) {
+        lock.readLock().lock();
+        try {
+            int slot = slots.get(authorId);
+            if (slot > 0) {
+                adjacency.get(slot - 1).forEach(visitor);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of distinct co-authors
+     */
+    public int degree(int authorId) {
+        lock.readLock().lock();
+        try {
+            int slot = slots.get(authorId);
+            return slot > 0 ? adjacency.get(slot - 1).size() : 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of articles two authors wrote together
+     */
+    public int sharedArticles(int authorId, int otherId) {
+        lock.readLock().lock();
+        try {
+            int slot = slots.get(authorId);
+            return slot > 0 ? adjacency.get(slot - 1).get(otherId) : 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of stored articles listing the author
+     */
+    public int articleCount(int authorId) {
+        lock.readLock().lock();
+        try {
+            int slot = slots.get(authorId);
+            return slot > 0 ? articleCounts[slot - 1] : 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of authors in the graph (including those without co-authors)
+     */
+    public int authorCount() {
+        lock.readLock().lock();
+        try {
+            return slots.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            slots.clear();
+            adjacency.clear();
+            Arrays.fill(articleCounts, 0);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
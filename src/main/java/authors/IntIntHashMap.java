@@ -0,0 +1,228 @@
+package authors;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map from int to int, without boxing
+ * Keys must be non-zero (0 marks a free slot; database IDs start at 1).
+ * Absent keys read as 0, and a count that drops to 0 removes its key, so
+ * the map works directly as a multiset of IDs. Not thread-safe.
+ */
+public final class IntIntHashMap {
+
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private int[] keys;
+    private int[] values;
+    private int size;
+    private int resizeAt;
+
+    public IntIntHashMap() {
+        this(4);
+    }
+
+    /**
+     * @param expectedSize Number of keys to hold without resizing
+     */
+    public IntIntHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, (int) (expectedSize / LOAD_FACTOR)) * 2 - 1);
+        allocate(capacity);
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new int[capacity];
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+
+    /**
+     * Value of a key, 0 if absent
+     */
+    public int get(int key) {
+        int slot = find(key);
+        return slot >= 0 ? values[slot] : 0;
+    }
+
+    public boolean containsKey(int key) {
+        return find(key) >= 0;
+    }
+
+    public void put(int key, int value) {
+        if (value == 0) {
+            remove(key);
+            return;
+        }
+        int slot = insertionSlot(key);
+        values[slot] = value;
+    }
+
+    /**
+     * Adds delta to the value of a key (absent counts as 0)
+     * The key is removed when the result is 0
+     *
+     * @return The new value
+     */
+    public int addTo(int key, int delta) {
+        int slot = find(key);
+        if (slot < 0) {
+            if (delta != 0) {
+                // Claim the slot first: it may rehash, replacing the values array
+                int newSlot = insertionSlot(key);
+                values[newSlot] = delta;
+            }
+            return delta;
+        }
+        int value = values[slot] + delta;
+        if (value == 0) {
+            removeSlot(slot);
+        } else {
+            values[slot] = value;
+        }
+        return value;
+    }
+
+    public int remove(int key) {
+        int slot = find(key);
+        if (slot < 0) {
+            return 0;
+        }
+        int value = values[slot];
+        removeSlot(slot);
+        return value;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0);
+        Arrays.fill(values, 0);
+        size = 0;
+    }
+
+    /**
+     * Visits every entry, in no particular order
+     */
+    public void forEach(Visitor visitor) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) {
+                visitor.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    /**
+     * Keys currently in the map, sorted
+     */
+    public int[] keys() {
+        int[] result = new int[size];
+        int index = 0;
+        for (int key : keys) {
+            if (key != 0) {
+                result[index++] = key;
+            }
+        }
+        Arrays.sort(result);
+        return result;
+    }
+
+    public interface Visitor {
+        void accept(int key, int value);
+    }
+
+    private int find(int key) {
+        checkKey(key);
+        int mask = keys.length - 1;
+        for (int slot = mix(key) & mask; ; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+            if (keys[slot] == 0) {
+                return -1;
+            }
+        }
+    }
+
+    /**
+     * Slot holding the key, claiming a free one (and growing) if needed
+     */
+    private int insertionSlot(int key) {
+        int slot = find(key);
+        if (slot >= 0) {
+            return slot;
+        }
+        if (size >= resizeAt) {
+            rehash(keys.length * 2);
+        }
+        int mask = keys.length - 1;
+        slot = mix(key) & mask;
+        while (keys[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        size++;
+        return slot;
+    }
+
+    /**
+     * Frees a slot and shifts later entries of the same probe run back,
+     * so lookups never need tombstones
+     */
+    private void removeSlot(int slot) {
+        int mask = keys.length - 1;
+        int free = slot;
+        for (int next = (free + 1) & mask; keys[next] != 0; next = (next + 1) & mask) {
+            int home = mix(keys[next]) & mask;
+            // Move the entry if its home slot is not between the free slot and its position
+            if (((next - home) & mask) >= ((next - free) & mask)) {
+                keys[free] = keys[next];
+                values[free] = values[next];
+                free = next;
+            }
+        }
+        keys[free] = 0;
+        values[free] = 0;
+        size--;
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+        int mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int slot = mix(oldKeys[i]) & mask;
+                while (keys[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private static int mix(int key) {
+        // Sequential IDs would otherwise fill long runs of neighbouring slots
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static void checkKey(int key) {
+        if (key == 0) {
+            throw new IllegalArgumentException("Key 0 is reserved");
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder out = new StringBuilder("{");
+        forEach((key, value) -> out.append(out.length() > 1 ? ", " : "").append(key).append('=').append(value));
+        return out.append('}').toString();
+    }
+}
@@ -0,0 +1,362 @@
+package cli;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import database.ArticleRepository;
+import database.DatabaseManager;
+import database.WriteResult;
+import keywords.BackfillReport;
+import keywords.KeywordBackfill;
+import metrics.MetricsExporters;
+import pipeline.CitationRefresher;
+import pipeline.IngestPipeline;
+import pipeline.PipelineConfig;
+import pipeline.PipelineReport;
+import pipeline.RefreshReport;
+import pipeline.StageStats;
+import service.ResponseCache;
+import service.ScholarAPIService;
+import service.SingleFlight;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Headless entry point for scheduled harvests (cron, CI)
+ *
+ * Reads researcher names from a file or stdin (one per line, blank lines
+ * and lines starting with # are ignored), runs the ingest pipeline and
+ * writes a JSON summary. Only the service, pipeline and database packages
+ * are used, so no AWT/Swing class is ever loaded.
+ *
+ * Usage: java -cp ... cli.HarvestRunner [options] [researchers-file | -]
+ *   --max N           Maximum articles per researcher (default 20)
+ *   --parallelism N   Concurrent API fetches (default 4)
+ *   --summary FILE    Write the JSON summary to FILE instead of stdout
+ *   --refresh         Refresh every researcher already in the database
+ *                     instead of reading a list
+ *   --backfill-keywords
+ *                     Recompute keywords of all stored articles (no API calls)
+ *
+ * When the summary goes to stdout, log messages are sent to stderr so the
+ * output stays valid JSON.
+ */
+public final class HarvestRunner {
+
+    // Exit codes
+    public static final int EXIT_OK = 0;
+    public static final int EXIT_PARTIAL = 1;   // finished, but some researchers failed
+    public static final int EXIT_USAGE = 2;     // bad arguments or unreadable input
+    public static final int EXIT_FAILURE = 3;   // database/API setup failed, nothing harvested
+
+    private static final int DEFAULT_MAX_RESULTS = 20;
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private int maxResults = DEFAULT_MAX_RESULTS;
+    private int parallelism = new PipelineConfig().getFetchParallelism();
+    private Path summaryFile;
+    private String input = "-";
+    private boolean refresh;
+    private boolean backfillKeywords;
+
+    private HarvestRunner() {
+    }
+
+    public static void main(String[] args) {
+        System.exit(run(args));
+    }
+
+    /**
+     * Runs one harvest and returns the process exit code
+     */
+    public static int run(String[] args) {
+        // Nothing here needs a display; make sure nothing tries to find one
+        System.setProperty("java.awt.headless", "true");
+
+        HarvestRunner runner = new HarvestRunner();
+        try {
+            runner.parseArguments(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println("✗ " + e.getMessage());
+            printUsage();
+            return EXIT_USAGE;
+        }
+        return runner.execute();
+    }
+
+    private void parseArguments(String[] args) {
+        boolean inputSeen = false;
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            switch (arg) {
+                case "--max":
+                    maxResults = positiveInt(arg, valueOf(args, ++i, arg));
+                    break;
+                case "--parallelism":
+                    parallelism = positiveInt(arg, valueOf(args, ++i, arg));
+                    break;
+                case "--summary":
+                    summaryFile = Paths.get(valueOf(args, ++i, arg));
+                    break;
+                case "--refresh":
+                    refresh = true;
+                    break;
+                case "--backfill-keywords":
+                    backfillKeywords = true;
+                    break;
+                default:
+                    if (arg.startsWith("--") || inputSeen) {
+                        throw new IllegalArgumentException("Unexpected argument: " + arg);
+                    }
+                    input = arg;
+                    inputSeen = true;
+            }
+        }
+        if (refresh && inputSeen) {
+            throw new IllegalArgumentException("--refresh takes its researchers from the database, not a file");
+        }
+        if (backfillKeywords && (refresh || inputSeen)) {
+            throw new IllegalArgumentException("--backfill-keywords can't be combined with a harvest");
+        }
+    }
+
+    private static String valueOf(String[] args, int index, String option) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException(option + " needs a value");
+        }
+        return args[index];
+    }
+
+    private static int positiveInt(String option, String value) {
+        try {
+            int parsed = Integer.parseInt(value);
+            if (parsed > 0) {
+                return parsed;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        throw new IllegalArgumentException(option + " must be a positive integer: " + value);
+    }
+
+    private static void printUsage() {
+        System.err.println("Usage: cli.HarvestRunner [--max N] [--parallelism N] [--summary FILE] "
+                + "[--refresh | --backfill-keywords] [researchers-file | -]");
+    }
+
+    private int execute() {
+        // Keep stdout for the summary only
+        PrintStream stdout = System.out;
+        if (summaryFile == null) {
+            System.setOut(System.err);
+        }
+
+        List<String> researchers = List.of();
+        if (!refresh && !backfillKeywords) {
+            try {
+                researchers = readResearchers();
+            } catch (IOException e) {
+                System.err.println("✗ Cannot read researchers from " + input + ": " + e.getMessage());
+                return EXIT_USAGE;
+            }
+            if (researchers.isEmpty()) {
+                System.err.println("✗ No researchers given");
+                return EXIT_USAGE;
+            }
+        }
+
+        Instant startedAt = Instant.now();
+        ArticleRepository dbManager = null;
+        try {
+            dbManager = new DatabaseManager();
+            dbManager.connect();
+            dbManager.createSchema();
+            MetricsExporters.start();
+
+            int exitCode;
+            try (ScholarAPIService apiService = new ScholarAPIService();
+                 OutputStream out = summaryFile != null ? Files.newOutputStream(summaryFile) : stdout;
+                 JsonGenerator json = JSON_FACTORY.createGenerator(out, JsonEncoding.UTF8)) {
+                json.useDefaultPrettyPrinter();
+                if (backfillKeywords) {
+                    BackfillReport report =
+                            new KeywordBackfill(dbManager, Runtime.getRuntime().availableProcessors()).run();
+                    System.err.println(report);
+                    exitCode = EXIT_OK;
+                    writeBackfillSummary(json, startedAt, report);
+                } else if (refresh) {
+                    RefreshReport report = new CitationRefresher(apiService, dbManager, parallelism).refreshAll();
+                    System.err.println(report);
+                    exitCode = report.hasErrors() ? EXIT_PARTIAL : EXIT_OK;
+                    writeRefreshSummary(json, startedAt, exitCode, report, apiService);
+                } else {
+                    PipelineConfig config = new PipelineConfig();
+                    config.setFetchParallelism(parallelism);
+                    PipelineReport report = new IngestPipeline(apiService, dbManager, config)
+                            .run(researchers, maxResults);
+                    System.err.println(report);
+                    exitCode = report.hasErrors() ? EXIT_PARTIAL : EXIT_OK;
+                    writeHarvestSummary(json, startedAt, exitCode, report, apiService);
+                }
+                json.writeRaw(System.lineSeparator());
+            }
+            return exitCode;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.err.println("✗ Interrupted");
+            return EXIT_FAILURE;
+        } catch (Exception e) {
+            System.err.println("✗ Harvest failed: " + e.getMessage());
+            return EXIT_FAILURE;
+        } finally {
+            if (dbManager != null) {
+                dbManager.close();
+            }
+        }
+    }
+
+    /**
+     * Reads researcher names, dropping blanks, comments and duplicates
+     */
+    private List<String> readResearchers() throws IOException {
+        BufferedReader reader = "-".equals(input)
+                ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))
+                : Files.newBufferedReader(Paths.get(input), StandardCharsets.UTF_8);
+
+        Set<String> names = new LinkedHashSet<>();
+        try (reader) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String name = line.trim();
+                if (!name.isEmpty() && !name.startsWith("#")) {
+                    names.add(name);
+                }
+            }
+        }
+        return new ArrayList<>(names);
+    }
+
+    private void writeHarvestSummary(JsonGenerator json, Instant startedAt, int exitCode,
+                                     PipelineReport report, ScholarAPIService apiService) throws IOException {
+        json.writeStartObject();
+        writeHeader(json, "harvest", startedAt, exitCode, report.getElapsedMs());
+        json.writeNumberField("maxResultsPerResearcher", maxResults);
+
+        json.writeArrayFieldStart("researchers");
+        for (Map.Entry<String, Integer> entry : report.getArticlesByResearcher().entrySet()) {
+            json.writeStartObject();
+            json.writeStringField("name", entry.getKey());
+            json.writeNumberField("articles", entry.getValue());
+            json.writeStringField("error", report.getErrorsByResearcher().get(entry.getKey()));
+            json.writeEndObject();
+        }
+        json.writeEndArray();
+
+        json.writeNumberField("totalArticles", report.getTotalArticles());
+
+        json.writeArrayFieldStart("stages");
+        for (StageStats stage : report.getStages()) {
+            json.writeStartObject();
+            json.writeStringField("name", stage.getName());
+            json.writeNumberField("in", stage.getItemsIn());
+            json.writeNumberField("out", stage.getItemsOut());
+            json.writeNumberField("failures", stage.getFailures());
+            json.writeNumberField("busyMs", stage.getBusyMs());
+            json.writeNumberField("blockedMs", stage.getBlockedMs());
+            json.writeEndObject();
+        }
+        json.writeEndArray();
+
+        writeCache(json, apiService);
+        writeSingleFlight(json, apiService);
+        json.writeEndObject();
+    }
+
+    private void writeRefreshSummary(JsonGenerator json, Instant startedAt, int exitCode,
+                                     RefreshReport report, ScholarAPIService apiService) throws IOException {
+        json.writeStartObject();
+        writeHeader(json, "refresh", startedAt, exitCode, report.getElapsedMs());
+
+        json.writeArrayFieldStart("researchers");
+        for (Map.Entry<String, WriteResult> entry : report.getResultsByResearcher().entrySet()) {
+            json.writeStartObject();
+            json.writeStringField("name", entry.getKey());
+            writeCounts(json, entry.getValue());
+            json.writeEndObject();
+        }
+        for (Map.Entry<String, String> entry : report.getErrorsByResearcher().entrySet()) {
+            json.writeStartObject();
+            json.writeStringField("name", entry.getKey());
+            json.writeStringField("error", entry.getValue());
+            json.writeEndObject();
+        }
+        json.writeEndArray();
+
+        json.writeObjectFieldStart("totals");
+        writeCounts(json, report.getTotal());
+        json.writeEndObject();
+
+        writeCache(json, apiService);
+        writeSingleFlight(json, apiService);
+        json.writeEndObject();
+    }
+
+    private static void writeBackfillSummary(JsonGenerator json, Instant startedAt, BackfillReport report)
+            throws IOException {
+        json.writeStartObject();
+        writeHeader(json, "backfill-keywords", startedAt, EXIT_OK, report.getElapsedMs());
+        json.writeNumberField("articles", report.getArticles());
+        json.writeNumberField("terms", report.getTerms());
+        json.writeEndObject();
+    }
+
+    private static void writeHeader(JsonGenerator json, String mode, Instant startedAt, int exitCode,
+                                    long elapsedMs) throws IOException {
+        json.writeStringField("mode", mode);
+        json.writeStringField("startedAt", startedAt.toString());
+        json.writeNumberField("elapsedMs", elapsedMs);
+        json.writeNumberField("exitCode", exitCode);
+    }
+
+    private static void writeCounts(JsonGenerator json, WriteResult result) throws IOException {
+        json.writeNumberField("inserted", result.getInserted());
+        json.writeNumberField("updated", result.getUpdated());
+        json.writeNumberField("unchanged", result.getUnchanged());
+        json.writeNumberField("citationChanges", result.getCitationChanges());
+    }
+
+    private static void writeCache(JsonGenerator json, ScholarAPIService apiService) throws IOException {
+        ResponseCache.Stats stats = apiService.getCacheStats();
+        if (stats == null) {
+            json.writeNullField("cache");
+            return;
+        }
+        json.writeObjectFieldStart("cache");
+        json.writeNumberField("hits", stats.getHits());
+        json.writeNumberField("staleHits", stats.getStaleHits());
+        json.writeNumberField("misses", stats.getMisses());
+        json.writeNumberField("quotaSaved", stats.getQuotaSaved());
+        json.writeEndObject();
+    }
+
+    private static void writeSingleFlight(JsonGenerator json, ScholarAPIService apiService) throws IOException {
+        SingleFlight.Stats stats = apiService.getSingleFlightStats();
+        json.writeObjectFieldStart("singleFlight");
+        json.writeNumberField("requests", stats.getCalls());
+        json.writeNumberField("coalesced", stats.getCoalesced());
+        json.writeEndObject();
+    }
+}
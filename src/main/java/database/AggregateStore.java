@@ -0,0 +1,150 @@
+package database;
+
+import analytics.AggregateQuery;
+import analytics.AggregateRow;
+import analytics.ArticleSnapshot;
+import authors.AuthorDirectory;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Analytics queries behind DatabaseManager
+ * Builds the aggregate GROUP BY for the dialect and streams the columns
+ * of an ArticleSnapshot; connections come from the caller.
+ */
+final class AggregateStore {
+
+    private final SqlDialect dialect;
+    private final int fetchSize;
+
+    /**
+     * @param fetchSize Rows fetched per round trip while loading a snapshot
+     */
+    AggregateStore(SqlDialect dialect, int fetchSize) {
+        this.dialect = dialect;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Reads the numeric columns, author links and researcher links of every
+     * article into a columnar snapshot; text columns are read per article
+     * when accessed
+     * The queries stream in fetch-size chunks, so no Article objects are
+     * created for the corpus.
+     */
+    ArticleSnapshot loadSnapshot(Connection conn, AuthorDirectory directory, ArticleSnapshot.TextLoader textLoader)
+            throws SQLException {
+        ArticleSnapshot.Builder builder = new ArticleSnapshot.Builder(directory, textLoader);
+        try (Statement stmt = conn.createStatement()) {
+            stmt.setFetchSize(fetchSize);
+            try (ResultSet rs = stmt.executeQuery(
+                    "SELECT id, publication_date, cited_by, researcher_name, venue FROM articles ORDER BY id")) {
+                while (rs.next()) {
+                    Date date = rs.getDate(2);
+                    builder.addArticle(rs.getInt(1),
+                            date != null ? (int) date.toLocalDate().toEpochDay() : ArticleSnapshot.NO_DATE,
+                            rs.getInt(3), rs.getString(4), rs.getString(5));
+                }
+            }
+            try (ResultSet rs = stmt.executeQuery(
+                    "SELECT article_id, author_id FROM article_authors ORDER BY article_id, position")) {
+                while (rs.next()) {
+                    builder.addAuthor(rs.getInt(1), rs.getInt(2));
+                }
+            }
+            try (ResultSet rs = stmt.executeQuery(
+                    "SELECT article_id, researcher_name FROM article_researchers ORDER BY article_id")) {
+                while (rs.next()) {
+                    builder.addResearcher(rs.getInt(1), rs.getString(2));
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Runs an aggregate query as one GROUP BY; the database sorts and cuts
+     * the groups, so only the returned rows cross the connection
+     * Grouping by researcher joins article_researchers, so an article
+     * counts toward every researcher it was harvested for.
+     */
+    List<AggregateRow> aggregate(Connection conn, AggregateQuery query) throws SQLException {
+        if (!query.canPushDown()) {
+            throw new IllegalArgumentException("Query can't run in SQL: " + query);
+        }
+
+        List<String> columns = new ArrayList<>();
+        List<String> order = new ArrayList<>();
+        for (AggregateQuery.Dimension dimension : query.getGroupBy()) {
+            switch (dimension) {
+                case RESEARCHER:
+                    columns.add("r.researcher_name");
+                    break;
+                case YEAR:
+                    columns.add(dialect.yearOf("publication_date"));
+                    break;
+                default:
+                    columns.add("venue");
+            }
+            order.add("g" + columns.size());
+        }
+        if (query.getOrderBy() != null) {
+            order.add(0, (query.getOrderBy() == AggregateQuery.Measure.COUNT ? "n" : "total") + " DESC");
+        }
+
+        StringBuilder selectSQL = new StringBuilder("SELECT ");
+        for (int i = 0; i < columns.size(); i++) {
+            selectSQL.append(columns.get(i)).append(" AS g").append(i + 1).append(", ");
+        }
+        selectSQL.append("COUNT(*) AS n, COALESCE(SUM(cited_by), 0) AS total FROM articles");
+        if (query.groupsBy(AggregateQuery.Dimension.RESEARCHER)) {
+            selectSQL.append(" LEFT JOIN article_researchers r ON r.article_id = articles.id");
+        }
+        if (!columns.isEmpty()) {
+            selectSQL.append(" GROUP BY ").append(String.join(", ", columns));
+        }
+        if (!order.isEmpty()) {
+            selectSQL.append(" ORDER BY ").append(String.join(", ", order));
+        }
+        if (query.getLimit() > 0) {
+            selectSQL.append(" LIMIT ?");
+        }
+
+        List<AggregateRow> rows = new ArrayList<>();
+        try (PreparedStatement pstmt = conn.prepareStatement(selectSQL.toString())) {
+            if (query.getLimit() > 0) {
+                pstmt.setInt(1, query.getLimit());
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    String researcher = null;
+                    Integer year = null;
+                    String venue = null;
+                    int column = 1;
+                    for (AggregateQuery.Dimension dimension : query.getGroupBy()) {
+                        switch (dimension) {
+                            case RESEARCHER:
+                                researcher = rs.getString(column);
+                                break;
+                            case YEAR:
+                                int value = rs.getInt(column);
+                                year = rs.wasNull() ? null : value;
+                                break;
+                            default:
+                                venue = rs.getString(column);
+                        }
+                        column++;
+                    }
+                    rows.add(new AggregateRow(researcher, year, venue, rs.getLong("n"), rs.getLong("total")));
+                }
+            }
+        }
+        return rows;
+    }
+}
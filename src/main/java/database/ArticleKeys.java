@@ -0,0 +1,92 @@
+package database;
+
+import model.Article;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.util.Locale;
+
+/**
+ * Derives stable keys from article content
+ * The natural key identifies "the same paper" across harvest runs
+ */
+public final class ArticleKeys {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private ArticleKeys() {}
+
+    /**
+     * Builds the natural key of an article: SHA-256 of its normalized link and title
+     * Two results that only differ in case, Unicode composition or whitespace map to the same key
+     *
+     * @param article Article to identify
+     * @return 64-character hex digest
+     */
+    public static String naturalKey(Article article) {
+        return sha256Hex(normalize(article.getLink()) + "\n" + normalize(article.getTitle()));
+    }
+
+    /**
+     * Hashes the parts of an article that change between harvests
+     * (authors, snippet and citation count); equal hashes mean a re-harvested
+     * article has nothing new to write
+     *
+     * @param article Article to fingerprint
+     * @return 64-character hex digest
+     */
+    public static String contentHash(Article article) {
+        return contentHash(article, article.getCitedBy());
+    }
+
+    /**
+     * Content hash of an article's text with another citation count
+     * Matching it against a stored hash (with the stored count) tells
+     * whether only the citation count changed
+     */
+    public static String contentHash(Article article, int citedBy) {
+        return sha256Hex(normalize(article.getAuthors()) + "\n"
+                + normalize(article.getAbstractText()) + "\n"
+                + citedBy);
+    }
+
+    /**
+     * Normalizes free text for key derivation
+     * Unicode NFKC, lower case, trimmed, inner whitespace collapsed
+     */
+    static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String normalized = Normalizer.normalize(value, Normalizer.Form.NFKC)
+                .toLowerCase(Locale.ROOT)
+                .trim()
+                .replaceAll("\\s+", " ");
+
+        // Trailing slashes don't change the target of a link
+        while (normalized.endsWith("/")) {
+            normalized = normalized.substring(0, normalized.length() - 1);
+        }
+        return normalized;
+    }
+
+    /**
+     * Hex-encoded SHA-256 of the UTF-8 bytes of a string
+     */
+    static String sha256Hex(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(value.getBytes(StandardCharsets.UTF_8));
+            char[] out = new char[hash.length * 2];
+            for (int i = 0; i < hash.length; i++) {
+                out[i * 2] = HEX[(hash[i] >> 4) & 0xF];
+                out[i * 2 + 1] = HEX[hash[i] & 0xF];
+            }
+            return new String(out);
+        } catch (NoSuchAlgorithmException e) {
+            // Every JRE is required to ship SHA-256
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package database;
+
+import analytics.AggregateSource;
+import authors.AuthorDirectory;
+import authors.CoauthorGraph;
+import keywords.KeywordCorpus;
+import model.Article;
+import ranking.RankingEngine;
+import ranking.ResearcherMetrics;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Storage of harvested articles and everything derived from them
+ * The pipeline, CLI and UI only depend on this interface; DatabaseManager
+ * implements it over JDBC for MySQL and for an embedded SQLite file.
+ * Analytics and the keyword backfill see it through the narrower
+ * AggregateSource and KeywordCorpus.
+ */
+public interface ArticleRepository extends AggregateSource, KeywordCorpus, AutoCloseable {
+
+    // Default number of rows sent per batch (and committed per transaction)
+    int DEFAULT_BATCH_SIZE = 500;
+
+    // Passing this as beforeId to getArticlePage starts at the newest article
+    int FIRST_PAGE = Integer.MAX_VALUE;
+
+    /**
+     * Opens the connection(s); must be called before anything else
+     */
+    void connect() throws SQLException;
+
+    /**
+     * Creates or migrates the schema and loads the in-memory indexes
+     */
+    void createSchema() throws SQLException;
+
+    // ---- writes ----
+
+    /**
+     * Stores one article
+     *
+     * @return Article ID (new or existing) or -1 if failed
+     */
+    int insertArticle(Article article) throws SQLException;
+
+    /**
+     * Stores several articles with the default batch size
+     *
+     * @return Number of articles written (inserted or changed)
+     */
+    int insertArticles(List<Article> articles) throws SQLException;
+
+    /**
+     * Stores several articles
+     *
+     * @return Number of articles written (inserted or changed)
+     */
+    int insertArticles(List<Article> articles, int batchSize) throws SQLException;
+
+    /**
+     * Change-aware batched write: inserts new papers, skips unchanged ones
+     * and rewrites changed ones; row IDs are set on the articles
+     *
+     * @return Inserted/updated/unchanged counts
+     */
+    WriteResult writeArticles(List<Article> articles, int batchSize) throws SQLException;
+
+    // ---- reads ----
+
+    int countArticles() throws SQLException;
+
+    /**
+     * One article, or null if there is none with this ID
+     */
+    Article getArticle(int id) throws SQLException;
+
+    /**
+     * One page of articles, newest first (keyset pagination)
+     *
+     * @param beforeId Only return articles with a smaller ID; use FIRST_PAGE to start
+     */
+    List<Article> getArticlePage(int beforeId, int limit) throws SQLException;
+
+    List<Article> getAllArticles() throws SQLException;
+
+    /**
+     * Full-text search over titles, abstracts and keywords, best match first
+     */
+    List<Article> search(String query, int limit) throws SQLException;
+
+    /**
+     * Researchers with stored articles and their article counts
+     */
+    Map<String, Integer> getTrackedResearchers() throws SQLException;
+
+    /**
+     * Recorded citation counts of one article, oldest first
+     */
+    Map<LocalDateTime, Integer> getCitationHistory(int articleId) throws SQLException;
+
+    // ---- in-memory indexes ----
+
+    /**
+     * Co-authors of an author with their shared article counts, most frequent first
+     */
+    Map<String, Integer> getCoauthors(String authorName, int limit);
+
+    List<ResearcherMetrics> getTopResearchers(int n, RankingEngine.Order order);
+
+    RankingEngine getRankingEngine();
+
+    AuthorDirectory getAuthorDirectory();
+
+    CoauthorGraph getCoauthorGraph();
+
+    boolean isConnected();
+
+    /**
+     * Releases the connection(s)
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,299 @@
+package database;
+
+import authors.AuthorDirectory;
+import authors.AuthorNames;
+import authors.CoauthorGraph;
+import model.Article;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Normalized author storage behind DatabaseManager
+ * Keeps the authors and article_authors tables in step with the authors
+ * column of articles, and mirrors them in an AuthorDirectory and a
+ * CoauthorGraph. Database changes run in the caller's transaction; the
+ * in-memory side only changes through apply(), after the commit.
+ */
+final class AuthorStore {
+
+    private static final String ADD_LINK_SQL =
+            "INSERT INTO article_authors (article_id, author_id, position) VALUES (?, ?, ?)";
+
+    // Insert-if-absent; keys are sent sorted so concurrent writers lock them in the same order
+    private final String addAuthorSql;
+    private final AuthorDirectory directory = new AuthorDirectory();
+    private final CoauthorGraph graph = new CoauthorGraph();
+
+    AuthorStore(SqlDialect dialect) {
+        addAuthorSql = "INSERT INTO authors (name_key, name) VALUES (?, ?) " + dialect.onConflictIgnore("name_key");
+    }
+
+    AuthorDirectory getDirectory() { return directory; }
+    CoauthorGraph getGraph() { return graph; }
+
+    /**
+     * Loads the dictionary and the graph from the database
+     * Articles stored before author normalization existed are linked first,
+     * in transactions of batchSize articles.
+     */
+    void load(Connection conn, Statement stmt, int batchSize) throws SQLException {
+        directory.clear();
+        graph.clear();
+
+        try (ResultSet rs = stmt.executeQuery("SELECT id, name_key, name FROM authors")) {
+            while (rs.next()) {
+                directory.add(rs.getInt(1), rs.getString(2), rs.getString(3));
+            }
+        }
+
+        boolean linked;
+        try (ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM article_authors")) {
+            rs.next();
+            linked = rs.getLong(1) > 0;
+        }
+        if (linked) {
+            loadGraph(stmt);
+        } else {
+            linkExistingArticles(conn, stmt, batchSize);
+        }
+        System.out.println("✓ Loaded " + directory.size() + " authors");
+    }
+
+    private void loadGraph(Statement stmt) throws SQLException {
+        try (ResultSet rs = stmt.executeQuery(
+                "SELECT article_id, author_id FROM article_authors ORDER BY article_id, position")) {
+            int current = 0;
+            int[] authors = new int[16];
+            int count = 0;
+            while (rs.next()) {
+                int articleId = rs.getInt(1);
+                if (articleId != current && count > 0) {
+                    graph.addArticle(Arrays.copyOf(authors, count));
+                    count = 0;
+                }
+                current = articleId;
+                if (count == authors.length) {
+                    authors = Arrays.copyOf(authors, count * 2);
+                }
+                authors[count++] = rs.getInt(2);
+            }
+            if (count > 0) {
+                graph.addArticle(Arrays.copyOf(authors, count));
+            }
+        }
+    }
+
+    /**
+     * One-time migration: derives links from the authors column of every article
+     */
+    private void linkExistingArticles(Connection conn, Statement stmt, int batchSize) throws SQLException {
+        List<Article> articles = new ArrayList<>();
+        try (ResultSet rs = stmt.executeQuery(
+                "SELECT id, authors FROM articles WHERE authors IS NOT NULL AND authors <> ''")) {
+            while (rs.next()) {
+                Article article = new Article();
+                article.setId(rs.getInt(1));
+                article.setAuthors(rs.getString(2));
+                articles.add(article);
+            }
+        }
+        if (articles.isEmpty()) {
+            return;
+        }
+
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try {
+            for (int from = 0; from < articles.size(); from += batchSize) {
+                List<Article> chunk = articles.subList(from, Math.min(from + batchSize, articles.size()));
+                Update update = new Update();
+                try {
+                    writeLinks(conn, chunk, Collections.emptyList(), update);
+                    conn.commit();
+                } catch (SQLException e) {
+                    conn.rollback();
+                    throw e;
+                }
+                apply(update);
+            }
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+        System.out.println("✓ Linked authors of " + articles.size() + " existing articles");
+    }
+
+    /**
+     * Writes author links for articles in the caller's transaction
+     * New articles get their links inserted; for re-written articles the
+     * stored links are compared and replaced only if the author list changed.
+     *
+     * @param inserted Newly inserted articles (IDs set)
+     * @param rewritten Updated articles (IDs set)
+     * @param update Collects the in-memory changes to apply after commit
+     */
+    void writeLinks(Connection conn, List<Article> inserted, List<Article> rewritten, Update update)
+            throws SQLException {
+        if (inserted.isEmpty() && rewritten.isEmpty()) {
+            return;
+        }
+
+        // By article ID: a paper listed twice in one chunk is linked once, with its last version
+        Map<Integer, Map<String, String>> namesByArticle = new LinkedHashMap<>();
+        Map<String, String> missing = new TreeMap<>();
+        for (List<Article> articles : List.of(inserted, rewritten)) {
+            for (Article article : articles) {
+                Map<String, String> names = AuthorNames.split(article.getAuthors());
+                namesByArticle.put(article.getId(), names);
+                names.forEach((key, name) -> {
+                    if (directory.idOf(key) == 0) {
+                        missing.putIfAbsent(key, name);
+                    }
+                });
+            }
+        }
+        Map<String, Integer> newIds = addAuthors(conn, missing);
+        newIds.forEach((key, id) -> update.newAuthors.put(id, new String[] {key, missing.get(key)}));
+
+        Map<Integer, int[]> previous = rewritten.isEmpty()
+                ? Collections.emptyMap()
+                : loadLinks(conn, rewritten);
+
+        try (PreparedStatement link = conn.prepareStatement(ADD_LINK_SQL);
+             PreparedStatement unlink = conn.prepareStatement("DELETE FROM article_authors WHERE article_id = ?")) {
+            boolean linksAdded = false;
+            boolean linksRemoved = false;
+
+            for (Map.Entry<Integer, Map<String, String>> entry : namesByArticle.entrySet()) {
+                int articleId = entry.getKey();
+                int[] authorIds = new int[entry.getValue().size()];
+                int position = 0;
+                for (String key : entry.getValue().keySet()) {
+                    int id = directory.idOf(key);
+                    authorIds[position++] = id != 0 ? id : newIds.get(key);
+                }
+
+                int[] before = previous.get(articleId);
+                if (before != null) {
+                    if (Arrays.equals(before, authorIds)) {
+                        continue;
+                    }
+                    unlink.setInt(1, articleId);
+                    unlink.addBatch();
+                    linksRemoved = true;
+                    update.removed.add(before);
+                }
+                for (int i = 0; i < authorIds.length; i++) {
+                    link.setInt(1, articleId);
+                    link.setInt(2, authorIds[i]);
+                    link.setInt(3, i);
+                    link.addBatch();
+                    linksAdded = true;
+                }
+                if (authorIds.length > 0) {
+                    update.added.add(authorIds);
+                }
+            }
+
+            if (linksRemoved) {
+                unlink.executeBatch();
+            }
+            if (linksAdded) {
+                link.executeBatch();
+            }
+        }
+    }
+
+    /**
+     * Inserts unknown authors and returns the IDs of all given keys
+     */
+    private Map<String, Integer> addAuthors(Connection conn, Map<String, String> names) throws SQLException {
+        Map<String, Integer> ids = new HashMap<>();
+        if (names.isEmpty()) {
+            return ids;
+        }
+
+        try (PreparedStatement insert = conn.prepareStatement(addAuthorSql)) {
+            for (Map.Entry<String, String> name : names.entrySet()) {
+                insert.setString(1, name.getKey());
+                insert.setString(2, name.getValue());
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+
+        // Another writer may have added the same name first, so read the IDs back
+        String placeholders = String.join(", ", Collections.nCopies(names.size(), "?"));
+        try (PreparedStatement select = conn.prepareStatement(
+                "SELECT id, name_key FROM authors WHERE name_key IN (" + placeholders + ")")) {
+            int index = 1;
+            for (String key : names.keySet()) {
+                select.setString(index++, key);
+            }
+            try (ResultSet rs = select.executeQuery()) {
+                while (rs.next()) {
+                    ids.put(rs.getString(2), rs.getInt(1));
+                }
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Stored author IDs of articles, in list order
+     */
+    private Map<Integer, int[]> loadLinks(Connection conn, Collection<Article> articles) throws SQLException {
+        Map<Integer, List<Integer>> links = new HashMap<>();
+        String placeholders = String.join(", ", Collections.nCopies(articles.size(), "?"));
+        try (PreparedStatement select = conn.prepareStatement(
+                "SELECT article_id, author_id FROM article_authors WHERE article_id IN (" + placeholders + ")"
+                        + " ORDER BY article_id, position")) {
+            int index = 1;
+            for (Article article : articles) {
+                select.setInt(index++, article.getId());
+            }
+            try (ResultSet rs = select.executeQuery()) {
+                while (rs.next()) {
+                    links.computeIfAbsent(rs.getInt(1), id -> new ArrayList<>()).add(rs.getInt(2));
+                }
+            }
+        }
+
+        Map<Integer, int[]> result = new HashMap<>();
+        // Articles without stored links compare as an empty list
+        for (Article article : articles) {
+            List<Integer> ids = links.getOrDefault(article.getId(), Collections.emptyList());
+            result.put(article.getId(), ids.stream().mapToInt(Integer::intValue).toArray());
+        }
+        return result;
+    }
+
+    /**
+     * Makes committed changes visible in the dictionary and graph
+     */
+    void apply(Update update) {
+        update.newAuthors.forEach((id, keyAndName) -> directory.add(id, keyAndName[0], keyAndName[1]));
+        update.removed.forEach(graph::removeArticle);
+        update.added.forEach(graph::addArticle);
+    }
+
+    /**
+     * In-memory changes of one transaction
+     */
+    static final class Update {
+        private final Map<Integer, String[]> newAuthors = new HashMap<>();
+        private final List<int[]> removed = new ArrayList<>();
+        private final List<int[]> added = new ArrayList<>();
+    }
+}
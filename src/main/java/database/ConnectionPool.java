@@ -0,0 +1,434 @@
+package database;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Small bounded JDBC connection pool
+ * Borrowed connections are proxies: calling close() returns them to the pool.
+ * Connections are validated before reuse, evicted when idle or too old,
+ * and held-too-long borrows are reported as possible leaks.
+ * Optionally each connection keeps its most recently used prepared
+ * statements open, for drivers that don't cache them themselves.
+ */
+public class ConnectionPool implements AutoCloseable {
+
+    private final String url;
+    private final String user;
+    private final String password;
+    private final int maxSize;
+
+    // Tunables (milliseconds) - change before the first borrow
+    private long borrowTimeoutMs = 30_000;
+    private long idleTimeoutMs = 10 * 60_000;
+    private long maxLifetimeMs = 30 * 60_000;
+    private long leakDetectionThresholdMs = 60_000;
+    private long validationIntervalMs = 5_000;
+    private int validationTimeoutSeconds = 2;
+    private int statementCacheSize;
+
+    private final Semaphore permits;
+    private final LinkedBlockingDeque<PooledConnection> idle = new LinkedBlockingDeque<>();
+    private final Set<PooledConnection> borrowed = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService housekeeper;
+    private volatile boolean closed;
+
+    /**
+     * Creates a pool; connections are opened lazily on first borrow
+     *
+     * @param url JDBC URL
+     * @param user Database user (null for drivers that don't need one)
+     * @param password Database password
+     * @param maxSize Maximum number of open connections
+     */
+    public ConnectionPool(String url, String user, String password, int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Pool size must be positive");
+        }
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.maxSize = maxSize;
+        this.permits = new Semaphore(maxSize, true);
+
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "connection-pool-housekeeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        housekeeper.scheduleWithFixedDelay(this::housekeep, 30, 30, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Borrows a connection, waiting up to the borrow timeout if all are in use
+     * Always close the returned connection (try-with-resources) to give it back
+     */
+    public Connection getConnection() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed");
+        }
+
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new SQLException("Timed out after " + borrowTimeoutMs
+                        + " ms waiting for a database connection (pool size " + maxSize + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        }
+
+        try {
+            PooledConnection pooled = takeUsableConnection();
+            pooled.borrowedAt = System.currentTimeMillis();
+            pooled.borrowTrace = leakDetectionThresholdMs > 0 ? new Throwable("Connection borrowed here") : null;
+            pooled.leakReported = false;
+            borrowed.add(pooled);
+            return pooled.newHandle();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Reuses an idle connection if a healthy one exists, otherwise opens a new one
+     */
+    private PooledConnection takeUsableConnection() throws SQLException {
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            long now = System.currentTimeMillis();
+            if (now - pooled.createdAt >= maxLifetimeMs) {
+                discard(pooled);
+                continue;
+            }
+            // Skip the validation round trip for connections returned moments ago
+            if (now - pooled.lastUsedAt >= validationIntervalMs && !isValid(pooled)) {
+                discard(pooled);
+                continue;
+            }
+            return pooled;
+        }
+
+        Connection raw = user != null
+                ? DriverManager.getConnection(url, user, password)
+                : DriverManager.getConnection(url);
+        return new PooledConnection(raw);
+    }
+
+    private boolean isValid(PooledConnection pooled) {
+        try {
+            return pooled.raw.isValid(validationTimeoutSeconds);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Returns a connection to the pool, resetting transaction state
+     * Broken or expired connections are closed instead
+     */
+    private void release(PooledConnection pooled) {
+        borrowed.remove(pooled);
+        try {
+            boolean reusable = !closed
+                    && System.currentTimeMillis() - pooled.createdAt < maxLifetimeMs
+                    && !pooled.raw.isClosed();
+
+            if (reusable) {
+                try {
+                    if (!pooled.raw.getAutoCommit()) {
+                        pooled.raw.rollback();
+                        pooled.raw.setAutoCommit(true);
+                    }
+                    pooled.raw.clearWarnings();
+                } catch (SQLException e) {
+                    reusable = false;
+                }
+            }
+
+            if (reusable) {
+                pooled.lastUsedAt = System.currentTimeMillis();
+                idle.offerFirst(pooled);
+            } else {
+                discard(pooled);
+            }
+        } catch (SQLException e) {
+            discard(pooled);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void discard(PooledConnection pooled) {
+        try {
+            pooled.raw.close();
+        } catch (SQLException e) {
+            System.err.println("✗ Error closing pooled connection: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Periodic maintenance: evicts idle/expired connections and reports leaks
+     */
+    private void housekeep() {
+        long now = System.currentTimeMillis();
+
+        for (PooledConnection pooled : idle) {
+            boolean expired = now - pooled.createdAt >= maxLifetimeMs;
+            boolean idleTooLong = now - pooled.lastUsedAt >= idleTimeoutMs;
+            if ((expired || idleTooLong) && idle.remove(pooled)) {
+                discard(pooled);
+            }
+        }
+
+        if (leakDetectionThresholdMs > 0) {
+            for (PooledConnection pooled : borrowed) {
+                long heldMs = now - pooled.borrowedAt;
+                if (!pooled.leakReported && heldMs >= leakDetectionThresholdMs) {
+                    pooled.leakReported = true;
+                    System.err.println("✗ Possible connection leak: connection held for " + heldMs + " ms");
+                    if (pooled.borrowTrace != null) {
+                        pooled.borrowTrace.printStackTrace();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Closes idle connections and stops handing out new ones
+     * Connections still borrowed are closed when they are returned
+     */
+    @Override
+    public void close() {
+        closed = true;
+        housekeeper.shutdownNow();
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            discard(pooled);
+        }
+    }
+
+    public boolean isClosed() { return closed; }
+
+    /** Number of connections currently borrowed */
+    public int getActiveCount() { return borrowed.size(); }
+
+    /** Number of open connections waiting in the pool */
+    public int getIdleCount() { return idle.size(); }
+
+    public int getMaxSize() { return maxSize; }
+
+    public void setBorrowTimeoutMs(long borrowTimeoutMs) { this.borrowTimeoutMs = borrowTimeoutMs; }
+
+    public void setIdleTimeoutMs(long idleTimeoutMs) { this.idleTimeoutMs = idleTimeoutMs; }
+
+    public void setMaxLifetimeMs(long maxLifetimeMs) { this.maxLifetimeMs = maxLifetimeMs; }
+
+    /** 0 disables leak detection */
+    public void setLeakDetectionThresholdMs(long leakDetectionThresholdMs) {
+        this.leakDetectionThresholdMs = leakDetectionThresholdMs;
+    }
+
+    public void setValidationIntervalMs(long validationIntervalMs) {
+        this.validationIntervalMs = validationIntervalMs;
+    }
+
+    public void setValidationTimeoutSeconds(int validationTimeoutSeconds) {
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+    }
+
+    /**
+     * Prepared statements kept open per connection, by SQL text (0 disables)
+     * Only prepareStatement(String) is cached; closing a cached statement
+     * resets it and returns it to its connection's cache.
+     */
+    public void setStatementCacheSize(int statementCacheSize) {
+        this.statementCacheSize = statementCacheSize;
+    }
+
+    /**
+     * Physical connection plus pool bookkeeping
+     */
+    private final class PooledConnection {
+        final Connection raw;
+        final long createdAt = System.currentTimeMillis();
+        volatile long lastUsedAt = createdAt;
+        volatile long borrowedAt;
+        volatile Throwable borrowTrace;
+        volatile boolean leakReported;
+
+        // SQL -> idle prepared statement, least recently used first; only touched by the borrower
+        final LinkedHashMap<String, PreparedStatement> statements = new LinkedHashMap<>(16, 0.75f, true);
+
+        PooledConnection(Connection raw) {
+            this.raw = raw;
+        }
+
+        /**
+         * Takes the cached statement for the SQL (or prepares one) and wraps it
+         * so that close() puts it back
+         */
+        PreparedStatement prepareCached(Handle handle, String sql) throws SQLException {
+            PreparedStatement statement = statements.remove(sql);
+            if (statement == null || statement.isClosed()) {
+                statement = raw.prepareStatement(sql);
+            }
+            return (PreparedStatement) Proxy.newProxyInstance(
+                    PreparedStatement.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class},
+                    new CachedStatement(handle, statement, sql));
+        }
+
+        /**
+         * Returns a statement to the cache, closing the least recently used ones beyond the limit
+         */
+        void recycle(String sql, PreparedStatement statement) throws SQLException {
+            statement.clearParameters();
+            statement.clearBatch();
+            PreparedStatement previous = statements.put(sql, statement);
+            if (previous != null) {
+                // The same SQL was open twice at once; keep one
+                previous.close();
+            }
+            Iterator<Map.Entry<String, PreparedStatement>> eldest = statements.entrySet().iterator();
+            while (statements.size() > statementCacheSize && eldest.hasNext()) {
+                PreparedStatement evicted = eldest.next().getValue();
+                eldest.remove();
+                evicted.close();
+            }
+        }
+
+        /**
+         * Creates the proxy handed to callers for one borrow
+         */
+        Connection newHandle() {
+            Handle handle = new Handle(this);
+            handle.proxy = (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class},
+                    handle);
+            return handle.proxy;
+        }
+    }
+
+    /**
+     * Delegates to the physical connection until closed, then returns it to the pool
+     */
+    private final class Handle implements InvocationHandler {
+        private final PooledConnection pooled;
+        private Connection proxy;
+        private boolean returned;
+
+        Handle(PooledConnection pooled) {
+            this.pooled = pooled;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!returned) {
+                        returned = true;
+                        release(pooled);
+                    }
+                    return null;
+                case "isClosed":
+                    return returned || pooled.raw.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + pooled.raw + "]";
+                default:
+                    break;
+            }
+
+            if (returned) {
+                throw new SQLException("Connection has already been returned to the pool");
+            }
+            if (statementCacheSize > 0 && "prepareStatement".equals(method.getName()) && args.length == 1) {
+                return pooled.prepareCached(this, (String) args[0]);
+            }
+            try {
+                return method.invoke(pooled.raw, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    /**
+     * Delegates to a cached statement until closed, then returns it to the cache
+     * If the connection was already given back, the statement is really closed.
+     */
+    private static final class CachedStatement implements InvocationHandler {
+        private final Handle handle;
+        private final PreparedStatement statement;
+        private final String sql;
+        private boolean closed;
+
+        CachedStatement(Handle handle, PreparedStatement statement, String sql) {
+            this.handle = handle;
+            this.statement = statement;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        if (handle.returned) {
+                            statement.close();
+                        } else {
+                            try {
+                                handle.pooled.recycle(sql, statement);
+                            } catch (SQLException e) {
+                                statement.close();
+                            }
+                        }
+                    }
+                    return null;
+                case "isClosed":
+                    return closed;
+                case "getConnection":
+                    return handle.proxy;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    break;
+            }
+
+            if (closed) {
+                throw new SQLException("Statement is closed");
+            }
+            try {
+                return method.invoke(statement, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -1,77 +1,240 @@
 package database;
 
+import analytics.AggregateQuery;
+import analytics.AggregateRow;
+import analytics.ArticleSnapshot;
+import authors.AuthorDirectory;
+import authors.CoauthorGraph;
+import keywords.KeywordExtractor;
+import metrics.Counter;
+import metrics.LatencyHistogram;
+import metrics.MetricsRegistry;
 import model.Article;
+import ranking.RankingEngine;
+import ranking.ResearcherMetrics;
 import java.sql.*;
-import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
 
 /**
  * Manages all database operations (CRUD)
  * Handles connection, table creation, and data storage
+ * Thread-safe: every operation borrows its own pooled connection
+ * Runs on MySQL or on an embedded SQLite file; SqlDialect holds the differences
+ * Keyword, author, ranking and analytics SQL lives in KeywordStore,
+ * AuthorStore, RankingStore and AggregateStore
  */
-public class DatabaseManager {
+public class DatabaseManager implements ArticleRepository {
     // Database configuration - MODIFY ACCORDING TO YOUR SETUP
-    private static final String DB_URL = "jdbc:mysql://localhost:3306/scholar_db";
+    // rewriteBatchedStatements lets the driver send a whole batch as one multi-row INSERT
+    private static final String DB_URL = "jdbc:mysql://localhost:3306/scholar_db?rewriteBatchedStatements=true";
     private static final String DB_USER = "root";
         private static final String DB_PASSWORD = "pass";
 
-    // For SQLite (simpler alternative):
-    // private static final String DB_URL = "jdbc:sqlite:scholar_articles.db";
+    // Embedded alternative, no server needed: -Dscholar.db.url=jdbc:sqlite:scholar_articles.db
+    public static final String EMBEDDED_URL = "jdbc:sqlite:scholar_articles.db";
 
-    private Connection connection;
+    // System properties overriding the configuration above
+    public static final String URL_PROPERTY = "scholar.db.url";
+    public static final String USER_PROPERTY = "scholar.db.user";
+    public static final String PASSWORD_PROPERTY = "scholar.db.password";
+
+    // Insert for keys not seen before. The update branch only runs when another
+    // writer stored the same paper between our lookup and this insert
+    private static final String INSERT_ARTICLE_SQL = """
+            INSERT INTO articles
+            (natural_key, content_hash, title, authors, publication_date, abstract, link, keywords,
+             cited_by, researcher_name, venue)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+        """;
+
+    // Rewrites only the columns that feed the content hash (and the keywords derived from them)
+    private static final String UPDATE_CHANGED_SQL = """
+            UPDATE articles SET authors = ?, abstract = ?, cited_by = ?, content_hash = ?, keywords = ?
+            WHERE id = ?
+        """;
+
+    // When the text is unchanged a refresh only moves the citation count, so
+    // the text columns, keywords and (on SQLite) the full-text index stay untouched
+    private static final String UPDATE_CITATIONS_SQL =
+            "UPDATE articles SET cited_by = ?, content_hash = ? WHERE id = ?";
+
+    private static final String INSERT_HISTORY_SQL =
+            "INSERT INTO citation_history (article_id, cited_by) VALUES (?, ?)";
+
+    // Upper bound on simultaneously open connections
+    private static final int POOL_SIZE = 10;
+    // How long connect() waits for the database to answer its validity check
+    private static final int CONNECT_TIMEOUT_SECONDS = 5;
+
+    private static final MetricsRegistry METRICS = MetricsRegistry.getDefault();
+    private static final LatencyHistogram CHUNK_WRITE = METRICS.histogram(
+            "scholar_db_write_seconds", "Time to write and commit one batch of articles");
+    private static final String ROWS_HELP = "Articles passed to writeArticles, by outcome";
+    private static final Counter ROWS_INSERTED = METRICS.counter(
+            "scholar_db_rows_total", ROWS_HELP, "result", "inserted");
+    private static final Counter ROWS_UPDATED = METRICS.counter(
+            "scholar_db_rows_total", ROWS_HELP, "result", "updated");
+    private static final Counter ROWS_UNCHANGED = METRICS.counter(
+            "scholar_db_rows_total", ROWS_HELP, "result", "unchanged");
+    private static final Counter DB_ERRORS = METRICS.counter(
+            "scholar_db_errors_total", "Failed database operations");
+    private static final String QUERY_HELP = "Read query latency by query";
+    private static final LatencyHistogram QUERY_RESEARCHERS = METRICS.histogram(
+            "scholar_db_query_seconds", QUERY_HELP, "query", "researchers");
+    private static final LatencyHistogram QUERY_HISTORY = METRICS.histogram(
+            "scholar_db_query_seconds", QUERY_HELP, "query", "history");
+    private static final LatencyHistogram QUERY_ALL = METRICS.histogram(
+            "scholar_db_query_seconds", QUERY_HELP, "query", "all");
+    private static final LatencyHistogram QUERY_COUNT = METRICS.histogram(
+            "scholar_db_query_seconds", QUERY_HELP, "query", "count");
+    private static final LatencyHistogram QUERY_PAGE = METRICS.histogram(
+            "scholar_db_query_seconds", QUERY_HELP, "query", "page");
+    private static final LatencyHistogram QUERY_SEARCH = METRICS.histogram(
+            "scholar_db_query_seconds", QUERY_HELP, "query", "search");
+    private static final LatencyHistogram QUERY_AGGREGATE = METRICS.histogram(
+            "scholar_db_query_seconds", QUERY_HELP, "query", "aggregate");
+
+    // Terms of a search query considered when there is no full-text index
+    private static final int MAX_SCAN_TERMS = 8;
+
+    private final String url;
+    private final String user;
+    private final String password;
+    private final SqlDialect dialect;
+    private final String upsertSql;
+
+    private volatile ConnectionPool pool;
+    // False when the database can't build the full-text index (search then falls back to LIKE)
+    private volatile boolean fullTextSearch;
+    // Corpus statistics for keywords of newly stored articles; loaded by createSchema
+    private final KeywordStore keywordStore;
+    // Article writes share the read side, a keyword backfill's statistics swap takes
+    // the write side. Taken before the connection: SQLite holds its write lock from
+    // setAutoCommit(false) until the connection is returned
+    private final ReadWriteLock keywordLock = new ReentrantReadWriteLock();
+    // Normalized authors and the co-author graph; loaded by createSchema
+    private final AuthorStore authorStore;
+    // Per-researcher citation metrics; loaded by createSchema
+    private final RankingStore rankingStore;
+    // Aggregate pushdown and snapshot loading for analytics
+    private final AggregateStore aggregateStore;
 
     /**
      * Constructor - Loads database driver
      */
     public DatabaseManager() throws SQLException {
+        this(System.getProperty(URL_PROPERTY, DB_URL),
+                System.getProperty(USER_PROPERTY, configuredDefault(DB_USER)),
+                System.getProperty(PASSWORD_PROPERTY, configuredDefault(DB_PASSWORD)));
         try {
             // Load driver (optional in newer Java versions)
-            Class.forName("com.mysql.cj.jdbc.Driver");
-            // For SQLite: Class.forName("org.sqlite.JDBC");
+            Class.forName(dialect.getDriverClass());
         } catch (ClassNotFoundException e) {
             throw new SQLException("Database driver not found", e);
         }
     }
 
     /**
-     * Establishes connection to the database
+     * Connects to another database (e.g. an embedded one for benchmarks)
+     * The driver is found through the JDBC service loader
+     *
+     * @param url JDBC URL
+     * @param user Database user, or null if the URL carries the credentials
+     * @param password Database password
      */
-    public void connect() throws SQLException {
-        try {
-            connection = DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD);
-            // For SQLite: connection = DriverManager.getConnection(DB_URL);
-            System.out.println("✓ Database connection established");
+    public DatabaseManager(String url, String user, String password) {
+        this.dialect = SqlDialect.forUrl(url);
+        this.url = dialect.tuneUrl(url);
+        this.user = user;
+        this.password = password;
+        this.upsertSql = INSERT_ARTICLE_SQL + dialect.onConflictUpdate("natural_key",
+                "cited_by = " + dialect.insertedValue("cited_by")
+                        + ", content_hash = " + dialect.insertedValue("content_hash"));
+        this.keywordStore = new KeywordStore(dialect);
+        this.authorStore = new AuthorStore(dialect);
+        this.rankingStore = new RankingStore(dialect);
+        this.aggregateStore = new AggregateStore(dialect, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * The built-in credentials only apply to the built-in URL
+     */
+    private static String configuredDefault(String value) {
+        return System.getProperty(URL_PROPERTY) == null ? value : null;
+    }
+
+    /**
+     * Creates the connection pool and checks the database is reachable
+     * Connections are borrowed per operation, so a dropped connection is
+     * replaced on the next call instead of breaking the manager.
+     * Connecting again requires close() first.
+     */
+    public synchronized void connect() throws SQLException {
+        if (isConnected()) {
+            throw new SQLException("Already connected - call close() first");
+        }
+        ConnectionPool newPool = new ConnectionPool(url, user, password, POOL_SIZE);
+        newPool.setStatementCacheSize(dialect.getStatementCacheSize());
+
+        try (Connection conn = newPool.getConnection()) {
+            if (!conn.isValid(CONNECT_TIMEOUT_SECONDS)) {
+                throw new SQLException("Database did not answer within " + CONNECT_TIMEOUT_SECONDS + "s");
+            }
+            pool = newPool;
+            METRICS.gauge("scholar_db_connections", "Pooled connections by state",
+                    newPool::getActiveCount, "state", "active");
+            METRICS.gauge("scholar_db_connections", "Pooled connections by state",
+                    newPool::getIdleCount, "state", "idle");
+            System.out.println("✓ Database connection established (" + dialect.getName() + ")");
         } catch (SQLException e) {
+            newPool.close();
             System.err.println("✗ Connection error: " + e.getMessage());
             throw e;
         }
     }
 
+    /**
+     * Borrows a connection from the pool; close it to give it back
+     */
+    private Connection getConnection() throws SQLException {
+        ConnectionPool current = pool;
+        if (current == null) {
+            throw new SQLException("Not connected - call connect() first");
+        }
+        return current.getConnection();
+    }
+
     /**
      * Creates the articles table if it doesn't exist
      * Uses CREATE TABLE IF NOT EXISTS to avoid errors
      */
     public void createSchema() throws SQLException {
-        String createTableSQL = """
-            CREATE TABLE IF NOT EXISTS articles (
-                id INT AUTO_INCREMENT PRIMARY KEY,
-                title VARCHAR(500) NOT NULL,
-                authors TEXT,
-                publication_date DATE,
-                abstract TEXT,
-                link VARCHAR(500),
-                keywords TEXT,
-                cited_by INT DEFAULT 0,
-                researcher_name VARCHAR(255),
-                created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
-            )
-        """;
-
-        // For SQLite change AUTO_INCREMENT to AUTOINCREMENT
-
-        try (Statement stmt = connection.createStatement()) {
-            stmt.executeUpdate(createTableSQL);
+        try (Connection conn = getConnection();
+             Statement stmt = conn.createStatement()) {
+            for (String ddl : dialect.createTables()) {
+                stmt.executeUpdate(ddl);
+            }
+            // Before the merge of duplicates, which carries the links over
+            rankingStore.linkExistingArticles(stmt);
+            migrateContentHash(conn, stmt);
+            migrateNaturalKey(conn, stmt);
+            migrateVenue(conn, stmt);
+            ensureFullTextIndex(conn, stmt);
+            keywordStore.load(stmt);
+            authorStore.load(conn, stmt, DEFAULT_BATCH_SIZE);
+            rankingStore.load(conn, stmt);
             System.out.println("✓ Database schema verified/created");
         } catch (SQLException e) {
             System.err.println("✗ Schema creation error: " + e.getMessage());
@@ -80,50 +243,824 @@ public class DatabaseManager {
     }
 
     /**
-     * Inserts an article into the database
+     * Adds the natural_key column and its unique index to tables
+     * created before deduplication existed
+     * Legacy rows get their natural key and content hash computed here, and
+     * repeated harvests of one paper are merged into its oldest row, before
+     * the index is created. The unique index is created here for SQLite too,
+     * so it never exists before the backfill; runs again after an
+     * interrupted upgrade.
+     */
+    private void migrateNaturalKey(Connection conn, Statement stmt) throws SQLException {
+        if (!hasColumn(conn, "natural_key")) {
+            stmt.executeUpdate("ALTER TABLE articles ADD COLUMN natural_key CHAR(64)");
+            System.out.println("✓ Added natural_key column to existing articles table");
+        }
+        boolean indexed = hasUniqueIndex(conn, "natural_key");
+        boolean unkeyed;
+        try (ResultSet rs = stmt.executeQuery("SELECT 1 FROM articles WHERE natural_key IS NULL LIMIT 1")) {
+            unkeyed = rs.next();
+        }
+        if (indexed && !unkeyed) {
+            return;
+        }
+
+        conn.setAutoCommit(false);
+        try {
+            int merged = backfillNaturalKeys(conn);
+            if (!indexed) {
+                stmt.executeUpdate("CREATE UNIQUE INDEX uk_articles_natural_key ON articles (natural_key)");
+            }
+            conn.commit();
+            if (unkeyed) {
+                System.out.println("✓ Backfilled natural keys, merged " + merged + " duplicate articles");
+            }
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(true);
+        }
+    }
+
+    /**
+     * Computes natural keys and content hashes for rows without one and
+     * deletes the duplicates they reveal
+     * The oldest row of each paper survives with the newest row's citation
+     * count; the duplicates' citation history and researchers move to it.
+     *
+     * @return Number of rows deleted as duplicates
+     */
+    private int backfillNaturalKeys(Connection conn) throws SQLException {
+        Map<String, Integer> survivors = new HashMap<>();
+        Map<Integer, Integer> latestCitedBy = new HashMap<>();
+        Map<Integer, Article> unkeyed = new LinkedHashMap<>();
+        List<int[]> duplicates = new ArrayList<>();
+        try (Statement select = conn.createStatement()) {
+            select.setFetchSize(DEFAULT_BATCH_SIZE);
+            try (ResultSet rs = select.executeQuery(
+                    "SELECT id, natural_key, title, authors, abstract, link, cited_by FROM articles ORDER BY id")) {
+                while (rs.next()) {
+                    int id = rs.getInt(1);
+                    String key = rs.getString(2);
+                    Article article = null;
+                    if (key == null) {
+                        article = new Article();
+                        article.setTitle(rs.getString(3));
+                        article.setAuthors(rs.getString(4));
+                        article.setAbstractText(rs.getString(5));
+                        article.setLink(rs.getString(6));
+                        article.setCitedBy(rs.getInt(7));
+                        key = ArticleKeys.naturalKey(article);
+                    }
+                    Integer survivor = survivors.putIfAbsent(key, id);
+                    if (survivor == null) {
+                        if (article != null) {
+                            unkeyed.put(id, article);
+                        }
+                    } else {
+                        duplicates.add(new int[] {id, survivor});
+                        latestCitedBy.put(survivor, rs.getInt(7));
+                    }
+                }
+            }
+        }
+
+        try (PreparedStatement moveHistory = conn.prepareStatement(
+                     "UPDATE citation_history SET article_id = ? WHERE article_id = ?");
+             PreparedStatement copyResearchers = conn.prepareStatement(
+                     "INSERT INTO article_researchers (article_id, researcher_name) "
+                             + "SELECT ?, researcher_name FROM article_researchers WHERE article_id = ? "
+                             + dialect.onConflictIgnore("article_id, researcher_name"));
+             PreparedStatement dropResearchers = conn.prepareStatement(
+                     "DELETE FROM article_researchers WHERE article_id = ?");
+             PreparedStatement dropAuthors = conn.prepareStatement("DELETE FROM article_authors WHERE article_id = ?");
+             PreparedStatement dropArticle = conn.prepareStatement("DELETE FROM articles WHERE id = ?")) {
+            int pending = 0;
+            for (int[] duplicate : duplicates) {
+                moveHistory.setInt(1, duplicate[1]);
+                moveHistory.setInt(2, duplicate[0]);
+                moveHistory.addBatch();
+                copyResearchers.setInt(1, duplicate[1]);
+                copyResearchers.setInt(2, duplicate[0]);
+                copyResearchers.addBatch();
+                dropResearchers.setInt(1, duplicate[0]);
+                dropResearchers.addBatch();
+                dropAuthors.setInt(1, duplicate[0]);
+                dropAuthors.addBatch();
+                dropArticle.setInt(1, duplicate[0]);
+                dropArticle.addBatch();
+                if (++pending == DEFAULT_BATCH_SIZE) {
+                    moveHistory.executeBatch();
+                    copyResearchers.executeBatch();
+                    dropResearchers.executeBatch();
+                    dropAuthors.executeBatch();
+                    dropArticle.executeBatch();
+                    pending = 0;
+                }
+            }
+            moveHistory.executeBatch();
+            copyResearchers.executeBatch();
+            dropResearchers.executeBatch();
+            dropAuthors.executeBatch();
+            dropArticle.executeBatch();
+        }
+
+        try (PreparedStatement setKey = conn.prepareStatement(
+                     "UPDATE articles SET natural_key = ?, content_hash = ?, cited_by = ? WHERE id = ?")) {
+            int pending = 0;
+            for (Map.Entry<Integer, Article> row : unkeyed.entrySet()) {
+                Article article = row.getValue();
+                article.setCitedBy(latestCitedBy.getOrDefault(row.getKey(), article.getCitedBy()));
+                setKey.setString(1, ArticleKeys.naturalKey(article));
+                setKey.setString(2, ArticleKeys.contentHash(article));
+                setKey.setInt(3, article.getCitedBy());
+                setKey.setInt(4, row.getKey());
+                setKey.addBatch();
+                if (++pending == DEFAULT_BATCH_SIZE) {
+                    setKey.executeBatch();
+                    pending = 0;
+                }
+            }
+            setKey.executeBatch();
+        }
+        return duplicates.size();
+    }
+
+    /**
+     * Adds the content_hash column to tables created before change detection
+     * existed. Rows with a NULL hash are treated as changed on their next
+     * refresh, which fills the hash in
+     */
+    private void migrateContentHash(Connection conn, Statement stmt) throws SQLException {
+        if (hasColumn(conn, "content_hash")) {
+            return;
+        }
+
+        stmt.executeUpdate("ALTER TABLE articles ADD COLUMN content_hash CHAR(64)");
+        System.out.println("✓ Added content_hash column to existing articles table");
+    }
+
+    /**
+     * Adds the venue column to tables created before it was parsed
+     * Older rows keep a NULL venue and group as "no venue" in aggregates
+     */
+    private void migrateVenue(Connection conn, Statement stmt) throws SQLException {
+        if (hasColumn(conn, "venue")) {
+            return;
+        }
+
+        stmt.executeUpdate("ALTER TABLE articles ADD COLUMN venue VARCHAR(255)");
+        System.out.println("✓ Added venue column to existing articles table");
+    }
+
+    /**
+     * Creates the full-text index behind search() if it is missing
+     */
+    private void ensureFullTextIndex(Connection conn, Statement stmt) {
+        try {
+            fullTextSearch = dialect.ensureFullTextIndex(conn, stmt);
+        } catch (SQLException e) {
+            fullTextSearch = false;
+            System.err.println("✗ Full-text index unavailable, search will scan: " + e.getMessage());
+        }
+    }
+
+    private boolean hasColumn(Connection conn, String column) throws SQLException {
+        DatabaseMetaData meta = conn.getMetaData();
+        try (ResultSet columns = meta.getColumns(conn.getCatalog(), null, "articles", column)) {
+            return columns.next();
+        }
+    }
+
+    private boolean hasUniqueIndex(Connection conn, String column) throws SQLException {
+        DatabaseMetaData meta = conn.getMetaData();
+        try (ResultSet indexes = meta.getIndexInfo(conn.getCatalog(), null, "articles", true, false)) {
+            while (indexes.next()) {
+                if (column.equalsIgnoreCase(indexes.getString("COLUMN_NAME"))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Inserts an article into the database, or updates it if the same paper
+     * (same natural key) is already stored with different content
      * Uses PreparedStatement to prevent SQL injection
      *
      * @param article Article object to insert
-     * @return Generated article ID or -1 if failed
+     * @return Article ID (new or existing) or -1 if failed
      */
     public int insertArticle(Article article) throws SQLException {
-        String insertSQL = """
-            INSERT INTO articles 
-            (title, authors, publication_date, abstract, link, keywords, cited_by, researcher_name)
-            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
-        """;
+        try {
+            writeArticles(List.of(article), 1);
+            if (article.getId() > 0) {
+                System.out.println("  ✓ Article stored with ID: " + article.getId());
+                return article.getId();
+            }
+            return -1;
+        } catch (SQLException e) {
+            System.err.println("  ✗ Insert error: " + e.getMessage());
+            throw e;
+        }
+    }
+
+    /**
+     * Stores several articles using JDBC batching with the default batch size
+     *
+     * @param articles Articles to insert
+     * @return Number of articles written (inserted or changed)
+     * @see #writeArticles(List, int)
+     */
+    public int insertArticles(List<Article> articles) throws SQLException {
+        return insertArticles(articles, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Stores several articles using JDBC batching
+     *
+     * @param articles Articles to insert
+     * @param batchSize Maximum rows per batch/transaction
+     * @return Number of articles written (inserted or changed)
+     * @see #writeArticles(List, int)
+     */
+    public int insertArticles(List<Article> articles, int batchSize) throws SQLException {
+        return writeArticles(articles, batchSize).getWritten();
+    }
+
+    /**
+     * Change-aware batched write, used for both first harvests and refreshes
+     * The list is split into chunks of batchSize rows, each committed in its
+     * own transaction, so a failure only rolls back the current chunk.
+     * For every chunk the stored content hashes are read with one query; then
+     * - unknown papers are inserted, with their first citation_history row,
+     * - papers whose hash matches are skipped without any write,
+     * - papers whose citation count alone moved get cited_by and hash
+     *   updated, plus a citation_history row,
+     * - papers whose text changed get authors, abstract, keywords, cited_by
+     *   and hash rewritten, and a citation_history row if the count moved.
+     * Author links of inserted and text-changed papers, and links of every
+     * paper to the researcher it was harvested for, are written in the same
+     * transaction.
+     * Row IDs (new or existing) are set on the articles.
+     *
+     * @param articles Articles to store
+     * @param batchSize Maximum rows per batch/transaction
+     * @return Inserted/updated/unchanged counts
+     */
+    public WriteResult writeArticles(List<Article> articles, int batchSize) throws SQLException {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        WriteResult total = new WriteResult(0, 0, 0, 0);
+        if (articles.isEmpty()) {
+            return total;
+        }
+
+        // The pool restores auto-commit when the connection is returned
+        keywordLock.readLock().lock();
+        try (Connection conn = getConnection();
+             PreparedStatement insert = conn.prepareStatement(upsertSql);
+             PreparedStatement update = conn.prepareStatement(UPDATE_CHANGED_SQL);
+             PreparedStatement citations = conn.prepareStatement(UPDATE_CITATIONS_SQL);
+             PreparedStatement history = conn.prepareStatement(INSERT_HISTORY_SQL)) {
+            conn.setAutoCommit(false);
+
+            for (int from = 0; from < articles.size(); from += batchSize) {
+                List<Article> chunk = articles.subList(from, Math.min(from + batchSize, articles.size()));
+
+                long start = System.nanoTime();
+                AuthorStore.Update authorUpdate = new AuthorStore.Update();
+                KeywordStore.Update keywordUpdate = new KeywordStore.Update();
+                try {
+                    WriteResult written = writeChunk(conn, chunk, insert, update, citations, history,
+                            authorUpdate, keywordUpdate);
+                    conn.commit();
+                    authorStore.apply(authorUpdate);
+                    keywordStore.apply(keywordUpdate);
+                    rankingStore.apply(chunk);
+                    CHUNK_WRITE.recordSince(start);
+                    ROWS_INSERTED.add(written.getInserted());
+                    ROWS_UPDATED.add(written.getUpdated());
+                    ROWS_UNCHANGED.add(written.getUnchanged());
+                    total = total.plus(written);
+                } catch (SQLException e) {
+                    conn.rollback();
+                    insert.clearBatch();
+                    update.clearBatch();
+                    citations.clearBatch();
+                    history.clearBatch();
+                    throw e;
+                } finally {
+                    keywordStore.release(keywordUpdate);
+                }
+            }
+
+            System.out.println("  ✓ Batch stored " + total.getWritten() + " articles ("
+                    + total.getUnchanged() + " unchanged, "
+                    + total.getCitationChanges() + " citation changes)");
+            return total;
+        } catch (SQLException e) {
+            DB_ERRORS.increment();
+            System.err.println("  ✗ Batch write error after " + total.getWritten() + " rows: " + e.getMessage());
+            throw e;
+        } finally {
+            keywordLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Writes one chunk inside the caller's transaction
+     * In-memory changes are only collected (authorUpdate, keywordUpdate), for
+     * the caller to apply once the transaction has committed.
+     */
+    private WriteResult writeChunk(Connection conn, List<Article> chunk, PreparedStatement insert,
+                                   PreparedStatement update, PreparedStatement citations,
+                                   PreparedStatement history,
+                                   AuthorStore.Update authorUpdate, KeywordStore.Update keywordUpdate)
+            throws SQLException {
+        Map<String, StoredRow> stored = loadStoredRows(conn, chunk);
+        List<Article> inserted = new ArrayList<>();
+        List<Article> rewritten = new ArrayList<>();
+        int updated = 0;
+        int recounted = 0;
+        int unchanged = 0;
+        int citationChanges = 0;
+
+        for (Article article : chunk) {
+            if (!stored.containsKey(ArticleKeys.naturalKey(article))) {
+                inserted.add(article);
+            }
+        }
+        // New papers join the corpus statistics before their keywords are scored
+        keywordStore.count(inserted, keywordUpdate);
+
+        for (Article article : chunk) {
+            String contentHash = ArticleKeys.contentHash(article);
+            StoredRow row = stored.get(ArticleKeys.naturalKey(article));
+
+            if (row == null) {
+                article.setKeywords(keywordStore.keywords(article, keywordUpdate));
+                bindArticle(insert, article, contentHash);
+                insert.addBatch();
+                continue;
+            }
+
+            article.setId(row.id);
+            if (contentHash.equals(row.contentHash)) {
+                unchanged++;
+                continue;
+            }
+
+            if (ArticleKeys.contentHash(article, row.citedBy).equals(row.contentHash)) {
+                // Same text, so keywords and author links stay as stored
+                citations.setInt(1, article.getCitedBy());
+                citations.setString(2, contentHash);
+                citations.setInt(3, row.id);
+                citations.addBatch();
+                recounted++;
+            } else {
+                update.setString(1, article.getAuthors());
+                update.setString(2, article.getAbstractText());
+                update.setInt(3, article.getCitedBy());
+                update.setString(4, contentHash);
+                article.setKeywords(keywordStore.keywords(article, keywordUpdate));
+                update.setString(5, article.getKeywords());
+                update.setInt(6, row.id);
+                update.addBatch();
+                rewritten.add(article);
+            }
+            updated++;
+
+            if (article.getCitedBy() != row.citedBy) {
+                history.setInt(1, row.id);
+                history.setInt(2, article.getCitedBy());
+                history.addBatch();
+                citationChanges++;
+            }
+            // Later duplicates in the same chunk compare against this version
+            stored.put(ArticleKeys.naturalKey(article), new StoredRow(row.id, contentHash, article.getCitedBy()));
+        }
+
+        if (!inserted.isEmpty()) {
+            keywordStore.writeTerms(conn, keywordUpdate);
+            insert.executeBatch();
+            // Generated keys don't cover upserted duplicates, so look IDs up by key
+            resolveIds(conn, inserted);
+
+            // First observation of each new paper, so citation growth can be measured from it
+            Set<Integer> firstSeen = new HashSet<>();
+            for (Article article : inserted) {
+                if (firstSeen.add(article.getId())) {
+                    history.setInt(1, article.getId());
+                    history.setInt(2, article.getCitedBy());
+                    history.addBatch();
+                }
+            }
+        }
+        if (!rewritten.isEmpty()) {
+            update.executeBatch();
+        }
+        if (recounted > 0) {
+            citations.executeBatch();
+        }
+        if (citationChanges > 0 || !inserted.isEmpty()) {
+            history.executeBatch();
+        }
+        authorStore.writeLinks(conn, inserted, rewritten, authorUpdate);
+        rankingStore.writeLinks(conn, chunk);
+        return new WriteResult(inserted.size(), updated, unchanged, citationChanges);
+    }
+
+    /**
+     * Binds article fields to the upsert statement parameters
+     */
+    private void bindArticle(PreparedStatement pstmt, Article article, String contentHash) throws SQLException {
+        pstmt.setString(1, ArticleKeys.naturalKey(article));
+        pstmt.setString(2, contentHash);
+        pstmt.setString(3, article.getTitle());
+        pstmt.setString(4, article.getAuthors());
+        pstmt.setDate(5, article.getPublicationDate() != null ?
+                Date.valueOf(article.getPublicationDate()) : null);
+        pstmt.setString(6, article.getAbstractText());
+        pstmt.setString(7, article.getLink());
+        pstmt.setString(8, article.getKeywords());
+        pstmt.setInt(9, article.getCitedBy());
+        pstmt.setString(10, article.getResearcherName());
+        pstmt.setString(11, article.getVenue());
+    }
+
+    /**
+     * Reads ID, content hash and citation count of the stored rows matching
+     * the articles' natural keys, in one query
+     *
+     * @return Stored rows by natural key (absent keys are new papers)
+     */
+    private Map<String, StoredRow> loadStoredRows(Connection conn, List<Article> articles) throws SQLException {
+        List<String> keys = new ArrayList<>(new LinkedHashSet<>(
+                articles.stream().map(ArticleKeys::naturalKey).collect(Collectors.toList())));
+
+        String placeholders = String.join(", ", Collections.nCopies(keys.size(), "?"));
+        String selectSQL = "SELECT id, natural_key, content_hash, cited_by FROM articles"
+                + " WHERE natural_key IN (" + placeholders + ")";
+
+        Map<String, StoredRow> rows = new HashMap<>();
+        try (PreparedStatement pstmt = conn.prepareStatement(selectSQL)) {
+            for (int i = 0; i < keys.size(); i++) {
+                pstmt.setString(i + 1, keys.get(i));
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    rows.put(rs.getString("natural_key"), new StoredRow(
+                            rs.getInt("id"), rs.getString("content_hash"), rs.getInt("cited_by")));
+                }
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Sets the stored row ID on each article, matching rows by natural key
+     * One query per call, so callers should pass at most one batch at a time
+     */
+    private void resolveIds(Connection conn, List<Article> articles) throws SQLException {
+        Map<String, List<Article>> byKey = new HashMap<>();
+        for (Article article : articles) {
+            byKey.computeIfAbsent(ArticleKeys.naturalKey(article), k -> new ArrayList<>()).add(article);
+        }
 
-        try (PreparedStatement pstmt = connection.prepareStatement(
-                insertSQL, Statement.RETURN_GENERATED_KEYS)) {
-
-            // Set parameters using ? placeholders
-            pstmt.setString(1, article.getTitle());
-            pstmt.setString(2, article.getAuthors());
-            pstmt.setDate(3, article.getPublicationDate() != null ?
-                    Date.valueOf(article.getPublicationDate()) : null);
-            pstmt.setString(4, article.getAbstractText());
-            pstmt.setString(5, article.getLink());
-            pstmt.setString(6, article.getKeywords());
-            pstmt.setInt(7, article.getCitedBy());
-            pstmt.setString(8, article.getResearcherName());
-
-            int affectedRows = pstmt.executeUpdate();
-
-            // Retrieve auto-generated ID
-            if (affectedRows > 0) {
-                try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
-                    if (generatedKeys.next()) {
-                        int id = generatedKeys.getInt(1);
-                        article.setId(id);
-                        System.out.println("  ✓ Article inserted with ID: " + id);
-                        return id;
+        String placeholders = String.join(", ", Collections.nCopies(byKey.size(), "?"));
+        String selectSQL = "SELECT id, natural_key FROM articles WHERE natural_key IN (" + placeholders + ")";
+
+        try (PreparedStatement pstmt = conn.prepareStatement(selectSQL)) {
+            int index = 1;
+            for (String key : byKey.keySet()) {
+                pstmt.setString(index++, key);
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    for (Article article : byKey.get(rs.getString("natural_key"))) {
+                        article.setId(rs.getInt("id"));
                     }
                 }
             }
-            return -1;
+        }
+    }
+
+    /**
+     * Full-text search over titles, abstracts and keywords
+     * Uses the dialect's full-text index (MySQL FULLTEXT in natural language
+     * mode, SQLite FTS5 with BM25), so results are ranked by relevance and
+     * the query needs no special syntax. Without
+     * the index (e.g. on an embedded test database) terms are matched with
+     * LIKE and ranked by where they occur (title > keywords > abstract).
+     *
+     * @param query Free text
+     * @param limit Maximum number of results
+     * @return Matching articles, best match first
+     */
+    public List<Article> search(String query, int limit) throws SQLException {
+        if (query == null || query.isBlank()) {
+            return new ArrayList<>();
+        }
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+
+        long start = System.nanoTime();
+        try (Connection conn = getConnection();
+             PreparedStatement pstmt = fullTextSearch
+                     ? dialect.prepareFullTextSearch(conn, query, limit)
+                     : prepareScanSearch(conn, query, limit)) {
+
+            List<Article> results = new ArrayList<>();
+            if (pstmt == null) {
+                return results;
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    results.add(mapArticle(rs));
+                }
+            }
+            return results;
         } catch (SQLException e) {
-            System.err.println("  ✗ Insert error: " + e.getMessage());
+            DB_ERRORS.increment();
+            System.err.println("✗ Search error: " + e.getMessage());
+            throw e;
+        } finally {
+            QUERY_SEARCH.recordSince(start);
+        }
+    }
+
+    /**
+     * Fallback search without an index: any term may match, weighted by column
+     *
+     * @return Statement, or null if the query has no usable terms
+     */
+    private PreparedStatement prepareScanSearch(Connection conn, String query, int limit) throws SQLException {
+        List<String> terms = SqlDialect.queryTerms(query, MAX_SCAN_TERMS).stream()
+                .map(term -> "%" + term + "%")
+                .collect(Collectors.toList());
+        if (terms.isEmpty()) {
+            return null;
+        }
+
+        String score = String.join(" + ", Collections.nCopies(terms.size(),
+                "(CASE WHEN LOWER(title) LIKE ? THEN 3 ELSE 0 END"
+                        + " + CASE WHEN LOWER(keywords) LIKE ? THEN 2 ELSE 0 END"
+                        + " + CASE WHEN LOWER(abstract) LIKE ? THEN 1 ELSE 0 END)"));
+        String selectSQL = "SELECT * FROM (SELECT *, " + score + " AS score FROM articles) ranked"
+                + " WHERE score > 0 ORDER BY score DESC, id DESC LIMIT ?";
+
+        PreparedStatement pstmt = conn.prepareStatement(selectSQL);
+        int index = 1;
+        for (String term : terms) {
+            pstmt.setString(index++, term);
+            pstmt.setString(index++, term);
+            pstmt.setString(index++, term);
+        }
+        pstmt.setInt(index, limit);
+        return pstmt;
+    }
+
+    /**
+     * Reads ID, title and abstract of every article, for corpus-wide text processing
+     */
+    public List<Article> getArticleTexts() throws SQLException {
+        List<Article> articles = new ArrayList<>();
+        try (Connection conn = getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.setFetchSize(DEFAULT_BATCH_SIZE);
+            try (ResultSet rs = stmt.executeQuery("SELECT id, title, abstract FROM articles")) {
+                while (rs.next()) {
+                    Article article = new Article();
+                    article.setId(rs.getInt("id"));
+                    article.setTitle(rs.getString("title"));
+                    article.setAbstractText(rs.getString("abstract"));
+                    articles.add(article);
+                }
+            }
+            return articles;
+        } catch (SQLException e) {
+            DB_ERRORS.increment();
+            System.err.println("✗ Text retrieval error: " + e.getMessage());
+            throw e;
+        }
+    }
+
+    /**
+     * Reads one article
+     *
+     * @return The article, or null if there is none with this ID
+     */
+    public Article getArticle(int id) throws SQLException {
+        try (Connection conn = getConnection();
+             PreparedStatement pstmt = conn.prepareStatement("SELECT * FROM articles WHERE id = ?")) {
+            pstmt.setInt(1, id);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? mapArticle(rs) : null;
+            }
+        } catch (SQLException e) {
+            DB_ERRORS.increment();
+            System.err.println("✗ Article retrieval error: " + e.getMessage());
+            throw e;
+        }
+    }
+
+    /**
+     * Reads the numeric columns and author links of every article into a
+     * columnar snapshot; text columns are read per article when accessed
+     */
+    public ArticleSnapshot loadArticleSnapshot() throws SQLException {
+        long start = System.nanoTime();
+        try (Connection conn = getConnection()) {
+            ArticleSnapshot snapshot = aggregateStore.loadSnapshot(conn, authorStore.getDirectory(), this::getArticle);
+            System.out.println("✓ Loaded " + snapshot + " in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+            return snapshot;
+        } catch (SQLException e) {
+            DB_ERRORS.increment();
+            System.err.println("✗ Snapshot load error: " + e.getMessage());
+            throw e;
+        }
+    }
+
+    /**
+     * Runs an aggregate query as one GROUP BY in the database
+     *
+     * @throws IllegalArgumentException If the query can't be pushed down (see AggregateQuery.canPushDown)
+     */
+    public List<AggregateRow> aggregate(AggregateQuery query) throws SQLException {
+        long start = System.nanoTime();
+        try (Connection conn = getConnection()) {
+            return aggregateStore.aggregate(conn, query);
+        } catch (SQLException e) {
+            DB_ERRORS.increment();
+            System.err.println("✗ Aggregate query error: " + e.getMessage());
             throw e;
+        } finally {
+            QUERY_AGGREGATE.recordSince(start);
+        }
+    }
+
+    /**
+     * Replaces all keywords and the corpus statistics (keyword backfill)
+     * Article writes wait until it is done; articles stored since
+     * getArticleTexts() keep their keywords and are counted into the new
+     * statistics.
+     *
+     * @param keywordsById New keywords by article ID
+     * @param documentFrequency Document frequency by term over those articles
+     */
+    public void replaceKeywords(Map<Integer, String> keywordsById, Map<String, Integer> documentFrequency)
+            throws SQLException {
+        keywordLock.writeLock().lock();
+        try (Connection conn = getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                keywordStore.replace(conn, keywordsById, documentFrequency, DEFAULT_BATCH_SIZE);
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            DB_ERRORS.increment();
+            System.err.println("✗ Keyword update error: " + e.getMessage());
+            throw e;
+        } finally {
+            keywordLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Co-authors of an author, most frequent first
+     * Answered from the in-memory co-author graph, without a query
+     *
+     * @param authorName Author name in any spelling that normalizes to the stored one
+     * @param limit Maximum number of co-authors
+     * @return Shared article count by co-author display name (empty if the author is unknown)
+     */
+    public Map<String, Integer> getCoauthors(String authorName, int limit) {
+        Map<String, Integer> coauthors = new LinkedHashMap<>();
+        AuthorDirectory directory = authorStore.getDirectory();
+        int authorId = directory.find(authorName);
+        if (authorId == 0) {
+            return coauthors;
+        }
+
+        List<int[]> edges = new ArrayList<>();
+        authorStore.getGraph().forEachCoauthor(authorId, (id, shared) -> edges.add(new int[] {id, shared}));
+        edges.sort((a, b) -> a[1] != b[1] ? Integer.compare(b[1], a[1]) : Integer.compare(a[0], b[0]));
+        for (int[] edge : edges.subList(0, Math.min(limit, edges.size()))) {
+            coauthors.put(directory.nameOf(edge[0]), edge[1]);
+        }
+        return coauthors;
+    }
+
+    /**
+     * Top-N leaderboard of tracked researchers, answered from memory
+     *
+     * @param n Number of researchers
+     * @param order Metric to rank by
+     */
+    public List<ResearcherMetrics> getTopResearchers(int n, RankingEngine.Order order) {
+        return rankingStore.getEngine().top(n, order);
+    }
+
+    /**
+     * Citation metrics of every tracked researcher, kept current by writeArticles
+     */
+    public RankingEngine getRankingEngine() {
+        return rankingStore.getEngine();
+    }
+
+    /**
+     * Dictionary of stored authors (name key <-> ID <-> display name)
+     */
+    public AuthorDirectory getAuthorDirectory() {
+        return authorStore.getDirectory();
+    }
+
+    /**
+     * Co-authorship graph over the IDs of getAuthorDirectory()
+     */
+    public CoauthorGraph getCoauthorGraph() {
+        return authorStore.getGraph();
+    }
+
+    /**
+     * Extractor used for the keywords of stored articles
+     */
+    public KeywordExtractor getKeywordExtractor() {
+        return keywordStore.getExtractor();
+    }
+
+    /**
+     * Lists researchers with stored articles, for refreshing them
+     * Articles harvested for several researchers count for each of them
+     *
+     * @return Number of stored articles by researcher name
+     */
+    public Map<String, Integer> getTrackedResearchers() throws SQLException {
+        long start = System.nanoTime();
+        String selectSQL = """
+            SELECT researcher_name, COUNT(*) AS articles
+            FROM article_researchers
+            GROUP BY researcher_name
+            ORDER BY researcher_name
+        """;
+
+        Map<String, Integer> researchers = new LinkedHashMap<>();
+        try (Connection conn = getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(selectSQL)) {
+            while (rs.next()) {
+                researchers.put(rs.getString("researcher_name"), rs.getInt("articles"));
+            }
+            return researchers;
+        } catch (SQLException e) {
+            System.err.println("✗ Researcher lookup error: " + e.getMessage());
+            DB_ERRORS.increment();
+            throw e;
+        } finally {
+            QUERY_RESEARCHERS.recordSince(start);
+        }
+    }
+
+    /**
+     * Retrieves the recorded citation counts of one article, oldest first
+     * The first entry is the count when the article was stored (for articles
+     * stored since history began), the others are changes seen by refreshes
+     *
+     * @param articleId Article ID
+     * @return Citation count by time it was observed
+     */
+    public Map<LocalDateTime, Integer> getCitationHistory(int articleId) throws SQLException {
+        long start = System.nanoTime();
+        String selectSQL = """
+            SELECT recorded_at, cited_by
+            FROM citation_history
+            WHERE article_id = ?
+            ORDER BY recorded_at, id
+        """;
+
+        Map<LocalDateTime, Integer> history = new LinkedHashMap<>();
+        try (Connection conn = getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(selectSQL)) {
+            pstmt.setInt(1, articleId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    history.put(rs.getTimestamp("recorded_at").toLocalDateTime(), rs.getInt("cited_by"));
+                }
+            }
+            return history;
+        } catch (SQLException e) {
+            System.err.println("✗ Citation history error: " + e.getMessage());
+            DB_ERRORS.increment();
+            throw e;
+        } finally {
+            QUERY_HISTORY.recordSince(start);
         }
     }
 
@@ -134,32 +1071,17 @@ public class DatabaseManager {
      * @return List of articles
      */
     public List<Article> getAllArticles() throws SQLException {
+        long start = System.nanoTime();
         List<Article> articles = new ArrayList<>();
         String selectSQL = "SELECT * FROM articles ORDER BY created_at DESC";
 
-        try (Statement stmt = connection.createStatement();
+        try (Connection conn = getConnection();
+             Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(selectSQL)) {
 
             // Iterate through results
             while (rs.next()) {
-                Article article = new Article();
-                article.setId(rs.getInt("id"));
-                article.setTitle(rs.getString("title"));
-                article.setAuthors(rs.getString("authors"));
-
-                // Handle null dates
-                Date date = rs.getDate("publication_date");
-                if (date != null) {
-                    article.setPublicationDate(date.toLocalDate());
-                }
-
-                article.setAbstractText(rs.getString("abstract"));
-                article.setLink(rs.getString("link"));
-                article.setKeywords(rs.getString("keywords"));
-                article.setCitedBy(rs.getInt("cited_by"));
-                article.setResearcherName(rs.getString("researcher_name"));
-
-                articles.add(article);
+                articles.add(mapArticle(rs));
             }
 
             System.out.println("✓ Retrieved " + articles.size() + " articles");
@@ -167,33 +1089,145 @@ public class DatabaseManager {
 
         } catch (SQLException e) {
             System.err.println("✗ Retrieval error: " + e.getMessage());
+            DB_ERRORS.increment();
             throw e;
+        } finally {
+            QUERY_ALL.recordSince(start);
         }
     }
 
     /**
-     * Closes the database connection
-     * Always call this when finished
+     * Converts the current row of a full-row query into an Article
      */
-    public void close() {
-        if (connection != null) {
-            try {
-                connection.close();
-                System.out.println("✓ Connection closed");
-            } catch (SQLException e) {
-                System.err.println("✗ Close error: " + e.getMessage());
+    private static Article mapArticle(ResultSet rs) throws SQLException {
+        Article article = new Article();
+        article.setId(rs.getInt("id"));
+        article.setTitle(rs.getString("title"));
+        article.setAuthors(rs.getString("authors"));
+
+        // Handle null dates
+        Date date = rs.getDate("publication_date");
+        if (date != null) {
+            article.setPublicationDate(date.toLocalDate());
+        }
+
+        article.setAbstractText(rs.getString("abstract"));
+        article.setLink(rs.getString("link"));
+        article.setKeywords(rs.getString("keywords"));
+        article.setCitedBy(rs.getInt("cited_by"));
+        article.setResearcherName(rs.getString("researcher_name"));
+        article.setVenue(rs.getString("venue"));
+        return article;
+    }
+
+    /**
+     * Counts stored articles
+     */
+    public int countArticles() throws SQLException {
+        long start = System.nanoTime();
+        try (Connection conn = getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM articles")) {
+            rs.next();
+            return rs.getInt(1);
+        } catch (SQLException e) {
+            System.err.println("✗ Count error: " + e.getMessage());
+            DB_ERRORS.increment();
+            throw e;
+        } finally {
+            QUERY_COUNT.recordSince(start);
+        }
+    }
+
+    /**
+     * Retrieves one page of articles, newest first, using keyset pagination
+     * Only the columns shown in the table are read (no abstract, link or keywords).
+     * IDs are auto-increment, so "id DESC" matches insertion order and the
+     * primary key index serves both the filter and the sort; unlike OFFSET,
+     * the cost per page doesn't grow with how deep the caller has scrolled.
+     *
+     * @param beforeId Only return articles with a smaller ID; use FIRST_PAGE to start
+     * @param limit Maximum number of articles in the page
+     * @return Page of articles; pass the last article's ID to get the next page
+     */
+    public List<Article> getArticlePage(int beforeId, int limit) throws SQLException {
+        long start = System.nanoTime();
+        String selectSQL = """
+            SELECT id, title, authors, publication_date, cited_by, researcher_name
+            FROM articles
+            WHERE id < ?
+            ORDER BY id DESC
+            LIMIT ?
+        """;
+
+        List<Article> page = new ArrayList<>(limit);
+
+        try (Connection conn = getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(selectSQL)) {
+            pstmt.setInt(1, beforeId);
+            pstmt.setInt(2, limit);
+            pstmt.setFetchSize(limit);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    Article article = new Article();
+                    article.setId(rs.getInt("id"));
+                    article.setTitle(rs.getString("title"));
+                    article.setAuthors(rs.getString("authors"));
+
+                    Date date = rs.getDate("publication_date");
+                    if (date != null) {
+                        article.setPublicationDate(date.toLocalDate());
+                    }
+
+                    article.setCitedBy(rs.getInt("cited_by"));
+                    article.setResearcherName(rs.getString("researcher_name"));
+                    page.add(article);
+                }
             }
+            return page;
+        } catch (SQLException e) {
+            System.err.println("✗ Page retrieval error: " + e.getMessage());
+            DB_ERRORS.increment();
+            throw e;
+        } finally {
+            QUERY_PAGE.recordSince(start);
         }
     }
 
     /**
-     * Checks if connection is active
+     * Closes the connection pool
+     * Always call this when finished
+     */
+    public synchronized void close() {
+        ConnectionPool current = pool;
+        if (current != null) {
+            current.close();
+            pool = null;
+            System.out.println("✓ Connection closed");
+        }
+    }
+
+    /**
+     * Checks if the manager is connected (pool open)
      */
     public boolean isConnected() {
-        try {
-            return connection != null && !connection.isClosed();
-        } catch (SQLException e) {
-            return false;
+        ConnectionPool current = pool;
+        return current != null && !current.isClosed();
+    }
+
+    /**
+     * Stored state of an article, as needed for change detection
+     */
+    private static final class StoredRow {
+        final int id;
+        final String contentHash;
+        final int citedBy;
+
+        StoredRow(int id, String contentHash, int citedBy) {
+            this.id = id;
+            this.contentHash = contentHash;
+            this.citedBy = citedBy;
         }
     }
 }
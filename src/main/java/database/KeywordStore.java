@@ -0,0 +1,217 @@
+package database;
+
+import keywords.KeywordExtractor;
+import model.Article;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keyword statistics storage behind DatabaseManager
+ * Keeps the term_stats table and the in-memory KeywordExtractor in step.
+ * Database changes run in the caller's transaction; the extractor only
+ * changes through apply(), after the commit.
+ */
+final class KeywordStore {
+
+    // Document frequencies only grow on insert; terms are sent in sorted order so
+    // concurrent writers lock term rows in the same order and can't deadlock
+    private static final String INSERT_TERM_SQL = "INSERT INTO term_stats (term, doc_freq) VALUES (?, ?) ";
+
+    private final String addTermSql;
+    private final KeywordExtractor extractor = new KeywordExtractor(KeywordExtractor.DEFAULT_TOP_K);
+    // Natural keys of new articles that uncommitted writes are about to count
+    private final Set<String> insertingKeys = ConcurrentHashMap.newKeySet();
+
+    KeywordStore(SqlDialect dialect) {
+        addTermSql = INSERT_TERM_SQL + dialect.onConflictUpdate("term",
+                "doc_freq = term_stats.doc_freq + " + dialect.insertedValue("doc_freq"));
+    }
+
+    KeywordExtractor getExtractor() { return extractor; }
+
+    /**
+     * Loads the stored document frequencies into the extractor
+     * The corpus size is the article count; before the first keyword backfill
+     * of an older database the frequencies are empty and keywords fall back
+     * to plain term frequency
+     */
+    void load(Statement stmt) throws SQLException {
+        Map<String, Integer> frequencies = new HashMap<>();
+        try (ResultSet rs = stmt.executeQuery("SELECT term, doc_freq FROM term_stats")) {
+            while (rs.next()) {
+                frequencies.put(rs.getString(1), rs.getInt(2));
+            }
+        }
+        long documents = 0;
+        if (!frequencies.isEmpty()) {
+            try (ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM articles")) {
+                rs.next();
+                documents = rs.getLong(1);
+            }
+        }
+        extractor.load(frequencies, documents);
+    }
+
+    /**
+     * Counts the terms of new papers into an update, without applying it
+     * Each paper is counted once: a repeat within the list, or a paper
+     * another writer of this process is inserting right now, is still
+     * written (the upsert merges it) but not counted again. The keys
+     * claimed here stay claimed until release().
+     *
+     * @param inserted Articles not yet stored
+     * @param update Collects the statistics to write and apply
+     */
+    void count(List<Article> inserted, Update update) {
+        List<Article> counted = new ArrayList<>();
+        for (Article article : inserted) {
+            String key = ArticleKeys.naturalKey(article);
+            if (insertingKeys.add(key)) {
+                update.claimedKeys.add(key);
+                counted.add(article);
+            }
+        }
+        update.stats = extractor.count(counted);
+    }
+
+    /**
+     * Keywords of an article, scored as if the update were already applied
+     */
+    String keywords(Article article, Update update) {
+        return extractor.keywords(article, update.stats);
+    }
+
+    /**
+     * Adds the update's document frequencies to term_stats in the caller's transaction
+     */
+    void writeTerms(Connection conn, Update update) throws SQLException {
+        Map<String, Integer> frequencies = update.stats.getFrequencies();
+        if (frequencies.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement terms = conn.prepareStatement(addTermSql)) {
+            for (Map.Entry<String, Integer> term : new TreeMap<>(frequencies).entrySet()) {
+                terms.setString(1, term.getKey());
+                terms.setInt(2, term.getValue());
+                terms.addBatch();
+            }
+            terms.executeBatch();
+        }
+    }
+
+    /**
+     * Makes committed statistics visible to the extractor
+     */
+    void apply(Update update) {
+        extractor.apply(update.stats);
+    }
+
+    /**
+     * Frees the keys the update claimed; call after commit or rollback
+     */
+    void release(Update update) {
+        insertingKeys.removeAll(update.claimedKeys);
+    }
+
+    /**
+     * Rewrites every article's keywords and swaps in new term statistics
+     * Keywords are updated in batches, each committed on its own; the term
+     * statistics are swapped in one transaction at the end and loaded into
+     * the extractor. Articles stored since the caller read the corpus are
+     * counted in first, as their writers' counts are deleted with the old
+     * statistics. The caller must hold out concurrent writeArticles() calls,
+     * and its connection must not be in auto-commit mode.
+     *
+     * @param keywordsById New keywords of every article the caller read
+     * @param documentFrequency Document frequency by term over those articles
+     */
+    void replace(Connection conn, Map<Integer, String> keywordsById, Map<String, Integer> documentFrequency,
+                 int batchSize) throws SQLException {
+        try (PreparedStatement update = conn.prepareStatement("UPDATE articles SET keywords = ? WHERE id = ?");
+             PreparedStatement insertTerm = conn.prepareStatement(
+                     "INSERT INTO term_stats (term, doc_freq) VALUES (?, ?)");
+             Statement stmt = conn.createStatement()) {
+            int pending = 0;
+            for (Map.Entry<Integer, String> entry : keywordsById.entrySet()) {
+                update.setString(1, entry.getValue());
+                update.setInt(2, entry.getKey());
+                update.addBatch();
+                if (++pending == batchSize) {
+                    update.executeBatch();
+                    conn.commit();
+                    pending = 0;
+                }
+            }
+            update.executeBatch();
+
+            KeywordExtractor.Update storedSince = extractor.count(readStoredSince(conn, keywordsById));
+            Map<String, Integer> frequencies = new HashMap<>(documentFrequency);
+            storedSince.getFrequencies().forEach((term, count) -> frequencies.merge(term, count, Integer::sum));
+            long documents = keywordsById.size() + storedSince.getDocuments();
+
+            stmt.executeUpdate("DELETE FROM term_stats");
+            pending = 0;
+            for (Map.Entry<String, Integer> term : frequencies.entrySet()) {
+                insertTerm.setString(1, term.getKey());
+                insertTerm.setInt(2, term.getValue());
+                insertTerm.addBatch();
+                if (++pending == batchSize) {
+                    insertTerm.executeBatch();
+                    pending = 0;
+                }
+            }
+            insertTerm.executeBatch();
+            conn.commit();
+            extractor.load(frequencies, documents);
+        }
+    }
+
+    /**
+     * Title and abstract of the stored articles missing from keywordsById
+     */
+    private static List<Article> readStoredSince(Connection conn, Map<Integer, String> keywordsById)
+            throws SQLException {
+        List<Integer> ids = new ArrayList<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT id FROM articles")) {
+            while (rs.next()) {
+                if (!keywordsById.containsKey(rs.getInt(1))) {
+                    ids.add(rs.getInt(1));
+                }
+            }
+        }
+        List<Article> articles = new ArrayList<>();
+        try (PreparedStatement select = conn.prepareStatement("SELECT title, abstract FROM articles WHERE id = ?")) {
+            for (int id : ids) {
+                select.setInt(1, id);
+                try (ResultSet rs = select.executeQuery()) {
+                    if (rs.next()) {
+                        Article article = new Article();
+                        article.setTitle(rs.getString(1));
+                        article.setAbstractText(rs.getString(2));
+                        articles.add(article);
+                    }
+                }
+            }
+        }
+        return articles;
+    }
+
+    /**
+     * Statistics of one transaction's new papers, and the keys they claimed
+     */
+    static final class Update {
+        private final List<String> claimedKeys = new ArrayList<>();
+        private KeywordExtractor.Update stats = KeywordExtractor.Update.EMPTY;
+    }
+}
@@ -0,0 +1,153 @@
+package database;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * MySQL (InnoDB) dialect
+ * Search uses a FULLTEXT index in natural language mode.
+ */
+final class MySqlDialect implements SqlDialect {
+
+    // Client-side statement cache of Connector/J; replaces the pool's own cache
+    private static final String STATEMENT_CACHE_SETTINGS =
+            "cachePrepStmts=true&prepStmtCacheSize=250&prepStmtCacheSqlLimit=2048";
+
+    @Override
+    public String getName() { return "MySQL"; }
+
+    @Override
+    public String getDriverClass() { return "com.mysql.cj.jdbc.Driver"; }
+
+    @Override
+    public String tuneUrl(String url) {
+        if (!url.startsWith("jdbc:mysql:") || url.contains("cachePrepStmts")) {
+            return url;
+        }
+        return url + (url.contains("?") ? "&" : "?") + STATEMENT_CACHE_SETTINGS;
+    }
+
+    @Override
+    public int getStatementCacheSize() { return 0; }
+
+    @Override
+    public List<String> createTables() {
+        return List.of("""
+            CREATE TABLE IF NOT EXISTS articles (
+                id INT AUTO_INCREMENT PRIMARY KEY,
+                natural_key CHAR(64),
+                content_hash CHAR(64),
+                title VARCHAR(500) NOT NULL,
+                authors TEXT,
+                publication_date DATE,
+                abstract TEXT,
+                link VARCHAR(500),
+                keywords TEXT,
+                cited_by INT DEFAULT 0,
+                researcher_name VARCHAR(255),
+                venue VARCHAR(255),
+                created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                UNIQUE KEY uk_articles_natural_key (natural_key)
+            )
+        """, """
+            CREATE TABLE IF NOT EXISTS citation_history (
+                id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                article_id INT NOT NULL,
+                recorded_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                cited_by INT NOT NULL,
+                INDEX idx_citation_history_article (article_id, recorded_at)
+            )
+        """, """
+            CREATE TABLE IF NOT EXISTS term_stats (
+                term VARCHAR(64) PRIMARY KEY,
+                doc_freq INT NOT NULL
+            )
+        """, """
+            CREATE TABLE IF NOT EXISTS authors (
+                id INT AUTO_INCREMENT PRIMARY KEY,
+                name_key VARCHAR(255) NOT NULL,
+                name VARCHAR(255) NOT NULL,
+                UNIQUE KEY uk_authors_name_key (name_key)
+            )
+        """, """
+            -- position is the author's place in the article's author list
+            CREATE TABLE IF NOT EXISTS article_authors (
+                article_id INT NOT NULL,
+                author_id INT NOT NULL,
+                position SMALLINT NOT NULL,
+                PRIMARY KEY (article_id, author_id),
+                INDEX idx_article_authors_author (author_id)
+            )
+        """, """
+            -- every researcher an article was harvested for, not only the first
+            CREATE TABLE IF NOT EXISTS article_researchers (
+                article_id INT NOT NULL,
+                researcher_name VARCHAR(255) NOT NULL,
+                PRIMARY KEY (article_id, researcher_name),
+                INDEX idx_article_researchers_name (researcher_name)
+            )
+        """);
+    }
+
+    @Override
+    public String onConflictUpdate(String keyColumn, String assignments) {
+        return "ON DUPLICATE KEY UPDATE " + assignments;
+    }
+
+    @Override
+    public String onConflictIgnore(String keyColumn) {
+        // A no-op update; INSERT IGNORE would also hide unrelated errors
+        String column = keyColumn.split(",")[0].trim();
+        return "ON DUPLICATE KEY UPDATE " + column + " = " + column;
+    }
+
+    @Override
+    public String insertedValue(String column) {
+        return "VALUES(" + column + ")";
+    }
+
+    /**
+     * MySQL keeps the FULLTEXT index up to date on every insert/update, so
+     * new articles are searchable as soon as they are committed
+     */
+    @Override
+    public boolean ensureFullTextIndex(Connection conn, Statement stmt) throws SQLException {
+        DatabaseMetaData meta = conn.getMetaData();
+        try (ResultSet indexes = meta.getIndexInfo(conn.getCatalog(), null, "articles", false, false)) {
+            while (indexes.next()) {
+                if ("ft_articles_text".equalsIgnoreCase(indexes.getString("INDEX_NAME"))) {
+                    return true;
+                }
+            }
+        }
+        stmt.executeUpdate("CREATE FULLTEXT INDEX ft_articles_text ON articles (title, abstract, keywords)");
+        System.out.println("✓ Created full-text index on articles");
+        return true;
+    }
+
+    @Override
+    public PreparedStatement prepareFullTextSearch(Connection conn, String query, int limit) throws SQLException {
+        String selectSQL = """
+            SELECT *, MATCH (title, abstract, keywords) AGAINST (? IN NATURAL LANGUAGE MODE) AS score
+            FROM articles
+            WHERE MATCH (title, abstract, keywords) AGAINST (? IN NATURAL LANGUAGE MODE)
+            ORDER BY score DESC, id DESC
+            LIMIT ?
+        """;
+        PreparedStatement pstmt = conn.prepareStatement(selectSQL);
+        pstmt.setString(1, query);
+        pstmt.setString(2, query);
+        pstmt.setInt(3, limit);
+        return pstmt;
+    }
+
+    @Override
+    public String yearOf(String column) {
+        return "YEAR(" + column + ")";
+    }
+}
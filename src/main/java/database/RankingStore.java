@@ -0,0 +1,159 @@
+package database;
+
+import authors.IntIntHashMap;
+import model.Article;
+import ranking.RankingEngine;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Citation ranking storage behind DatabaseManager
+ * Keeps the article_researchers table, which links an article to every
+ * researcher it was harvested for, fills the in-memory RankingEngine from
+ * it and citation_history, and feeds the engine committed writes through
+ * apply().
+ */
+final class RankingStore {
+
+    // The window-start count of each article is its last row at or before the
+    // window start, or failing that its first row after it; rows sharing the
+    // deciding timestamp are told apart by ID, so both queries order by it
+    private static final String LAST_BEFORE_WINDOW_SQL = """
+            SELECT h.article_id, h.cited_by FROM citation_history h
+            JOIN (SELECT article_id, MAX(recorded_at) AS recorded_at FROM citation_history
+                  WHERE recorded_at <= ? GROUP BY article_id) w
+              ON h.article_id = w.article_id AND h.recorded_at = w.recorded_at
+            ORDER BY h.article_id, h.id
+        """;
+    private static final String FIRST_IN_WINDOW_SQL = """
+            SELECT h.article_id, h.cited_by FROM citation_history h
+            JOIN (SELECT article_id, MIN(recorded_at) AS recorded_at FROM citation_history
+                  WHERE recorded_at > ? GROUP BY article_id) w
+              ON h.article_id = w.article_id AND h.recorded_at = w.recorded_at
+            ORDER BY h.article_id, h.id
+        """;
+
+    // Bound as text: SQLite stores recorded_at in this format and would compare
+    // a bound Timestamp as a number; MySQL converts it
+    private static final DateTimeFormatter WINDOW_START = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS");
+
+    private final String addLinkSql;
+    private final RankingEngine engine = new RankingEngine(RankingEngine.DEFAULT_RECENT_DAYS);
+
+    RankingStore(SqlDialect dialect) {
+        addLinkSql = "INSERT INTO article_researchers (article_id, researcher_name) VALUES (?, ?) "
+                + dialect.onConflictIgnore("article_id, researcher_name");
+    }
+
+    RankingEngine getEngine() { return engine; }
+
+    /**
+     * One-time migration: links articles stored before article_researchers
+     * existed to the researcher in their researcher_name column
+     */
+    void linkExistingArticles(Statement stmt) throws SQLException {
+        try (ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM article_researchers")) {
+            rs.next();
+            if (rs.getLong(1) > 0) {
+                return;
+            }
+        }
+        int linked = stmt.executeUpdate("""
+                INSERT INTO article_researchers (article_id, researcher_name)
+                SELECT id, researcher_name FROM articles WHERE researcher_name IS NOT NULL
+            """);
+        if (linked > 0) {
+            System.out.println("✓ Linked " + linked + " existing articles to their researchers");
+        }
+    }
+
+    /**
+     * Loads citation counts into the ranking engine
+     * Only the window-start row of each article is read from citation_history
+     */
+    void load(Connection conn, Statement stmt) throws SQLException {
+        String windowStart = LocalDateTime.now().minusDays(engine.getRecentDays()).format(WINDOW_START);
+
+        // Article ID -> window-start count + 1 (0 means no history)
+        IntIntHashMap baselines = new IntIntHashMap(1024);
+        try (PreparedStatement before = conn.prepareStatement(LAST_BEFORE_WINDOW_SQL)) {
+            before.setString(1, windowStart);
+            try (ResultSet rs = before.executeQuery()) {
+                while (rs.next()) {
+                    // The last of tied rows wins
+                    baselines.put(rs.getInt(1), rs.getInt(2) + 1);
+                }
+            }
+        }
+        try (PreparedStatement after = conn.prepareStatement(FIRST_IN_WINDOW_SQL)) {
+            after.setString(1, windowStart);
+            try (ResultSet rs = after.executeQuery()) {
+                while (rs.next()) {
+                    // The first of tied rows wins, and only without a row before the window
+                    if (!baselines.containsKey(rs.getInt(1))) {
+                        baselines.put(rs.getInt(1), rs.getInt(2) + 1);
+                    }
+                }
+            }
+        }
+
+        engine.clear();
+        try (ResultSet rs = stmt.executeQuery("""
+                SELECT r.article_id, r.researcher_name, a.cited_by
+                FROM article_researchers r JOIN articles a ON a.id = r.article_id
+            """)) {
+            while (rs.next()) {
+                int articleId = rs.getInt(1);
+                int citedBy = rs.getInt(3);
+                int baseline = baselines.get(articleId);
+                engine.add(articleId, rs.getString(2), citedBy, baseline > 0 ? baseline - 1 : citedBy);
+            }
+        }
+    }
+
+    /**
+     * Links the chunk's articles to the researchers they were harvested for,
+     * in the caller's transaction; links the engine already has are skipped
+     */
+    void writeLinks(Connection conn, List<Article> chunk) throws SQLException {
+        List<Article> unlinked = new ArrayList<>();
+        for (Article article : chunk) {
+            if (article.getId() > 0 && article.getResearcherName() != null
+                    && !engine.tracks(article.getId(), article.getResearcherName())) {
+                unlinked.add(article);
+            }
+        }
+        if (unlinked.isEmpty()) {
+            return;
+        }
+        // Sorted, so concurrent writers lock link rows in the same order
+        unlinked.sort(Comparator.comparingInt(Article::getId).thenComparing(Article::getResearcherName));
+        try (PreparedStatement link = conn.prepareStatement(addLinkSql)) {
+            for (Article article : unlinked) {
+                link.setInt(1, article.getId());
+                link.setString(2, article.getResearcherName());
+                link.addBatch();
+            }
+            link.executeBatch();
+        }
+    }
+
+    /**
+     * Records the current citation counts and researchers of committed articles
+     */
+    void apply(List<Article> committed) {
+        for (Article article : committed) {
+            if (article.getId() > 0) {
+                engine.record(article.getId(), article.getResearcherName(), article.getCitedBy());
+            }
+        }
+    }
+}
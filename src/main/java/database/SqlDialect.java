@@ -0,0 +1,98 @@
+package database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * SQL that differs between the supported databases
+ * DatabaseManager writes portable SQL everywhere else and asks the dialect
+ * for DDL, upsert clauses, full-text search and connection tuning.
+ */
+interface SqlDialect {
+
+    /**
+     * Picks the dialect for a JDBC URL (MySQL unless the URL is SQLite)
+     * H2 in MySQL mode, used for benchmarks, runs the MySQL dialect.
+     */
+    static SqlDialect forUrl(String url) {
+        return url.startsWith("jdbc:sqlite:") ? new SqliteDialect() : new MySqlDialect();
+    }
+
+    String getName();
+
+    /** Driver class to load for the no-argument DatabaseManager constructor */
+    String getDriverClass();
+
+    /**
+     * Adds the driver settings the dialect relies on, unless the URL sets them already
+     */
+    String tuneUrl(String url);
+
+    /**
+     * Prepared statements the connection pool should cache per connection
+     * (0 when the driver caches them itself)
+     */
+    int getStatementCacheSize();
+
+    /**
+     * Idempotent DDL for every table and index, in execution order
+     */
+    List<String> createTables();
+
+    /**
+     * Clause appended to an INSERT to update the existing row on a unique key conflict
+     *
+     * @param keyColumn Column of the unique key
+     * @param assignments SET list; refer to the inserted values with insertedValue()
+     */
+    String onConflictUpdate(String keyColumn, String assignments);
+
+    /**
+     * Clause appended to an INSERT to keep the existing row on a unique key conflict
+     *
+     * @param keyColumn Column of the unique key, or its comma-separated columns
+     */
+    String onConflictIgnore(String keyColumn);
+
+    /**
+     * Expression for the value an upsert tried to insert into a column
+     */
+    String insertedValue(String column);
+
+    /**
+     * Creates the full-text index over title, abstract and keywords if missing
+     *
+     * @return false if this database can't provide one (search then scans)
+     */
+    boolean ensureFullTextIndex(Connection conn, Statement stmt) throws SQLException;
+
+    /**
+     * Full-text query returning article rows plus a score column, best first
+     *
+     * @return Statement, or null if the query has no usable terms
+     */
+    PreparedStatement prepareFullTextSearch(Connection conn, String query, int limit) throws SQLException;
+
+    /**
+     * Integer expression for the calendar year of a DATE column (NULL stays NULL)
+     */
+    String yearOf(String column);
+
+    /**
+     * Splits a free-text query into lower-case words of at least two characters
+     */
+    static List<String> queryTerms(String query, int maxTerms) {
+        List<String> terms = new ArrayList<>();
+        for (String term : query.toLowerCase(Locale.ROOT).split("\\W+")) {
+            if (term.length() > 1 && terms.size() < maxTerms) {
+                terms.add(term);
+            }
+        }
+        return terms;
+    }
+}
@@ -0,0 +1,210 @@
+package database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Embedded SQLite dialect (single file, no server)
+ *
+ * Connections run in WAL mode, so readers never block the writer and a
+ * commit is a sequential log append; synchronous=NORMAL only syncs at
+ * checkpoints, which can lose the last commits on power loss but never
+ * corrupts the file. Write transactions start IMMEDIATE and wait up to the
+ * busy timeout for the write lock instead of failing when they upgrade
+ * from reading. Search uses an FTS5 table kept in step by triggers.
+ */
+final class SqliteDialect implements SqlDialect {
+
+    private static final String CONNECTION_SETTINGS =
+            "journal_mode=WAL&synchronous=NORMAL&busy_timeout=30000&transaction_mode=IMMEDIATE";
+
+    // SQLite's driver doesn't cache statements, so the pool does
+    private static final int STATEMENT_CACHE_SIZE = 64;
+
+    // Terms of a search query passed to FTS5
+    private static final int MAX_QUERY_TERMS = 16;
+
+    // Same format as the driver parses timestamps in, in local time like MySQL's session time zone
+    private static final String NOW = "(strftime('%Y-%m-%d %H:%M:%f', 'now', 'localtime'))";
+
+    @Override
+    public String getName() { return "SQLite"; }
+
+    @Override
+    public String getDriverClass() { return "org.sqlite.JDBC"; }
+
+    @Override
+    public String tuneUrl(String url) {
+        if (url.contains("journal_mode")) {
+            return url;
+        }
+        return url + (url.contains("?") ? "&" : "?") + CONNECTION_SETTINGS;
+    }
+
+    @Override
+    public int getStatementCacheSize() { return STATEMENT_CACHE_SIZE; }
+
+    @Override
+    public List<String> createTables() {
+        return List.of("""
+            CREATE TABLE IF NOT EXISTS articles (
+                id INTEGER PRIMARY KEY AUTOINCREMENT,
+                natural_key CHAR(64),
+                content_hash CHAR(64),
+                title VARCHAR(500) NOT NULL,
+                authors TEXT,
+                publication_date DATE,
+                abstract TEXT,
+                link VARCHAR(500),
+                keywords TEXT,
+                cited_by INT DEFAULT 0,
+                researcher_name VARCHAR(255),
+                venue VARCHAR(255),
+                created_at TIMESTAMP DEFAULT %s
+            )
+        """.formatted(NOW), """
+            CREATE TABLE IF NOT EXISTS citation_history (
+                id INTEGER PRIMARY KEY AUTOINCREMENT,
+                article_id INT NOT NULL,
+                recorded_at TIMESTAMP DEFAULT %s,
+                cited_by INT NOT NULL
+            )
+        """.formatted(NOW),
+                "CREATE INDEX IF NOT EXISTS idx_citation_history_article ON citation_history (article_id, recorded_at)",
+                """
+            CREATE TABLE IF NOT EXISTS term_stats (
+                term VARCHAR(64) PRIMARY KEY,
+                doc_freq INT NOT NULL
+            )
+        """, """
+            CREATE TABLE IF NOT EXISTS authors (
+                id INTEGER PRIMARY KEY AUTOINCREMENT,
+                name_key VARCHAR(255) NOT NULL,
+                name VARCHAR(255) NOT NULL
+            )
+        """,
+                "CREATE UNIQUE INDEX IF NOT EXISTS uk_authors_name_key ON authors (name_key)",
+                """
+            -- position is the author's place in the article's author list
+            CREATE TABLE IF NOT EXISTS article_authors (
+                article_id INT NOT NULL,
+                author_id INT NOT NULL,
+                position SMALLINT NOT NULL,
+                PRIMARY KEY (article_id, author_id)
+            )
+        """,
+                "CREATE INDEX IF NOT EXISTS idx_article_authors_author ON article_authors (author_id)",
+                """
+            -- every researcher an article was harvested for, not only the first
+            CREATE TABLE IF NOT EXISTS article_researchers (
+                article_id INT NOT NULL,
+                researcher_name VARCHAR(255) NOT NULL,
+                PRIMARY KEY (article_id, researcher_name)
+            )
+        """,
+                "CREATE INDEX IF NOT EXISTS idx_article_researchers_name ON article_researchers (researcher_name)");
+    }
+
+    @Override
+    public String onConflictUpdate(String keyColumn, String assignments) {
+        return "ON CONFLICT (" + keyColumn + ") DO UPDATE SET " + assignments;
+    }
+
+    @Override
+    public String onConflictIgnore(String keyColumn) {
+        return "ON CONFLICT (" + keyColumn + ") DO NOTHING";
+    }
+
+    @Override
+    public String insertedValue(String column) {
+        return "excluded." + column;
+    }
+
+    /**
+     * External-content FTS5 table: the text stays in articles and the
+     * triggers only maintain the index. Updates that don't touch the
+     * indexed columns (citation refreshes) skip the re-index.
+     */
+    @Override
+    public boolean ensureFullTextIndex(Connection conn, Statement stmt) throws SQLException {
+        try (ResultSet rs = stmt.executeQuery(
+                "SELECT 1 FROM sqlite_master WHERE type = 'table' AND name = 'articles_fts'")) {
+            if (rs.next()) {
+                return true;
+            }
+        }
+
+        stmt.executeUpdate("""
+            CREATE VIRTUAL TABLE articles_fts USING fts5(
+                title, abstract, keywords, content = 'articles', content_rowid = 'id')
+        """);
+        stmt.executeUpdate("""
+            CREATE TRIGGER IF NOT EXISTS articles_fts_insert AFTER INSERT ON articles BEGIN
+                INSERT INTO articles_fts (rowid, title, abstract, keywords)
+                VALUES (new.id, new.title, new.abstract, new.keywords);
+            END
+        """);
+        stmt.executeUpdate("""
+            CREATE TRIGGER IF NOT EXISTS articles_fts_delete AFTER DELETE ON articles BEGIN
+                INSERT INTO articles_fts (articles_fts, rowid, title, abstract, keywords)
+                VALUES ('delete', old.id, old.title, old.abstract, old.keywords);
+            END
+        """);
+        stmt.executeUpdate("""
+            CREATE TRIGGER IF NOT EXISTS articles_fts_update AFTER UPDATE OF title, abstract, keywords
+            ON articles BEGIN
+                INSERT INTO articles_fts (articles_fts, rowid, title, abstract, keywords)
+                VALUES ('delete', old.id, old.title, old.abstract, old.keywords);
+                INSERT INTO articles_fts (rowid, title, abstract, keywords)
+                VALUES (new.id, new.title, new.abstract, new.keywords);
+            END
+        """);
+        // Index the articles stored before the table existed
+        stmt.executeUpdate("INSERT INTO articles_fts (articles_fts) VALUES ('rebuild')");
+        System.out.println("✓ Created full-text index on articles");
+        return true;
+    }
+
+    /**
+     * Any term may match; BM25 ranks with title, keywords and abstract
+     * weighted 3:2:1 like the scan fallback
+     */
+    @Override
+    public PreparedStatement prepareFullTextSearch(Connection conn, String query, int limit) throws SQLException {
+        List<String> terms = SqlDialect.queryTerms(query, MAX_QUERY_TERMS);
+        if (terms.isEmpty()) {
+            return null;
+        }
+        // Quoted, so FTS5 operators and column filters in user input are taken literally
+        String match = terms.stream().map(term -> '"' + term + '"').collect(Collectors.joining(" OR "));
+
+        String selectSQL = """
+            SELECT a.*, -bm25(articles_fts, 3.0, 1.0, 2.0) AS score
+            FROM articles_fts
+            JOIN articles a ON a.id = articles_fts.rowid
+            WHERE articles_fts MATCH ?
+            ORDER BY score DESC, a.id DESC
+            LIMIT ?
+        """;
+        PreparedStatement pstmt = conn.prepareStatement(selectSQL);
+        pstmt.setString(1, match);
+        pstmt.setInt(2, limit);
+        return pstmt;
+    }
+
+    /**
+     * The driver binds dates as epoch milliseconds of local midnight; rows
+     * written by other tools may hold ISO text instead
+     */
+    @Override
+    public String yearOf(String column) {
+        return "(CASE WHEN typeof(" + column + ") = 'integer'"
+                + " THEN CAST(strftime('%Y', " + column + " / 1000, 'unixepoch', 'localtime') AS INTEGER)"
+                + " ELSE CAST(strftime('%Y', " + column + ") AS INTEGER) END)";
+    }
+}
@@ -0,0 +1,51 @@
+package database;
+
+/**
+ * What a change-aware write did with each article
+ */
+public class WriteResult {
+    private final int inserted;
+    private final int updated;
+    private final int unchanged;
+    private final int citationChanges;
+
+    public WriteResult(int inserted, int updated, int unchanged, int citationChanges) {
+        this.inserted = inserted;
+        this.updated = updated;
+        this.unchanged = unchanged;
+        this.citationChanges = citationChanges;
+    }
+
+    /** New rows */
+    public int getInserted() { return inserted; }
+
+    /** Existing rows whose content changed */
+    public int getUpdated() { return updated; }
+
+    /** Existing rows skipped because their content hash matched */
+    public int getUnchanged() { return unchanged; }
+
+    /** Updated rows whose citation count changed (one citation_history row each) */
+    public int getCitationChanges() { return citationChanges; }
+
+    /** Rows actually written (inserted + updated) */
+    public int getWritten() { return inserted + updated; }
+
+    /**
+     * Sums two results
+     */
+    public WriteResult plus(WriteResult other) {
+        return new WriteResult(inserted + other.inserted, updated + other.updated,
+                unchanged + other.unchanged, citationChanges + other.citationChanges);
+    }
+
+    @Override
+    public String toString() {
+        return "WriteResult{" +
+                "inserted=" + inserted +
+                ", updated=" + updated +
+                ", unchanged=" + unchanged +
+                ", citationChanges=" + citationChanges +
+                '}';
+    }
+}
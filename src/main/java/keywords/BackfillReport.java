@@ -0,0 +1,30 @@
+package keywords;
+
+/**
+ * Outcome of one keyword backfill
+ */
+public class BackfillReport {
+    private final long elapsedMs;
+    private final int articles;
+    private final int terms;
+
+    BackfillReport(long elapsedMs, int articles, int terms) {
+        this.elapsedMs = elapsedMs;
+        this.articles = articles;
+        this.terms = terms;
+    }
+
+    public long getElapsedMs() { return elapsedMs; }
+
+    /** Articles whose keywords were recomputed */
+    public int getArticles() { return articles; }
+
+    /** Vocabulary size of the new statistics */
+    public int getTerms() { return terms; }
+
+    @Override
+    public String toString() {
+        return "Keyword backfill finished in " + elapsedMs + " ms: "
+                + articles + " articles, " + terms + " terms";
+    }
+}
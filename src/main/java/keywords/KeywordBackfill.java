@@ -0,0 +1,156 @@
+package keywords;
+
+import model.Article;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Recomputes keywords for every stored article
+ *
+ * Two fork/join passes over the corpus held in memory: the first tokenizes
+ * every article and merges document frequencies bottom-up, the second
+ * scores each article against the finished statistics. Only the final
+ * write is sequential (batched updates in the repository).
+ */
+public class KeywordBackfill {
+
+    // Articles handled by one fork/join leaf task
+    private static final int LEAF_SIZE = 512;
+
+    private final KeywordCorpus dbManager;
+    private final int parallelism;
+
+    /**
+     * @param dbManager Database whose articles and statistics are rewritten
+     * @param parallelism Worker threads
+     */
+    public KeywordBackfill(KeywordCorpus dbManager, int parallelism) {
+        this.dbManager = dbManager;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Runs the backfill; the database's extractor uses the new statistics
+     * once it returns
+     * Each run uses its own worker pool, so a backfill can be run again.
+     *
+     * @return Articles updated, vocabulary size and elapsed time
+     */
+    public BackfillReport run() throws SQLException {
+        long start = System.nanoTime();
+        List<Article> articles = dbManager.getArticleTexts();
+        KeywordExtractor extractor = dbManager.getKeywordExtractor();
+
+        List<Map<String, Integer>> termFrequencies = new ArrayList<>(Collections.nCopies(articles.size(), null));
+        Map<String, Integer> documentFrequency;
+        String[] keywords = new String[articles.size()];
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            documentFrequency = pool.invoke(new CountTerms(articles, termFrequencies, 0, articles.size()));
+            pool.invoke(new Score(termFrequencies, keywords, documentFrequency, articles.size(),
+                    extractor.getTopK(), 0, articles.size()));
+        } finally {
+            pool.shutdown();
+        }
+
+        Map<Integer, String> keywordsById = new LinkedHashMap<>();
+        for (int i = 0; i < articles.size(); i++) {
+            keywordsById.put(articles.get(i).getId(), keywords[i]);
+        }
+        dbManager.replaceKeywords(keywordsById, documentFrequency);
+
+        return new BackfillReport((System.nanoTime() - start) / 1_000_000, articles.size(),
+                extractor.getVocabularySize());
+    }
+
+    /**
+     * Tokenizes a slice of the corpus and returns its document frequencies
+     */
+    private static final class CountTerms extends RecursiveTask<Map<String, Integer>> {
+        private final List<Article> articles;
+        private final List<Map<String, Integer>> termFrequencies;
+        private final int from;
+        private final int to;
+
+        CountTerms(List<Article> articles, List<Map<String, Integer>> termFrequencies, int from, int to) {
+            this.articles = articles;
+            this.termFrequencies = termFrequencies;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Map<String, Integer> compute() {
+            if (to - from <= LEAF_SIZE) {
+                Map<String, Integer> frequencies = new HashMap<>();
+                for (int i = from; i < to; i++) {
+                    Map<String, Integer> articleTerms = KeywordExtractor.termFrequencies(articles.get(i));
+                    termFrequencies.set(i, articleTerms);
+                    for (String term : articleTerms.keySet()) {
+                        frequencies.merge(term, 1, Integer::sum);
+                    }
+                }
+                return frequencies;
+            }
+
+            int middle = (from + to) >>> 1;
+            CountTerms left = new CountTerms(articles, termFrequencies, from, middle);
+            left.fork();
+            Map<String, Integer> right = new CountTerms(articles, termFrequencies, middle, to).compute();
+            Map<String, Integer> joined = left.join();
+
+            // Merge the smaller map into the larger one
+            Map<String, Integer> larger = joined.size() >= right.size() ? joined : right;
+            Map<String, Integer> smaller = larger == joined ? right : joined;
+            smaller.forEach((term, count) -> larger.merge(term, count, Integer::sum));
+            return larger;
+        }
+    }
+
+    /**
+     * Scores a slice of the corpus against the final statistics
+     */
+    private static final class Score extends RecursiveAction {
+        private final List<Map<String, Integer>> termFrequencies;
+        private final String[] keywords;
+        private final Map<String, Integer> documentFrequency;
+        private final long documentCount;
+        private final int topK;
+        private final int from;
+        private final int to;
+
+        Score(List<Map<String, Integer>> termFrequencies, String[] keywords, Map<String, Integer> documentFrequency,
+              long documentCount, int topK, int from, int to) {
+            this.termFrequencies = termFrequencies;
+            this.keywords = keywords;
+            this.documentFrequency = documentFrequency;
+            this.documentCount = documentCount;
+            this.topK = topK;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= LEAF_SIZE) {
+                for (int i = from; i < to; i++) {
+                    keywords[i] = KeywordExtractor.keywords(termFrequencies.get(i),
+                            term -> documentFrequency.getOrDefault(term, 0), documentCount, topK);
+                    termFrequencies.set(i, null); // no longer needed
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new Score(termFrequencies, keywords, documentFrequency, documentCount, topK, from, middle),
+                    new Score(termFrequencies, keywords, documentFrequency, documentCount, topK, middle, to));
+        }
+    }
+}
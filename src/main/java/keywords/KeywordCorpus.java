@@ -0,0 +1,33 @@
+package keywords;
+
+import model.Article;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stored articles whose keywords KeywordBackfill recomputes
+ * Implemented by the article repository, so keywords doesn't depend on
+ * the database package.
+ */
+public interface KeywordCorpus {
+
+    /**
+     * ID, title and abstract of every article
+     */
+    List<Article> getArticleTexts() throws SQLException;
+
+    /**
+     * Replaces all keywords and the corpus term statistics (keyword backfill),
+     * and makes the extractor use the new statistics
+     * Articles stored after getArticleTexts() keep their keywords and are
+     * counted into the statistics.
+     */
+    void replaceKeywords(Map<Integer, String> keywordsById, Map<String, Integer> documentFrequency)
+            throws SQLException;
+
+    /**
+     * Extractor used for the keywords of stored articles
+     */
+    KeywordExtractor getKeywordExtractor();
+}
@@ -0,0 +1,161 @@
+package keywords;
+
+import model.Article;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToIntFunction;
+
+/**
+ * TF-IDF keyword extraction over the stored corpus
+ * Keeps the document frequency of every term (how many articles contain
+ * it) and the number of articles seen. Each new article adds to these
+ * statistics once it is committed; its keywords are the K terms with the
+ * highest term frequency x inverse document frequency. Title terms count
+ * double, as titles are short and deliberate. Thread-safe.
+ */
+public class KeywordExtractor {
+
+    public static final int DEFAULT_TOP_K = 8;
+    private static final int TITLE_WEIGHT = 2;
+
+    private final int topK;
+    private final ConcurrentHashMap<String, AtomicInteger> documentFrequency = new ConcurrentHashMap<>();
+    private final AtomicLong documents = new AtomicLong();
+
+    /**
+     * @param topK Keywords kept per article
+     */
+    public KeywordExtractor(int topK) {
+        if (topK <= 0) {
+            throw new IllegalArgumentException("topK must be positive");
+        }
+        this.topK = topK;
+    }
+
+    /**
+     * Replaces the statistics, e.g. with those stored in the database
+     *
+     * @param frequencies Document frequency by term
+     * @param documentCount Number of articles the frequencies were counted over
+     */
+    public void load(Map<String, Integer> frequencies, long documentCount) {
+        documentFrequency.clear();
+        frequencies.forEach((term, count) -> documentFrequency.put(term, new AtomicInteger(count)));
+        documents.set(documentCount);
+    }
+
+    /**
+     * Counts new articles without changing the statistics
+     * Score them with keywords(article, update), persist the frequencies,
+     * and apply() the update once they are committed.
+     */
+    public Update count(List<Article> articles) {
+        Map<String, Integer> delta = new HashMap<>();
+        for (Article article : articles) {
+            for (String term : termFrequencies(article).keySet()) {
+                delta.merge(term, 1, Integer::sum);
+            }
+        }
+        return new Update(delta, articles.size());
+    }
+
+    /**
+     * Adds counted articles to the statistics
+     */
+    public void apply(Update update) {
+        update.frequencies.forEach((term, count) ->
+                documentFrequency.computeIfAbsent(term, t -> new AtomicInteger()).addAndGet(count));
+        documents.addAndGet(update.documents);
+    }
+
+    /**
+     * Top-K keywords of an article against the current statistics
+     *
+     * @return Comma-separated keywords, best first (empty if the article has no terms)
+     */
+    public String keywords(Article article) {
+        return keywords(article, Update.EMPTY);
+    }
+
+    /**
+     * Top-K keywords of an article against the current statistics plus an update not yet applied
+     */
+    public String keywords(Article article, Update pending) {
+        return keywords(termFrequencies(article), term -> {
+            AtomicInteger count = documentFrequency.get(term);
+            return (count != null ? count.get() : 0) + pending.frequencies.getOrDefault(term, 0);
+        }, documents.get() + pending.documents, topK);
+    }
+
+    /**
+     * Scores terms with TF-IDF and joins the best K
+     * Shared with the parallel backfill, which scores against a frozen snapshot
+     */
+    static String keywords(Map<String, Integer> termFrequencies, ToIntFunction<String> df,
+                           long documentCount, int topK) {
+        List<Map.Entry<String, Double>> scored = new ArrayList<>(termFrequencies.size());
+        for (Map.Entry<String, Integer> term : termFrequencies.entrySet()) {
+            // Smoothed IDF: never negative, and unseen terms score highest
+            double idf = Math.log((documentCount + 1.0) / (df.applyAsInt(term.getKey()) + 1.0)) + 1.0;
+            scored.add(Map.entry(term.getKey(), term.getValue() * idf));
+        }
+        scored.sort((a, b) -> {
+            int byScore = Double.compare(b.getValue(), a.getValue());
+            return byScore != 0 ? byScore : a.getKey().compareTo(b.getKey());
+        });
+
+        StringBuilder out = new StringBuilder();
+        for (int i = 0; i < Math.min(topK, scored.size()); i++) {
+            if (i > 0) {
+                out.append(", ");
+            }
+            out.append(scored.get(i).getKey());
+        }
+        return out.toString();
+    }
+
+    /**
+     * Weighted term counts of one article's title and snippet
+     */
+    static Map<String, Integer> termFrequencies(Article article) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String term : Tokenizer.tokens(article.getTitle())) {
+            frequencies.merge(term, TITLE_WEIGHT, Integer::sum);
+        }
+        for (String term : Tokenizer.tokens(article.getAbstractText())) {
+            frequencies.merge(term, 1, Integer::sum);
+        }
+        return frequencies;
+    }
+
+    public int getTopK() { return topK; }
+
+    public long getDocumentCount() { return documents.get(); }
+
+    public int getVocabularySize() { return documentFrequency.size(); }
+
+    /**
+     * Statistics of counted articles, not yet applied
+     */
+    public static final class Update {
+        public static final Update EMPTY = new Update(Map.of(), 0);
+
+        private final Map<String, Integer> frequencies;
+        private final int documents;
+
+        Update(Map<String, Integer> frequencies, int documents) {
+            this.frequencies = frequencies;
+            this.documents = documents;
+        }
+
+        /** Document frequency increase by term, for persisting */
+        public Map<String, Integer> getFrequencies() { return frequencies; }
+
+        public int getDocuments() { return documents; }
+    }
+}
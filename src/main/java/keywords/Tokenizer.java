@@ -0,0 +1,83 @@
+package keywords;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Splits titles and snippets into index terms
+ * Terms are lower-cased runs of letters/digits of at least 3 characters;
+ * English stop words, scholarly filler and pure numbers are dropped.
+ */
+public final class Tokenizer {
+
+    private static final int MIN_LENGTH = 3;
+    private static final int MAX_LENGTH = 64;
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "about", "above", "after", "again", "against", "all", "also", "among", "and", "any", "are",
+            "because", "been", "before", "being", "below", "between", "both", "but", "can", "could",
+            "did", "does", "doing", "down", "during", "each", "few", "for", "from", "further", "had",
+            "has", "have", "having", "her", "here", "hers", "him", "his", "how", "however", "into",
+            "its", "itself", "just", "may", "more", "most", "much", "must", "not", "now", "off",
+            "once", "only", "other", "our", "ours", "out", "over", "own", "same", "she", "should",
+            "some", "such", "than", "that", "the", "their", "them", "then", "there", "these", "they",
+            "this", "those", "through", "thus", "too", "under", "until", "upon", "very", "was", "were",
+            "what", "when", "where", "which", "while", "who", "whom", "why", "will", "with", "within",
+            "without", "would", "you", "your",
+            // Words every abstract uses
+            "paper", "study", "studies", "results", "result", "show", "shows", "shown", "present",
+            "presented", "propose", "proposed", "approach", "based", "using", "used", "use", "new",
+            "method", "methods", "analysis", "data", "two", "one", "three", "first", "well");
+
+    private Tokenizer() {
+    }
+
+    /**
+     * Tokenizes text in reading order (duplicates kept)
+     *
+     * @param text Title or snippet; null yields no terms
+     */
+    public static List<String> tokens(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        int length = normalized.length();
+        int start = -1;
+        for (int i = 0; i <= length; i++) {
+            boolean wordChar = i < length && Character.isLetterOrDigit(normalized.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                addToken(tokens, normalized, start, i);
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private static void addToken(List<String> tokens, String text, int start, int end) {
+        int length = end - start;
+        if (length < MIN_LENGTH || length > MAX_LENGTH) {
+            return;
+        }
+        String token = text.substring(start, end);
+        if (!STOP_WORDS.contains(token) && !isNumber(token)) {
+            tokens.add(token);
+        }
+    }
+
+    private static boolean isNumber(String token) {
+        for (int i = 0; i < token.length(); i++) {
+            if (!Character.isDigit(token.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,121 @@
+package metrics;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanOperationInfo;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Publishes a registry as one read-only MBean (scholar:type=Metrics)
+ * Counters and gauges appear as long attributes named
+ * metric.label_value; each histogram appears as count, meanMs, p50Ms,
+ * p99Ms and maxMs attributes. The attribute list follows the registry,
+ * so label values seen later show up on the next refresh.
+ */
+public class JmxExporter implements DynamicMBean {
+
+    public static final String OBJECT_NAME = "scholar:type=Metrics";
+
+    private final MetricsRegistry registry;
+
+    public JmxExporter(MetricsRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Registers the exporter with the platform MBean server, once
+     */
+    public static synchronized void register(MetricsRegistry registry) {
+        try {
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!ManagementFactory.getPlatformMBeanServer().isRegistered(name)) {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(new JmxExporter(registry), name);
+            }
+        } catch (Exception e) {
+            System.err.println("✗ JMX metrics not registered: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Current values by attribute name
+     */
+    private Map<String, Object> snapshot() {
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (MetricsRegistry.Family family : registry.getFamilies()) {
+            for (MetricsRegistry.Labeled labeled : family.getMetrics()) {
+                String name = attributeName(family.getName(), labeled.getLabels());
+                if (labeled.getMetric() instanceof LatencyHistogram) {
+                    LatencyHistogram histogram = (LatencyHistogram) labeled.getMetric();
+                    values.put(name + ".count", histogram.getCount());
+                    values.put(name + ".meanMs", histogram.getMeanMillis());
+                    values.put(name + ".p50Ms", histogram.getPercentileMillis(0.5));
+                    values.put(name + ".p99Ms", histogram.getPercentileMillis(0.99));
+                    values.put(name + ".maxMs", histogram.getMaxNanos() / 1_000_000.0);
+                } else {
+                    values.put(name, labeled.getValue());
+                }
+            }
+        }
+        return values;
+    }
+
+    private static String attributeName(String name, Map<String, String> labels) {
+        StringBuilder out = new StringBuilder(name);
+        labels.forEach((label, value) -> out.append('.').append(label).append('_').append(value));
+        return out.toString();
+    }
+
+    @Override
+    public Object getAttribute(String attribute) throws AttributeNotFoundException {
+        Object value = snapshot().get(attribute);
+        if (value == null) {
+            throw new AttributeNotFoundException(attribute);
+        }
+        return value;
+    }
+
+    @Override
+    public AttributeList getAttributes(String[] attributes) {
+        Map<String, Object> values = snapshot();
+        AttributeList list = new AttributeList();
+        for (String attribute : attributes) {
+            if (values.containsKey(attribute)) {
+                list.add(new Attribute(attribute, values.get(attribute)));
+            }
+        }
+        return list;
+    }
+
+    @Override
+    public void setAttribute(Attribute attribute) {
+        throw new UnsupportedOperationException("Metrics are read-only");
+    }
+
+    @Override
+    public AttributeList setAttributes(AttributeList attributes) {
+        return new AttributeList();
+    }
+
+    @Override
+    public Object invoke(String actionName, Object[] params, String[] signature) {
+        throw new UnsupportedOperationException("No operations");
+    }
+
+    @Override
+    public MBeanInfo getMBeanInfo() {
+        List<MBeanAttributeInfo> attributes = new ArrayList<>();
+        snapshot().forEach((name, value) -> attributes.add(new MBeanAttributeInfo(
+                name, value.getClass().getName(), name, true, false, false)));
+        return new MBeanInfo(getClass().getName(), "Scholar harvest metrics",
+                attributes.toArray(new MBeanAttributeInfo[0]), null, new MBeanOperationInfo[0], null);
+    }
+}
@@ -0,0 +1,41 @@
+package metrics;
+
+import java.io.IOException;
+import java.net.InetAddress;
+
+/**
+ * Starts the exporters for the default registry
+ * JMX is always on; the Prometheus endpoint only when the
+ * scholar.metrics.port system property is set. It listens on loopback
+ * unless scholar.metrics.bind names another address (0.0.0.0 for all
+ * interfaces).
+ */
+public final class MetricsExporters {
+
+    public static final String PORT_PROPERTY = "scholar.metrics.port";
+    public static final String BIND_PROPERTY = "scholar.metrics.bind";
+
+    private static PrometheusExporter prometheus;
+
+    private MetricsExporters() {
+    }
+
+    public static synchronized void start() {
+        MetricsRegistry registry = MetricsRegistry.getDefault();
+        JmxExporter.register(registry);
+
+        String port = System.getProperty(PORT_PROPERTY);
+        if (port == null || prometheus != null) {
+            return;
+        }
+        String bind = System.getProperty(BIND_PROPERTY);
+        try {
+            InetAddress address = bind != null ? InetAddress.getByName(bind.trim()) : InetAddress.getLoopbackAddress();
+            prometheus = new PrometheusExporter(registry, address, Integer.parseInt(port.trim()));
+            System.out.println("✓ Prometheus metrics on http://" + prometheus.getAddress().getHostAddress()
+                    + ":" + prometheus.getPort() + "/metrics");
+        } catch (IOException | NumberFormatException e) {
+            System.err.println("✗ Prometheus endpoint not started: " + e.getMessage());
+        }
+    }
+}
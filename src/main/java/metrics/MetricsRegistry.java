@@ -0,0 +1,141 @@
+package metrics;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Named counters, histograms and gauges, grouped into families by name
+ * Instrumented code looks metrics up once (or per label value) and keeps
+ * the reference; updates never go through the registry. Exporters (JMX,
+ * Prometheus) read the families.
+ */
+public final class MetricsRegistry {
+
+    private static final MetricsRegistry DEFAULT = new MetricsRegistry();
+
+    private final ConcurrentMap<String, Family> families = new ConcurrentHashMap<>();
+
+    /**
+     * The registry the application's components report to
+     */
+    public static MetricsRegistry getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Gets or creates a counter
+     *
+     * @param name Metric name, e.g. scholar_http_requests_total
+     * @param help One-line description
+     * @param labels Alternating label names and values
+     */
+    public Counter counter(String name, String help, String... labels) {
+        return (Counter) family(name, help, Type.COUNTER).metrics
+                .computeIfAbsent(labelKey(labels), k -> new Labeled(labels, new Counter())).metric;
+    }
+
+    /**
+     * Gets or creates a latency histogram
+     */
+    public LatencyHistogram histogram(String name, String help, String... labels) {
+        return (LatencyHistogram) family(name, help, Type.HISTOGRAM).metrics
+                .computeIfAbsent(labelKey(labels), k -> new Labeled(labels, new LatencyHistogram())).metric;
+    }
+
+    /**
+     * Registers (or replaces) a gauge read on demand
+     */
+    public void gauge(String name, String help, LongSupplier value, String... labels) {
+        family(name, help, Type.GAUGE).metrics.put(labelKey(labels), new Labeled(labels, value));
+    }
+
+    /**
+     * All families, sorted by name
+     */
+    public List<Family> getFamilies() {
+        List<Family> sorted = new ArrayList<>(families.values());
+        sorted.sort((a, b) -> a.name.compareTo(b.name));
+        return sorted;
+    }
+
+    private Family family(String name, String help, Type type) {
+        Family family = families.computeIfAbsent(name, n -> new Family(n, help, type));
+        if (family.type != type) {
+            throw new IllegalArgumentException(name + " is already registered as a " + family.type);
+        }
+        return family;
+    }
+
+    private static String labelKey(String[] labels) {
+        if (labels.length % 2 != 0) {
+            throw new IllegalArgumentException("Labels must be name/value pairs");
+        }
+        return String.join("\u0000", labels);
+    }
+
+    public enum Type { COUNTER, GAUGE, HISTOGRAM }
+
+    /**
+     * Metrics sharing a name, one per label combination
+     */
+    public static final class Family {
+        private final String name;
+        private final String help;
+        private final Type type;
+        private final ConcurrentMap<String, Labeled> metrics = new ConcurrentHashMap<>();
+
+        Family(String name, String help, Type type) {
+            this.name = name;
+            this.help = help;
+            this.type = type;
+        }
+
+        public String getName() { return name; }
+        public String getHelp() { return help; }
+        public Type getType() { return type; }
+
+        /** Members of the family */
+        public Collection<Labeled> getMetrics() {
+            return Collections.unmodifiableCollection(metrics.values());
+        }
+    }
+
+    /**
+     * One metric with its label values
+     * The metric is a Counter, a LatencyHistogram or a LongSupplier (gauge)
+     */
+    public static final class Labeled {
+        private final Map<String, String> labels;
+        private final Object metric;
+
+        Labeled(String[] labels, Object metric) {
+            Map<String, String> map = new LinkedHashMap<>();
+            for (int i = 0; i < labels.length; i += 2) {
+                map.put(labels[i], labels[i + 1]);
+            }
+            this.labels = Collections.unmodifiableMap(map);
+            this.metric = metric;
+        }
+
+        public Map<String, String> getLabels() { return labels; }
+        public Object getMetric() { return metric; }
+
+        /** Current value of a counter or gauge */
+        public long getValue() {
+            if (metric instanceof Counter) {
+                return ((Counter) metric).get();
+            }
+            if (metric instanceof LongSupplier) {
+                return ((LongSupplier) metric).getAsLong();
+            }
+            return ((LatencyHistogram) metric).getCount();
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Serves a registry at /metrics in the Prometheus text format (0.0.4)
+ * Histograms are exported in seconds with fixed "le" buckets derived
+ * from the fine-grained buckets of LatencyHistogram.
+ */
+public class PrometheusExporter implements AutoCloseable {
+
+    // Seconds; enough resolution for both HTTP round trips and batch commits
+    private static final double[] BUCKETS_SECONDS = {
+            0.001, 0.0025, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10, 30, 60
+    };
+
+    private final MetricsRegistry registry;
+    private final HttpServer server;
+
+    /**
+     * Starts serving on the loopback interface only
+     *
+     * @param registry Metrics to export
+     * @param port Port to listen on (0 picks a free one)
+     */
+    public PrometheusExporter(MetricsRegistry registry, int port) throws IOException {
+        this(registry, InetAddress.getLoopbackAddress(), port);
+    }
+
+    /**
+     * Starts serving on one address
+     *
+     * @param registry Metrics to export
+     * @param address Address to bind (the wildcard address serves all interfaces)
+     * @param port Port to listen on (0 picks a free one)
+     */
+    public PrometheusExporter(MetricsRegistry registry, InetAddress address, int port) throws IOException {
+        this.registry = registry;
+        this.server = HttpServer.create(new InetSocketAddress(address, port), 16);
+        server.createContext("/metrics", this::handle);
+        server.start();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public InetAddress getAddress() {
+        return server.getAddress().getAddress();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            byte[] body = scrape().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    /**
+     * Renders all metrics in the text exposition format
+     */
+    public String scrape() {
+        StringBuilder out = new StringBuilder(4096);
+        for (MetricsRegistry.Family family : registry.getFamilies()) {
+            String name = family.getName();
+            out.append("# HELP ").append(name).append(' ').append(family.getHelp()).append('\n');
+            out.append("# TYPE ").append(name).append(' ')
+                    .append(family.getType().name().toLowerCase()).append('\n');
+
+            for (MetricsRegistry.Labeled labeled : family.getMetrics()) {
+                if (labeled.getMetric() instanceof LatencyHistogram) {
+                    appendHistogram(out, name, labeled.getLabels(), (LatencyHistogram) labeled.getMetric());
+                } else {
+                    out.append(name).append(labels(labeled.getLabels(), null))
+                            .append(' ').append(labeled.getValue()).append('\n');
+                }
+            }
+        }
+        return out.toString();
+    }
+
+    private static void appendHistogram(StringBuilder out, String name, Map<String, String> labels,
+                                        LatencyHistogram histogram) {
+        // Read the count first; buckets recorded meanwhile can only make them larger
+        long count = histogram.getCount();
+        for (double bound : BUCKETS_SECONDS) {
+            long cumulative = Math.min(count, histogram.getCountAtOrBelow((long) (bound * 1e9)));
+            out.append(name).append("_bucket").append(labels(labels, Double.toString(bound)))
+                    .append(' ').append(cumulative).append('\n');
+        }
+        out.append(name).append("_bucket").append(labels(labels, "+Inf")).append(' ').append(count).append('\n');
+        out.append(name).append("_sum").append(labels(labels, null))
+                .append(' ').append(histogram.getSumNanos() / 1e9).append('\n');
+        out.append(name).append("_count").append(labels(labels, null)).append(' ').append(count).append('\n');
+    }
+
+    private static String labels(Map<String, String> labels, String le) {
+        if (labels.isEmpty() && le == null) {
+            return "";
+        }
+        StringBuilder out = new StringBuilder("{");
+        labels.forEach((label, value) -> {
+            if (out.length() > 1) {
+                out.append(',');
+            }
+            out.append(label).append("=\"").append(escape(value)).append('"');
+        });
+        if (le != null) {
+            if (out.length() > 1) {
+                out.append(',');
+            }
+            out.append("le=\"").append(le).append('"');
+        }
+        return out.append('}').toString();
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
@@ -16,6 +16,7 @@ public class Article {
     private String keywords;
     private int citedBy;
     private String researcherName;
+    private String venue;
 
     // Empty constructor
     public Article() {}
@@ -68,6 +69,10 @@ public class Article {
         this.researcherName = researcherName;
     }
 
+    // Journal or conference, when the source names one
+    public String getVenue() { return venue; }
+    public void setVenue(String venue) { this.venue = venue; }
+
     @Override
     public String toString() {
         return "Article{" +
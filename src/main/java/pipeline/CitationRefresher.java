@@ -0,0 +1,127 @@
+package pipeline;
+
+import database.ArticleRepository;
+import database.WriteResult;
+import model.Article;
+import service.ScholarAPIService;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Incremental citation refresh for every researcher already in the database
+ *
+ * Each tracked researcher is searched again, bypassing the response cache
+ * (a cached page holds the counts that are already stored), and the
+ * results go through ArticleRepository.writeArticles, which compares
+ * content hashes: unchanged papers cost one indexed lookup and no write,
+ * changed ones are updated in place and citation count changes are
+ * appended to citation_history.
+ */
+public class CitationRefresher {
+
+    private final ScholarAPIService apiService;
+    private final ArticleRepository dbManager;
+    private final int parallelism;
+
+    /**
+     * @param apiService Service used for the searches
+     * @param dbManager Database holding the tracked articles
+     * @param parallelism Researchers refreshed at the same time
+     */
+    public CitationRefresher(ScholarAPIService apiService, ArticleRepository dbManager, int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        this.apiService = apiService;
+        this.dbManager = dbManager;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Refreshes all tracked researchers, blocking until done
+     * Each researcher is re-queried for at least as many results as are
+     * stored for them, rounded up to whole pages so new papers are picked up.
+     *
+     * @return Per-researcher write counts and errors
+     */
+    public RefreshReport refreshAll() throws Exception {
+        return refresh(dbManager.getTrackedResearchers());
+    }
+
+    /**
+     * Refreshes the given researchers
+     *
+     * @param researchers Researcher name -> number of stored articles
+     * @return Per-researcher write counts and errors
+     */
+    public RefreshReport refresh(Map<String, Integer> researchers) throws InterruptedException {
+        long start = System.nanoTime();
+        Map<String, WriteResult> results = new ConcurrentHashMap<>();
+        Map<String, String> errors = new ConcurrentHashMap<>();
+        AtomicInteger threadIds = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, r -> {
+            Thread thread = new Thread(r, "refresh-" + threadIds.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<?>> tasks = new ArrayList<>();
+            researchers.forEach((researcher, stored) -> tasks.add(executor.submit(() -> {
+                try {
+                    results.put(researcher, refreshResearcher(researcher, stored));
+                } catch (Exception e) {
+                    errors.put(researcher, e.getMessage());
+                    System.err.println("✗ Refresh failed for " + researcher + ": " + e.getMessage());
+                }
+            })));
+            for (Future<?> task : tasks) {
+                try {
+                    task.get();
+                } catch (ExecutionException e) {
+                    // Errors are recorded inside the task
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Report in the caller's order
+        Map<String, WriteResult> ordered = new LinkedHashMap<>();
+        for (String researcher : researchers.keySet()) {
+            if (results.containsKey(researcher)) {
+                ordered.put(researcher, results.get(researcher));
+            }
+        }
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        return new RefreshReport(elapsedMs, Collections.unmodifiableMap(ordered),
+                Collections.unmodifiableMap(errors));
+    }
+
+    private WriteResult refreshResearcher(String researcher, int stored) throws Exception {
+        int pageSize = ScholarAPIService.MAX_PAGE_SIZE;
+        int maxResults = Math.max(1, (stored + pageSize - 1) / pageSize) * pageSize;
+
+        List<Article> articles;
+        try (Stream<Article> stream = apiService.streamArticlesByAuthor(researcher, maxResults, true)) {
+            articles = stream.collect(Collectors.toList());
+        }
+        articles.forEach(IngestPipeline::normalize);
+
+        WriteResult result = dbManager.writeArticles(articles, ArticleRepository.DEFAULT_BATCH_SIZE);
+        System.out.println("✓ Refreshed " + researcher + ": " + result.getUpdated() + " changed, "
+                + result.getUnchanged() + " unchanged");
+        return result;
+    }
+}
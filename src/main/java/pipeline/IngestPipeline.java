@@ -0,0 +1,372 @@
+package pipeline;
+
+import database.ArticleRepository;
+import model.Article;
+import service.RawPage;
+import service.ScholarAPIService;
+import service.SerpApiResponseParser;
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Staged ingest: fetch -> parse/normalize -> persist
+ *
+ * Each stage has its own worker threads and hands work to the next one
+ * through a bounded queue. Network fetches, JSON decoding and database
+ * writes therefore overlap, and when a downstream stage falls behind its
+ * queue fills up and blocks the upstream workers instead of letting memory
+ * grow (backpressure).
+ *
+ * Researchers with more results than one page are crawled page by page:
+ * after parsing a full page the parse stage schedules the next fetch.
+ */
+public class IngestPipeline {
+
+    // How often idle workers re-check whether their stage is finished
+    private static final long POLL_MS = 100;
+
+    private final ScholarAPIService apiService;
+    private final ArticleRepository dbManager;
+    private final PipelineConfig config;
+    private final SerpApiResponseParser parser = new SerpApiResponseParser();
+
+    private volatile Consumer<List<Article>> persistListener = batch -> {};
+    private volatile Consumer<IngestProgress> progressListener = progress -> {};
+
+    public IngestPipeline(ScholarAPIService apiService, ArticleRepository dbManager, PipelineConfig config) {
+        this.apiService = apiService;
+        this.dbManager = dbManager;
+        this.config = config;
+    }
+
+    /**
+     * Receives each batch right after it was written (IDs set)
+     * Called from persist workers
+     */
+    public void setPersistListener(Consumer<List<Article>> persistListener) {
+        this.persistListener = persistListener;
+    }
+
+    /**
+     * Receives the stored/expected counts whenever either changes
+     * Called from pipeline workers
+     */
+    public void setProgressListener(Consumer<IngestProgress> progressListener) {
+        this.progressListener = progressListener;
+    }
+
+    /**
+     * Harvests and stores articles for all researchers, blocking until done
+     *
+     * @param researchers Researcher names
+     * @param maxResultsPerResearcher Maximum articles per researcher
+     * @return Per-stage throughput, per-researcher counts and errors
+     */
+    public PipelineReport run(List<String> researchers, int maxResultsPerResearcher)
+            throws InterruptedException {
+        if (maxResultsPerResearcher <= 0) {
+            throw new IllegalArgumentException("Maximum results must be positive");
+        }
+        return new Run(researchers, maxResultsPerResearcher).execute();
+    }
+
+    /**
+     * State of one pipeline execution
+     */
+    private final class Run {
+        private final int maxResults;
+        private final long startNanos = System.nanoTime();
+
+        // Fetch input is fed by the caller and by the parse stage (next pages); it never
+        // holds more than one task per researcher, so it needs no capacity bound
+        private final BlockingQueue<FetchTask> fetchQueue = new LinkedBlockingQueue<>();
+        private final BlockingQueue<FetchedPage> parseQueue = new ArrayBlockingQueue<>(config.getQueueCapacity());
+        private final BlockingQueue<Article> persistQueue = new ArrayBlockingQueue<>(config.getQueueCapacity());
+
+        private final StageStats fetchStats = new StageStats("fetch");
+        private final StageStats parseStats = new StageStats("parse");
+        private final StageStats persistStats = new StageStats("persist");
+
+        // Researchers whose crawl hasn't finished; fetch workers stop when it hits zero
+        private final AtomicInteger activeResearchers;
+        private final Map<String, AtomicInteger> persistedByResearcher = new ConcurrentHashMap<>();
+        private final Map<String, String> errors = new ConcurrentHashMap<>();
+        // Articles stored, and articles that will be once every crawl has finished
+        private final AtomicInteger persisted = new AtomicInteger();
+        private final AtomicInteger expected;
+
+        private final CountDownLatch fetchDone = new CountDownLatch(config.getFetchParallelism());
+        private final CountDownLatch parseDone = new CountDownLatch(config.getParseParallelism());
+        private final CountDownLatch persistDone = new CountDownLatch(config.getPersistParallelism());
+
+        Run(List<String> researchers, int maxResults) {
+            this.maxResults = maxResults;
+            this.activeResearchers = new AtomicInteger(researchers.size());
+            this.expected = new AtomicInteger(researchers.size() * maxResults);
+            for (String researcher : researchers) {
+                persistedByResearcher.put(researcher, new AtomicInteger());
+                fetchQueue.add(new FetchTask(researcher, 0, Math.min(config.getPageSize(), maxResults)));
+            }
+        }
+
+        PipelineReport execute() throws InterruptedException {
+            List<Thread> workers = new ArrayList<>();
+            workers.addAll(start("fetch", config.getFetchParallelism(), this::fetchLoop, fetchDone));
+            workers.addAll(start("parse", config.getParseParallelism(), this::parseLoop, parseDone));
+            workers.addAll(start("persist", config.getPersistParallelism(), this::persistLoop, persistDone));
+
+            try {
+                persistDone.await();
+            } catch (InterruptedException e) {
+                workers.forEach(Thread::interrupt);
+                throw e;
+            }
+
+            Map<String, Integer> counts = new LinkedHashMap<>();
+            persistedByResearcher.forEach((researcher, count) -> counts.put(researcher, count.get()));
+
+            long elapsedMs = (System.nanoTime() - startNanos) / 1_000_000;
+            return new PipelineReport(elapsedMs, List.of(fetchStats, parseStats, persistStats),
+                    Collections.unmodifiableMap(counts), Collections.unmodifiableMap(errors));
+        }
+
+        private List<Thread> start(String stage, int parallelism, Runnable loop, CountDownLatch done) {
+            List<Thread> threads = new ArrayList<>();
+            for (int i = 0; i < parallelism; i++) {
+                Thread thread = new Thread(() -> {
+                    try {
+                        loop.run();
+                    } finally {
+                        done.countDown();
+                    }
+                }, "ingest-" + stage + "-" + i);
+                thread.setDaemon(true);
+                thread.start();
+                threads.add(thread);
+            }
+            return threads;
+        }
+
+        // ---- fetch stage: one API call per task ----
+
+        private void fetchLoop() {
+            try {
+                while (activeResearchers.get() > 0) {
+                    FetchTask task = fetchQueue.poll(POLL_MS, TimeUnit.MILLISECONDS);
+                    if (task == null) {
+                        continue;
+                    }
+                    fetchStats.recordIn(1);
+
+                    long begin = System.nanoTime();
+                    RawPage body;
+                    try {
+                        body = apiService.fetchRawPageAsync(task.researcher, task.start, task.num).get();
+                    } catch (ExecutionException e) {
+                        fetchStats.recordFailure();
+                        finishResearcher(task.researcher, "Fetch failed: " + rootMessage(e), task.start);
+                        continue;
+                    } finally {
+                        fetchStats.recordBusy(System.nanoTime() - begin);
+                    }
+
+                    put(parseQueue, new FetchedPage(task, body), fetchStats);
+                    fetchStats.recordOut(1);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        // ---- parse stage: decode, normalize, schedule the next page ----
+
+        private void parseLoop() {
+            try {
+                while (fetchDone.getCount() > 0 || !parseQueue.isEmpty()) {
+                    FetchedPage page = parseQueue.poll(POLL_MS, TimeUnit.MILLISECONDS);
+                    if (page == null) {
+                        continue;
+                    }
+                    parseStats.recordIn(1);
+                    FetchTask task = page.task;
+
+                    long begin = System.nanoTime();
+                    List<Article> articles;
+                    try {
+                        articles = parser.parsePage(
+                                new ByteArrayInputStream(page.body.getBody()), task.researcher, task.start, task.num);
+                        articles.forEach(IngestPipeline::normalize);
+                    } catch (Exception e) {
+                        parseStats.recordFailure();
+                        finishResearcher(task.researcher, "Parse failed: " + rootMessage(e), task.start);
+                        continue;
+                    } finally {
+                        parseStats.recordBusy(System.nanoTime() - begin);
+                    }
+                    // Fetched pages are only cached once they have parsed
+                    apiService.cachePage(page.body);
+
+                    // A full page means there may be more results
+                    int nextStart = task.start + articles.size();
+                    if (articles.size() == task.num && nextStart < maxResults) {
+                        fetchQueue.add(new FetchTask(task.researcher, nextStart,
+                                Math.min(config.getPageSize(), maxResults - nextStart)));
+                    } else {
+                        finishResearcher(task.researcher, null, nextStart);
+                    }
+
+                    for (Article article : articles) {
+                        put(persistQueue, article, parseStats);
+                        parseStats.recordOut(1);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        // ---- persist stage: batched upserts ----
+
+        private void persistLoop() {
+            List<Article> batch = new ArrayList<>(config.getBatchSize());
+            try {
+                while (parseDone.getCount() > 0 || !persistQueue.isEmpty()) {
+                    Article first = persistQueue.poll(POLL_MS, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                    // Take whatever else is already waiting, up to one batch
+                    persistQueue.drainTo(batch, config.getBatchSize() - 1);
+                    persistStats.recordIn(batch.size());
+
+                    long begin = System.nanoTime();
+                    boolean stored = false;
+                    try {
+                        dbManager.insertArticles(batch, config.getBatchSize());
+                        persistStats.recordOut(batch.size());
+                        for (Article article : batch) {
+                            persistedByResearcher.get(article.getResearcherName()).incrementAndGet();
+                        }
+                        persisted.addAndGet(batch.size());
+                        stored = true;
+                    } catch (Exception e) {
+                        persistStats.recordFailure();
+                        String error = "Persist failed: " + rootMessage(e);
+                        for (Article article : batch) {
+                            errors.merge(article.getResearcherName(), error, (a, b) -> a);
+                        }
+                        System.err.println("✗ " + error);
+                        expected.addAndGet(-batch.size());
+                    } finally {
+                        persistStats.recordBusy(System.nanoTime() - begin);
+                    }
+
+                    // The batch is stored either way; a failing listener only loses its notification
+                    if (stored) {
+                        try {
+                            persistListener.accept(List.copyOf(batch));
+                        } catch (RuntimeException e) {
+                            System.err.println("✗ Persist listener failed: " + rootMessage(e));
+                        }
+                    }
+                    reportProgress();
+                    batch.clear();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        /**
+         * Blocks until the downstream queue has room, recording the wait
+         */
+        private <T> void put(BlockingQueue<T> queue, T item, StageStats stats) throws InterruptedException {
+            if (queue.offer(item)) {
+                return;
+            }
+            long begin = System.nanoTime();
+            queue.put(item);
+            stats.recordBlocked(System.nanoTime() - begin);
+        }
+
+        /**
+         * @param found Articles the researcher's crawl produced before it stopped
+         */
+        private void finishResearcher(String researcher, String error, int found) {
+            if (error != null) {
+                errors.put(researcher, error);
+                System.err.println("✗ " + researcher + ": " + error);
+            }
+            expected.addAndGet(found - maxResults);
+            activeResearchers.decrementAndGet();
+            reportProgress();
+        }
+
+        private void reportProgress() {
+            progressListener.accept(new IngestProgress(persisted.get(), expected.get()));
+        }
+    }
+
+    /**
+     * Trims text fields and collapses whitespace picked up from HTML snippets
+     */
+    static void normalize(Article article) {
+        article.setTitle(clean(article.getTitle()));
+        article.setAuthors(clean(article.getAuthors()));
+        article.setAbstractText(clean(article.getAbstractText()));
+        article.setLink(article.getLink() != null ? article.getLink().trim() : null);
+    }
+
+    private static String clean(String value) {
+        return value == null ? null : value.trim().replaceAll("\\s+", " ");
+    }
+
+    private static String rootMessage(Throwable error) {
+        while (error.getCause() != null) {
+            error = error.getCause();
+        }
+        return error.getMessage();
+    }
+
+    /**
+     * One page request for one researcher
+     */
+    private static final class FetchTask {
+        final String researcher;
+        final int start;
+        final int num;
+
+        FetchTask(String researcher, int start, int num) {
+            this.researcher = researcher;
+            this.start = start;
+            this.num = num;
+        }
+    }
+
+    /**
+     * Undecoded response body of a FetchTask
+     */
+    private static final class FetchedPage {
+        final FetchTask task;
+        final RawPage body;
+
+        FetchedPage(FetchTask task, RawPage body) {
+            this.task = task;
+            this.body = body;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package pipeline;
+
+/**
+ * Snapshot of a running ingest: articles stored so far out of those expected
+ * The expected count starts at researchers x maximum results and shrinks
+ * as researchers turn out to have fewer results (or fail), so it reaches
+ * the stored count when the run ends.
+ */
+public class IngestProgress {
+    private final int persisted;
+    private final int expected;
+
+    IngestProgress(int persisted, int expected) {
+        this.persisted = persisted;
+        this.expected = expected;
+    }
+
+    public int getPersisted() { return persisted; }
+    public int getExpected() { return expected; }
+
+    /** Completion from 0 to 100 */
+    public int getPercent() {
+        return expected <= 0 ? 100 : (int) Math.min(100, 100L * persisted / expected);
+    }
+
+    @Override
+    public String toString() {
+        return persisted + "/" + expected + " articles stored";
+    }
+}
@@ -0,0 +1,55 @@
+package pipeline;
+
+/**
+ * Tuning knobs of the ingest pipeline
+ * Parallelism is the number of worker threads per stage; queue capacity
+ * bounds how many items may wait between two stages before the upstream
+ * stage blocks (backpressure).
+ */
+public class PipelineConfig {
+    private int fetchParallelism = 4;
+    private int parseParallelism = 2;
+    private int persistParallelism = 1;
+    private int queueCapacity = 256;
+    private int batchSize = 200;
+    private int pageSize = 20;
+
+    public int getFetchParallelism() { return fetchParallelism; }
+    public void setFetchParallelism(int fetchParallelism) {
+        this.fetchParallelism = positive(fetchParallelism, "fetchParallelism");
+    }
+
+    public int getParseParallelism() { return parseParallelism; }
+    public void setParseParallelism(int parseParallelism) {
+        this.parseParallelism = positive(parseParallelism, "parseParallelism");
+    }
+
+    public int getPersistParallelism() { return persistParallelism; }
+    public void setPersistParallelism(int persistParallelism) {
+        this.persistParallelism = positive(persistParallelism, "persistParallelism");
+    }
+
+    public int getQueueCapacity() { return queueCapacity; }
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = positive(queueCapacity, "queueCapacity");
+    }
+
+    /** Maximum articles written per database batch */
+    public int getBatchSize() { return batchSize; }
+    public void setBatchSize(int batchSize) {
+        this.batchSize = positive(batchSize, "batchSize");
+    }
+
+    /** Results requested per API call (SerpApi allows at most 20) */
+    public int getPageSize() { return pageSize; }
+    public void setPageSize(int pageSize) {
+        this.pageSize = positive(pageSize, "pageSize");
+    }
+
+    private static int positive(int value, String name) {
+        if (value <= 0) {
+            throw new IllegalArgumentException(name + " must be positive");
+        }
+        return value;
+    }
+}
@@ -0,0 +1,48 @@
+package pipeline;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of one pipeline run
+ */
+public class PipelineReport {
+    private final long elapsedMs;
+    private final List<StageStats> stages;
+    private final Map<String, Integer> articlesByResearcher;
+    private final Map<String, String> errorsByResearcher;
+
+    PipelineReport(long elapsedMs, List<StageStats> stages,
+                   Map<String, Integer> articlesByResearcher, Map<String, String> errorsByResearcher) {
+        this.elapsedMs = elapsedMs;
+        this.stages = stages;
+        this.articlesByResearcher = articlesByResearcher;
+        this.errorsByResearcher = errorsByResearcher;
+    }
+
+    public long getElapsedMs() { return elapsedMs; }
+
+    /** Fetch, parse and persist stage counters, in pipeline order */
+    public List<StageStats> getStages() { return stages; }
+
+    /** Articles persisted per researcher */
+    public Map<String, Integer> getArticlesByResearcher() { return articlesByResearcher; }
+
+    /** Researchers whose fetch, parse or database write hit an error */
+    public Map<String, String> getErrorsByResearcher() { return errorsByResearcher; }
+
+    public int getTotalArticles() {
+        return articlesByResearcher.values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    public boolean hasErrors() { return !errorsByResearcher.isEmpty(); }
+
+    @Override
+    public String toString() {
+        StringBuilder out = new StringBuilder("Pipeline finished in " + elapsedMs + " ms");
+        for (StageStats stage : stages) {
+            out.append(String.format("%n  %s - %.1f items/s", stage, stage.getThroughput(elapsedMs)));
+        }
+        return out.toString();
+    }
+}
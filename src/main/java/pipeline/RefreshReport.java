@@ -0,0 +1,51 @@
+package pipeline;
+
+import database.WriteResult;
+import java.util.Map;
+
+/**
+ * Outcome of one citation refresh
+ */
+public class RefreshReport {
+    private final long elapsedMs;
+    private final Map<String, WriteResult> resultsByResearcher;
+    private final Map<String, String> errorsByResearcher;
+
+    RefreshReport(long elapsedMs, Map<String, WriteResult> resultsByResearcher,
+                  Map<String, String> errorsByResearcher) {
+        this.elapsedMs = elapsedMs;
+        this.resultsByResearcher = resultsByResearcher;
+        this.errorsByResearcher = errorsByResearcher;
+    }
+
+    public long getElapsedMs() { return elapsedMs; }
+
+    /** Write counts per refreshed researcher */
+    public Map<String, WriteResult> getResultsByResearcher() { return resultsByResearcher; }
+
+    /** Researchers whose refresh failed */
+    public Map<String, String> getErrorsByResearcher() { return errorsByResearcher; }
+
+    /** Counts summed over all researchers */
+    public WriteResult getTotal() {
+        WriteResult total = new WriteResult(0, 0, 0, 0);
+        for (WriteResult result : resultsByResearcher.values()) {
+            total = total.plus(result);
+        }
+        return total;
+    }
+
+    public boolean hasErrors() { return !errorsByResearcher.isEmpty(); }
+
+    @Override
+    public String toString() {
+        WriteResult total = getTotal();
+        return "Refresh finished in " + elapsedMs + " ms: "
+                + resultsByResearcher.size() + " researchers, "
+                + total.getInserted() + " new, "
+                + total.getUpdated() + " changed, "
+                + total.getUnchanged() + " unchanged, "
+                + total.getCitationChanges() + " citation changes, "
+                + errorsByResearcher.size() + " errors";
+    }
+}
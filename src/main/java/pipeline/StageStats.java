@@ -0,0 +1,53 @@
+package pipeline;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free counters for one pipeline stage
+ */
+public class StageStats {
+    private final String name;
+    private final LongAdder itemsIn = new LongAdder();
+    private final LongAdder itemsOut = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder busyNanos = new LongAdder();
+    private final LongAdder blockedNanos = new LongAdder();
+
+    StageStats(String name) {
+        this.name = name;
+    }
+
+    void recordIn(long count) { itemsIn.add(count); }
+    void recordOut(long count) { itemsOut.add(count); }
+    void recordFailure() { failures.increment(); }
+    void recordBusy(long nanos) { busyNanos.add(nanos); }
+    void recordBlocked(long nanos) { blockedNanos.add(nanos); }
+
+    public String getName() { return name; }
+    public long getItemsIn() { return itemsIn.sum(); }
+    public long getItemsOut() { return itemsOut.sum(); }
+    public long getFailures() { return failures.sum(); }
+
+    /** Time workers spent processing, summed over all workers */
+    public long getBusyMs() { return busyNanos.sum() / 1_000_000; }
+
+    /** Time workers spent waiting for room in the downstream queue (backpressure) */
+    public long getBlockedMs() { return blockedNanos.sum() / 1_000_000; }
+
+    /**
+     * Output items per second of wall-clock time
+     */
+    public double getThroughput(long elapsedMs) {
+        return elapsedMs <= 0 ? 0 : getItemsOut() * 1000.0 / elapsedMs;
+    }
+
+    @Override
+    public String toString() {
+        return name + "{in=" + getItemsIn() +
+                ", out=" + getItemsOut() +
+                ", failures=" + getFailures() +
+                ", busyMs=" + getBusyMs() +
+                ", blockedMs=" + getBlockedMs() +
+                '}';
+    }
+}
@@ -0,0 +1,273 @@
+package ranking;
+
+import authors.IntIntHashMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Citation metrics of all tracked researchers, kept in memory
+ *
+ * Citation counts live in primitive arrays indexed by a slot per
+ * (article, researcher) link; an article harvested for several researchers
+ * has one slot for each, chained together, and counts toward all of them.
+ * Article count, total and recent citations and the i10-index are updated
+ * in O(1) whenever a count changes; the h-index of a researcher is
+ * recomputed on the next read after a change, in O(articles) with a
+ * counting pass instead of a sort. A leaderboard therefore costs no
+ * queries at all. Thread-safe.
+ *
+ * Recent citations are the citations gained since the start of the recent
+ * window, measured against the count recorded at (or first observed
+ * after) the window start.
+ */
+public class RankingEngine {
+
+    public static final int DEFAULT_RECENT_DAYS = 365;
+    private static final int I10_THRESHOLD = 10;
+
+    /**
+     * Leaderboard orders; ties fall through to the next criteria and then the name
+     */
+    public enum Order {
+        H_INDEX(Comparator.comparingInt(ResearcherMetrics::getHIndex).reversed()
+                .thenComparing(Comparator.comparingLong(ResearcherMetrics::getTotalCitations).reversed())),
+        I10_INDEX(Comparator.comparingInt(ResearcherMetrics::getI10Index).reversed()
+                .thenComparing(Comparator.comparingInt(ResearcherMetrics::getHIndex).reversed())),
+        TOTAL_CITATIONS(Comparator.comparingLong(ResearcherMetrics::getTotalCitations).reversed()
+                .thenComparing(Comparator.comparingInt(ResearcherMetrics::getHIndex).reversed())),
+        RECENT_CITATIONS(Comparator.comparingLong(ResearcherMetrics::getRecentCitations).reversed()
+                .thenComparing(Comparator.comparingInt(ResearcherMetrics::getHIndex).reversed()));
+
+        private final Comparator<ResearcherMetrics> comparator;
+
+        Order(Comparator<ResearcherMetrics> comparator) {
+            this.comparator = comparator.thenComparing(ResearcherMetrics::getResearcher);
+        }
+    }
+
+    private final int recentDays;
+
+    // Article ID -> first slot of the article + 1
+    private final IntIntHashMap slotByArticle = new IntIntHashMap(1024);
+    private int[] citations = new int[1024];
+    private int[] baselines = new int[1024];
+    private int[] owners = new int[1024];
+    // Next slot of the same article, or -1
+    private int[] nextSlots = new int[1024];
+    private int slots;
+
+    private final Map<String, Researcher> researchers = new HashMap<>();
+    private final List<Researcher> researchersByIndex = new ArrayList<>();
+
+    /**
+     * @param recentDays Length of the recent citations window
+     */
+    public RankingEngine(int recentDays) {
+        if (recentDays <= 0) {
+            throw new IllegalArgumentException("Recent window must be positive");
+        }
+        this.recentDays = recentDays;
+    }
+
+    public int getRecentDays() { return recentDays; }
+
+    /**
+     * Adds an article with a known window-start count (used when loading)
+     * A known article gets its count updated, and a link to the researcher
+     * if it didn't have one.
+     *
+     * @param articleId Stored article ID
+     * @param researcher Researcher the article is tracked under
+     * @param citedBy Current citation count
+     * @param baseline Citation count at the start of the recent window
+     */
+    public synchronized void add(int articleId, String researcher, int citedBy, int baseline) {
+        int first = slotByArticle.get(articleId) - 1;
+        if (first >= 0) {
+            update(first, citedBy);
+            if (slotOf(first, researcher) >= 0) {
+                return;
+            }
+        }
+
+        Researcher owner = researchers.computeIfAbsent(researcher, name -> {
+            Researcher created = new Researcher(name, researchersByIndex.size());
+            researchersByIndex.add(created);
+            return created;
+        });
+        if (slots == citations.length) {
+            citations = Arrays.copyOf(citations, slots * 2);
+            baselines = Arrays.copyOf(baselines, slots * 2);
+            owners = Arrays.copyOf(owners, slots * 2);
+            nextSlots = Arrays.copyOf(nextSlots, slots * 2);
+        }
+        int slot = slots++;
+        slotByArticle.put(articleId, slot + 1);
+        citations[slot] = citedBy;
+        baselines[slot] = baseline;
+        owners[slot] = owner.index;
+        nextSlots[slot] = first;
+        owner.addSlot(slot);
+
+        owner.totalCitations += citedBy;
+        owner.recentCitations += citedBy - baseline;
+        if (citedBy >= I10_THRESHOLD) {
+            owner.i10Index++;
+        }
+        owner.dirty = true;
+    }
+
+    /**
+     * Records the current citation count of a stored article
+     * New articles start their recent window at this count; a known article
+     * harvested for another researcher is linked to them with the window
+     * start it already has.
+     */
+    public synchronized void record(int articleId, String researcher, int citedBy) {
+        int first = slotByArticle.get(articleId) - 1;
+        if (researcher != null) {
+            add(articleId, researcher, citedBy, first >= 0 ? baselines[first] : citedBy);
+        } else if (first >= 0) {
+            update(first, citedBy);
+        }
+    }
+
+    /**
+     * Whether an article is already counted toward a researcher
+     */
+    public synchronized boolean tracks(int articleId, String researcher) {
+        return slotOf(slotByArticle.get(articleId) - 1, researcher) >= 0;
+    }
+
+    /**
+     * Slot of the researcher's link in an article's chain, or -1
+     */
+    private int slotOf(int first, String researcher) {
+        Researcher owner = researchers.get(researcher);
+        if (owner == null) {
+            return -1;
+        }
+        for (int slot = first; slot >= 0; slot = nextSlots[slot]) {
+            if (owners[slot] == owner.index) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Sets the count of every link of an article
+     */
+    private void update(int first, int citedBy) {
+        for (int slot = first; slot >= 0; slot = nextSlots[slot]) {
+            int previous = citations[slot];
+            if (previous == citedBy) {
+                continue;
+            }
+            Researcher owner = researchersByIndex.get(owners[slot]);
+            citations[slot] = citedBy;
+            owner.totalCitations += citedBy - previous;
+            owner.recentCitations += citedBy - previous;
+            if (previous >= I10_THRESHOLD != citedBy >= I10_THRESHOLD) {
+                owner.i10Index += citedBy >= I10_THRESHOLD ? 1 : -1;
+            }
+            owner.dirty = true;
+        }
+    }
+
+    /**
+     * Metrics of one researcher, or null if nothing is stored for them
+     */
+    public synchronized ResearcherMetrics metrics(String researcher) {
+        Researcher entry = researchers.get(researcher);
+        return entry != null ? entry.snapshot() : null;
+    }
+
+    /**
+     * The n best researchers in the given order
+     */
+    public synchronized List<ResearcherMetrics> top(int n, Order order) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("n must be positive");
+        }
+        List<ResearcherMetrics> all = new ArrayList<>(researchersByIndex.size());
+        for (Researcher researcher : researchersByIndex) {
+            all.add(researcher.snapshot());
+        }
+        all.sort(order.comparator);
+        return all.subList(0, Math.min(n, all.size()));
+    }
+
+    public synchronized int getResearcherCount() {
+        return researchersByIndex.size();
+    }
+
+    public synchronized void clear() {
+        slotByArticle.clear();
+        Arrays.fill(citations, 0, slots, 0);
+        Arrays.fill(baselines, 0, slots, 0);
+        Arrays.fill(owners, 0, slots, 0);
+        Arrays.fill(nextSlots, 0, slots, 0);
+        slots = 0;
+        researchers.clear();
+        researchersByIndex.clear();
+    }
+
+    /**
+     * Running totals of one researcher; guarded by the engine's lock
+     */
+    private final class Researcher {
+        final String name;
+        final int index;
+        int[] articleSlots = new int[16];
+        int articles;
+        long totalCitations;
+        long recentCitations;
+        int i10Index;
+        int hIndex;
+        boolean dirty;
+
+        Researcher(String name, int index) {
+            this.name = name;
+            this.index = index;
+        }
+
+        void addSlot(int slot) {
+            if (articles == articleSlots.length) {
+                articleSlots = Arrays.copyOf(articleSlots, articles * 2);
+            }
+            articleSlots[articles++] = slot;
+        }
+
+        ResearcherMetrics snapshot() {
+            if (dirty) {
+                hIndex = computeHIndex();
+                dirty = false;
+            }
+            return new ResearcherMetrics(name, articles, totalCitations, recentCitations, hIndex, i10Index);
+        }
+
+        /**
+         * Counting pass: counts above the article count can't raise h further,
+         * so they share the top bucket
+         */
+        private int computeHIndex() {
+            int[] atLeast = new int[articles + 1];
+            for (int i = 0; i < articles; i++) {
+                atLeast[Math.min(citations[articleSlots[i]], articles)]++;
+            }
+            int papers = 0;
+            for (int h = articles; h > 0; h--) {
+                papers += atLeast[h];
+                if (papers >= h) {
+                    return h;
+                }
+            }
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package ranking;
+
+/**
+ * Citation metrics of one tracked researcher (snapshot)
+ */
+public class ResearcherMetrics {
+    private final String researcher;
+    private final int articles;
+    private final long totalCitations;
+    private final long recentCitations;
+    private final int hIndex;
+    private final int i10Index;
+
+    public ResearcherMetrics(String researcher, int articles, long totalCitations, long recentCitations,
+                             int hIndex, int i10Index) {
+        this.researcher = researcher;
+        this.articles = articles;
+        this.totalCitations = totalCitations;
+        this.recentCitations = recentCitations;
+        this.hIndex = hIndex;
+        this.i10Index = i10Index;
+    }
+
+    public String getResearcher() { return researcher; }
+    public int getArticles() { return articles; }
+    public long getTotalCitations() { return totalCitations; }
+    /** Citations gained within the engine's recent window */
+    public long getRecentCitations() { return recentCitations; }
+    /** Largest h such that h articles have at least h citations each */
+    public int getHIndex() { return hIndex; }
+    /** Articles with at least 10 citations */
+    public int getI10Index() { return i10Index; }
+
+    @Override
+    public String toString() {
+        return "ResearcherMetrics{" +
+                "researcher='" + researcher + '\'' +
+                ", articles=" + articles +
+                ", h=" + hIndex +
+                ", i10=" + i10Index +
+                ", citations=" + totalCitations +
+                ", recent=" + recentCitations +
+                '}';
+    }
+}
@@ -0,0 +1,14 @@
+package service;
+
+import java.io.IOException;
+
+/**
+ * The API answered, but with an error or a body that isn't a search result
+ * Repeating the same request gets the same answer, so it is never retried
+ */
+public class ApiErrorException extends IOException {
+
+    public ApiErrorException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,103 @@
+package service;
+
+import model.Article;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Iterates over an author's articles page by page, one page ahead
+ * As soon as page N is handed to the consumer the request for page N+1 is
+ * sent, so by the time the consumer reaches the end of N the next page is
+ * usually already there.
+ */
+class ArticlePager implements Iterator<Article>, AutoCloseable {
+
+    private final ScholarAPIService apiService;
+    private final String authorName;
+    private final int pageSize;
+    private final int maxResults;
+    private final boolean revalidate;
+
+    private List<Article> current = Collections.emptyList();
+    private int position;
+    private int nextStart;
+    private int returned;
+    private CompletableFuture<List<Article>> prefetch;
+
+    /**
+     * @param revalidate Request every page from the API instead of the response cache
+     */
+    ArticlePager(ScholarAPIService apiService, String authorName, int pageSize, int maxResults,
+                 boolean revalidate) {
+        this.apiService = apiService;
+        this.authorName = authorName;
+        this.pageSize = pageSize;
+        this.maxResults = maxResults;
+        this.revalidate = revalidate;
+        this.prefetch = maxResults > 0 ? requestNext() : null;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (returned >= maxResults) {
+            return false;
+        }
+        while (position >= current.size()) {
+            if (prefetch == null) {
+                return false;
+            }
+            current = await(prefetch);
+            position = 0;
+
+            // A short page is the last one; otherwise start fetching the following page now
+            boolean lastPage = current.size() < pageSize || nextStart >= maxResults;
+            prefetch = lastPage ? null : requestNext();
+        }
+        return true;
+    }
+
+    @Override
+    public Article next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        returned++;
+        return current.get(position++);
+    }
+
+    private CompletableFuture<List<Article>> requestNext() {
+        int num = Math.min(pageSize, maxResults - nextStart);
+        CompletableFuture<List<Article>> page = apiService.fetchPageAsync(authorName, nextStart, num, revalidate);
+        nextStart += num;
+        return page;
+    }
+
+    private List<Article> await(CompletableFuture<List<Article>> page) {
+        try {
+            return page.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = ScholarAPIService.unwrap(e);
+            throw new CompletionException("Error fetching articles for " + authorName
+                    + ": " + cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * Abandons the page being prefetched, if any
+     */
+    @Override
+    public void close() {
+        if (prefetch != null) {
+            prefetch.cancel(true);
+            prefetch = null;
+        }
+    }
+}
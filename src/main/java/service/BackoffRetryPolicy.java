@@ -0,0 +1,89 @@
+package service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.io.JsonEOFException;
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Exponential backoff with decorrelated jitter
+ * Each wait is drawn uniformly from [base, 3 x previous wait] and capped,
+ * so waits grow roughly exponentially but workers that failed together
+ * spread out instead of retrying in lockstep. A Retry-After from the
+ * server is a lower bound on the wait; if it is longer than the policy is
+ * willing to wait, the request fails right away.
+ */
+public class BackoffRetryPolicy implements RetryPolicy {
+
+    // Defaults: 3 attempts, waits from 1 s up to 30 s, Retry-After honoured up to a minute
+    public static final int DEFAULT_MAX_ATTEMPTS = 3;
+    public static final long DEFAULT_BASE_DELAY_MS = 1000;
+    public static final long DEFAULT_MAX_DELAY_MS = 30_000;
+    public static final long DEFAULT_MAX_RETRY_AFTER_MS = 60_000;
+
+    private final int maxAttempts;
+    private final long baseDelayMillis;
+    private final long maxDelayMillis;
+    private final long maxRetryAfterMillis;
+
+    public BackoffRetryPolicy() {
+        this(DEFAULT_MAX_ATTEMPTS, DEFAULT_BASE_DELAY_MS, DEFAULT_MAX_DELAY_MS, DEFAULT_MAX_RETRY_AFTER_MS);
+    }
+
+    /**
+     * @param maxAttempts Attempts in total, including the first
+     * @param baseDelayMillis Shortest wait between attempts
+     * @param maxDelayMillis Longest jittered wait
+     * @param maxRetryAfterMillis Longest Retry-After that is waited out
+     */
+    public BackoffRetryPolicy(int maxAttempts, long baseDelayMillis, long maxDelayMillis,
+                              long maxRetryAfterMillis) {
+        if (maxAttempts <= 0 || baseDelayMillis <= 0 || maxDelayMillis < baseDelayMillis) {
+            throw new IllegalArgumentException("Invalid retry settings");
+        }
+        this.maxAttempts = maxAttempts;
+        this.baseDelayMillis = baseDelayMillis;
+        this.maxDelayMillis = maxDelayMillis;
+        this.maxRetryAfterMillis = maxRetryAfterMillis;
+    }
+
+    @Override
+    public boolean isRetryable(Throwable error) {
+        if (error instanceof HttpStatusException) {
+            int status = ((HttpStatusException) error).getStatusCode();
+            return status == 408 || status == 429 || status >= 500;
+        }
+        if (error instanceof ApiErrorException) {
+            return false;
+        }
+        if (error instanceof JsonProcessingException) {
+            // A body cut off mid-stream is a network failure; any other JSON error repeats
+            return error instanceof JsonEOFException;
+        }
+        // Connection refused/reset, timeouts, truncated streams
+        return error instanceof IOException;
+    }
+
+    @Override
+    public long retryDelayMillis(int attempt, Throwable error, long previousDelayMillis) {
+        if (attempt >= maxAttempts || !isRetryable(error)) {
+            return -1;
+        }
+
+        long previous = Math.max(previousDelayMillis, baseDelayMillis);
+        long upper = Math.min(maxDelayMillis, previous * 3);
+        long delay = upper > baseDelayMillis
+                ? ThreadLocalRandom.current().nextLong(baseDelayMillis, upper + 1)
+                : baseDelayMillis;
+
+        long retryAfter = error instanceof HttpStatusException
+                ? ((HttpStatusException) error).getRetryAfterMillis()
+                : -1;
+        if (retryAfter > maxRetryAfterMillis) {
+            return -1;
+        }
+        return Math.max(delay, retryAfter);
+    }
+
+    public int getMaxAttempts() { return maxAttempts; }
+}
@@ -0,0 +1,115 @@
+package service;
+
+/**
+ * Circuit breaker for one API endpoint
+ * CLOSED: requests pass; after `failureThreshold` transient failures in a
+ * row the circuit opens. OPEN: requests fail immediately for `openMillis`,
+ * so a degraded API isn't hammered by retries and no quota is spent.
+ * HALF_OPEN: a single trial request is let through; its success closes the
+ * circuit, its failure opens it again.
+ */
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    // Defaults: open after 5 failures in a row, probe again after 30 s
+    public static final int DEFAULT_FAILURE_THRESHOLD = 5;
+    public static final long DEFAULT_OPEN_MS = 30_000;
+
+    private final String name;
+    private final int failureThreshold;
+    private final long openNanos;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAtNanos;
+    private boolean trialInFlight;
+
+    public CircuitBreaker(String name) {
+        this(name, DEFAULT_FAILURE_THRESHOLD, DEFAULT_OPEN_MS);
+    }
+
+    /**
+     * @param name Endpoint, for log messages
+     * @param failureThreshold Consecutive failures that open the circuit
+     * @param openMillis How long requests are refused before a trial
+     */
+    public CircuitBreaker(String name, int failureThreshold, long openMillis) {
+        if (failureThreshold <= 0 || openMillis <= 0) {
+            throw new IllegalArgumentException("Threshold and open time must be positive");
+        }
+        this.name = name;
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openMillis * 1_000_000L;
+    }
+
+    /**
+     * Asks to send a request; every permitted request must be followed by
+     * recordSuccess() or recordFailure()
+     *
+     * @return false if the request must not be sent
+     */
+    public synchronized boolean tryAcquire() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (System.nanoTime() - openedAtNanos < openNanos) {
+                    return false;
+                }
+                state = State.HALF_OPEN;
+                trialInFlight = true;
+                System.out.println("  ↻ Circuit half-open for " + name + ", sending a trial request");
+                return true;
+            default:
+                if (trialInFlight) {
+                    return false;
+                }
+                trialInFlight = true;
+                return true;
+        }
+    }
+
+    /**
+     * Records an answer from the endpoint, including errors that aren't
+     * transient (a 4xx still proves the API is up)
+     */
+    public synchronized void recordSuccess() {
+        if (state != State.CLOSED) {
+            System.out.println("  ✓ Circuit closed for " + name);
+        }
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        trialInFlight = false;
+    }
+
+    /**
+     * Records a transient failure (see RetryPolicy.isRetryable)
+     */
+    public synchronized void recordFailure() {
+        consecutiveFailures++;
+        trialInFlight = false;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            if (state != State.OPEN) {
+                System.err.println("  ✗ Circuit opened for " + name + " after "
+                        + consecutiveFailures + " failures");
+            }
+            state = State.OPEN;
+            openedAtNanos = System.nanoTime();
+        }
+    }
+
+    public synchronized State getState() { return state; }
+
+    /**
+     * Time until an open circuit lets a trial through (0 if not open)
+     */
+    public synchronized long getRemainingOpenMillis() {
+        if (state != State.OPEN) {
+            return 0;
+        }
+        return Math.max(0, (openNanos - (System.nanoTime() - openedAtNanos)) / 1_000_000);
+    }
+
+    public String getName() { return name; }
+}
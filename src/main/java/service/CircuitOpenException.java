@@ -0,0 +1,11 @@
+package service;
+
+/**
+ * Request refused without sending it because the endpoint's circuit is open
+ */
+public class CircuitOpenException extends Exception {
+
+    public CircuitOpenException(String message) {
+        super(message);
+    }
+}
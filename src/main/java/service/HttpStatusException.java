@@ -0,0 +1,23 @@
+package service;
+
+/**
+ * Non-200 response from the API
+ */
+public class HttpStatusException extends Exception {
+
+    private final int statusCode;
+    private final long retryAfterMillis;
+
+    /**
+     * @param statusCode HTTP status
+     * @param retryAfterMillis Wait the server asked for (Retry-After), or -1 if none
+     */
+    public HttpStatusException(int statusCode, long retryAfterMillis, String message) {
+        super(message);
+        this.statusCode = statusCode;
+        this.retryAfterMillis = retryAfterMillis;
+    }
+
+    public int getStatusCode() { return statusCode; }
+    public long getRetryAfterMillis() { return retryAfterMillis; }
+}
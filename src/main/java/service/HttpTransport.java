@@ -0,0 +1,62 @@
+package service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Pluggable HTTP transport used by ScholarAPIService
+ * Implementations send a GET asynchronously and hand back the status,
+ * headers and (already decompressed) body stream
+ */
+public interface HttpTransport {
+
+    /**
+     * Sends a GET request
+     *
+     * @param uri Request URI
+     * @return Response, completed once the status line and headers arrived
+     */
+    CompletableFuture<Response> getAsync(URI uri);
+
+    /**
+     * HTTP response with a streaming body
+     * The caller must close the body
+     */
+    class Response implements AutoCloseable {
+        private final int statusCode;
+        private final Map<String, List<String>> headers;
+        private final InputStream body;
+
+        public Response(int statusCode, Map<String, List<String>> headers, InputStream body) {
+            this.statusCode = statusCode;
+            this.headers = headers;
+            this.body = body;
+        }
+
+        public int getStatusCode() { return statusCode; }
+        public Map<String, List<String>> getHeaders() { return headers; }
+        public InputStream getBody() { return body; }
+
+        /**
+         * First value of a header (case-insensitive), or null
+         */
+        public String getHeader(String name) {
+            for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+                if (header.getKey() != null && header.getKey().equalsIgnoreCase(name)
+                        && !header.getValue().isEmpty()) {
+                    return header.getValue().get(0);
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public void close() throws IOException {
+            body.close();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * HttpTransport built on one shared java.net.http.HttpClient
+ * The client keeps connections alive and reuses them (no TLS handshake per
+ * request), negotiates HTTP/2 when the server supports it, and asks for
+ * gzip-compressed bodies, which are decompressed while streaming.
+ */
+public class JdkHttpTransport implements HttpTransport {
+
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(10);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+
+    // One client for the whole process so all services share its connection pool
+    private static final HttpClient SHARED_CLIENT = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .connectTimeout(CONNECT_TIMEOUT)
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .build();
+
+    private final HttpClient client;
+
+    /**
+     * Transport using the process-wide shared client
+     */
+    public JdkHttpTransport() {
+        this(SHARED_CLIENT);
+    }
+
+    /**
+     * Transport using a caller-configured client (proxy, executor, TLS settings)
+     */
+    public JdkHttpTransport(HttpClient client) {
+        this.client = client;
+    }
+
+    @Override
+    public CompletableFuture<Response> getAsync(URI uri) {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(REQUEST_TIMEOUT)
+                .header("Accept", "application/json")
+                .header("Accept-Encoding", "gzip")
+                .GET()
+                .build();
+
+        return client.sendAsync(request, HttpResponse.BodyHandlers.ofInputStream())
+                .thenApply(response -> new Response(
+                        response.statusCode(),
+                        response.headers().map(),
+                        decode(response)));
+    }
+
+    /**
+     * HttpClient doesn't decompress on its own, so gzip bodies are unwrapped here
+     */
+    private static InputStream decode(HttpResponse<InputStream> response) {
+        String encoding = response.headers().firstValue("Content-Encoding").orElse("");
+        if (!encoding.equalsIgnoreCase("gzip")) {
+            return response.body();
+        }
+        try {
+            return new GZIPInputStream(response.body());
+        } catch (IOException e) {
+            throw new CompletionException(e);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package service;
+
+/**
+ * Token-bucket rate limiter shared by all API requests
+ * The bucket holds up to `capacity` tokens and refills continuously at
+ * `permitsPerSecond`; each request takes one token, waiting if none is left.
+ * Bursts up to the capacity go through immediately, the long-run rate never
+ * exceeds the refill rate.
+ */
+public class RateLimiter {
+
+    private final double capacity;
+    private final double permitsPerSecond;
+
+    private double tokens;
+    private long lastRefillNanos;
+
+    /**
+     * @param capacity Maximum burst size (tokens)
+     * @param permitsPerSecond Refill rate
+     */
+    public RateLimiter(int capacity, double permitsPerSecond) {
+        if (capacity <= 0 || permitsPerSecond <= 0) {
+            throw new IllegalArgumentException("Capacity and rate must be positive");
+        }
+        this.capacity = capacity;
+        this.permitsPerSecond = permitsPerSecond;
+        this.tokens = capacity;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    /**
+     * Takes one token, blocking until one is available
+     */
+    public void acquire() throws InterruptedException {
+        long waitNanos = reserve();
+        if (waitNanos > 0) {
+            Thread.sleep(waitNanos / 1_000_000, (int) (waitNanos % 1_000_000));
+        }
+    }
+
+    /**
+     * Takes one token without blocking
+     *
+     * @return true if a token was available
+     */
+    public synchronized boolean tryAcquire() {
+        refill(System.nanoTime());
+        if (tokens >= 1) {
+            tokens -= 1;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Reserves one token and returns how long the caller must wait before using it
+     * The bucket may go negative, which queues later callers behind this one
+     *
+     * @return Wait time in nanoseconds (0 if a token was available)
+     */
+    public synchronized long reserve() {
+        long now = System.nanoTime();
+        refill(now);
+        tokens -= 1;
+        if (tokens >= 0) {
+            return 0;
+        }
+        return (long) (-tokens / permitsPerSecond * 1_000_000_000L);
+    }
+
+    private void refill(long now) {
+        double elapsedSeconds = (now - lastRefillNanos) / 1_000_000_000.0;
+        tokens = Math.min(capacity, tokens + elapsedSeconds * permitsPerSecond);
+        lastRefillNanos = now;
+    }
+
+    public double getPermitsPerSecond() { return permitsPerSecond; }
+}
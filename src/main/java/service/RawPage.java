@@ -0,0 +1,28 @@
+package service;
+
+/**
+ * Undecoded response body of one page of an author search
+ * Pages fetched from the network aren't cached until the caller has parsed
+ * them and passes them to ScholarAPIService.cachePage().
+ */
+public final class RawPage {
+
+    private final String cacheKey;
+    private final byte[] body;
+    private final boolean fromCache;
+
+    RawPage(String cacheKey, byte[] body, boolean fromCache) {
+        this.cacheKey = cacheKey;
+        this.body = body;
+        this.fromCache = fromCache;
+    }
+
+    public byte[] getBody() { return body; }
+
+    /**
+     * Whether the body was served from the response cache
+     */
+    public boolean isFromCache() { return fromCache; }
+
+    String getCacheKey() { return cacheKey; }
+}
@@ -0,0 +1,119 @@
+package service;
+
+import model.Article;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+
+/**
+ * Harvests articles for many researchers concurrently
+ * Each researcher is searched on its own task; the API quota is enforced
+ * by the rate limiter inside ScholarAPIService, shared by all tasks.
+ * On Java 21+ tasks run on virtual threads, otherwise on a bounded pool.
+ */
+public class ResearcherHarvester implements AutoCloseable {
+
+    private final ScholarAPIService apiService;
+    private final ExecutorService executor;
+    // Caps in-flight searches even when virtual threads make threads free
+    private final Semaphore inFlight;
+
+    /**
+     * @param apiService Service used for every search
+     * @param maxConcurrency Maximum number of researchers searched at the same time
+     */
+    public ResearcherHarvester(ScholarAPIService apiService, int maxConcurrency) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("Concurrency must be positive");
+        }
+        this.apiService = apiService;
+        this.inFlight = new Semaphore(maxConcurrency);
+        this.executor = WorkerExecutors.newWorkerExecutor("harvest-worker", maxConcurrency);
+    }
+
+    /**
+     * Searches all researchers and reports each result as soon as it completes
+     * The listener is called from worker threads, possibly concurrently.
+     * A failed researcher is reported as a result with an error and doesn't
+     * stop the others.
+     *
+     * @param researchers Researcher names
+     * @param maxResults Maximum articles per researcher
+     * @param listener Receives one HarvestResult per researcher, in completion order
+     */
+    public void harvest(List<String> researchers, int maxResults, Consumer<HarvestResult> listener)
+            throws InterruptedException {
+
+        CountDownLatch remaining = new CountDownLatch(researchers.size());
+
+        for (String researcher : researchers) {
+            executor.execute(() -> {
+                try {
+                    listener.accept(search(researcher, maxResults));
+                } catch (RuntimeException e) {
+                    System.err.println("✗ Harvest listener error: " + e.getMessage());
+                } finally {
+                    remaining.countDown();
+                }
+            });
+        }
+
+        remaining.await();
+    }
+
+    private HarvestResult search(String researcher, int maxResults) {
+        long start = System.nanoTime();
+        try {
+            inFlight.acquire();
+            try {
+                List<Article> articles = apiService.searchArticlesByAuthor(researcher, maxResults);
+                return new HarvestResult(researcher, articles, null, elapsedMs(start));
+            } finally {
+                inFlight.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new HarvestResult(researcher, Collections.emptyList(), e, elapsedMs(start));
+        } catch (Exception e) {
+            return new HarvestResult(researcher, Collections.emptyList(), e, elapsedMs(start));
+        }
+    }
+
+    private static long elapsedMs(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    /**
+     * Stops the worker threads
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Outcome of one researcher's search
+     */
+    public static class HarvestResult {
+        private final String researcher;
+        private final List<Article> articles;
+        private final Exception error;
+        private final long elapsedMs;
+
+        public HarvestResult(String researcher, List<Article> articles, Exception error, long elapsedMs) {
+            this.researcher = researcher;
+            this.articles = articles;
+            this.error = error;
+            this.elapsedMs = elapsedMs;
+        }
+
+        public String getResearcher() { return researcher; }
+        public List<Article> getArticles() { return articles; }
+        public Exception getError() { return error; }
+        public long getElapsedMs() { return elapsedMs; }
+        public boolean isSuccess() { return error == null; }
+    }
+}
@@ -0,0 +1,360 @@
+package service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Persistent on-disk cache for API responses
+ * Entries are addressed by a hash of the normalized request parameters
+ * (the API key is never part of the key), stored gzip-compressed, expire
+ * after a TTL, and the least recently used entries are evicted once the
+ * cache grows past its size limit.
+ * Expired entries stay readable for a grace period so callers can serve
+ * them while revalidating in the background (stale-while-revalidate).
+ */
+public class ResponseCache {
+
+    // Parameters that identify the caller rather than the query
+    private static final List<String> EXCLUDED_PARAMS = List.of("api_key", "output");
+    private static final int FORMAT_MAGIC = 0x53434331; // "SCC1"
+    private static final String SUFFIX = ".json.gz";
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final Path directory;
+    private final long maxBytes;
+    private final Duration ttl;
+    private final Duration staleWindow;
+
+    // key -> stored size in bytes, in access order (eldest = least recently used)
+    private final LinkedHashMap<String, Long> index = new LinkedHashMap<>(64, 0.75f, true);
+    private long totalBytes;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong staleHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong stores = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * Opens (or creates) a cache directory and indexes existing entries
+     *
+     * @param directory Where entries are stored
+     * @param maxBytes Total compressed size before LRU eviction starts
+     * @param ttl How long an entry is fresh
+     * @param staleWindow How long after expiry an entry may still be served stale (ZERO disables)
+     */
+    public ResponseCache(Path directory, long maxBytes, Duration ttl, Duration staleWindow) throws IOException {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        this.ttl = ttl;
+        this.staleWindow = staleWindow;
+
+        Files.createDirectories(directory);
+        loadIndex();
+    }
+
+    /**
+     * Rebuilds the LRU index from the files on disk, oldest access first
+     */
+    private void loadIndex() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> entries = files
+                    .filter(p -> p.getFileName().toString().endsWith(SUFFIX))
+                    .sorted(Comparator.comparing(ResponseCache::lastModified))
+                    .collect(Collectors.toList());
+
+            for (Path file : entries) {
+                String name = file.getFileName().toString();
+                long size = Files.size(file);
+                index.put(name.substring(0, name.length() - SUFFIX.length()), size);
+                totalBytes += size;
+            }
+        }
+        evictIfNeeded();
+    }
+
+    private static FileTime lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    /**
+     * Derives the cache key for a request
+     * Parameters are sorted and the API key is dropped, so the same query
+     * maps to the same entry regardless of parameter order or account
+     *
+     * @param params Request query parameters
+     * @return Hex SHA-256 of the normalized parameters
+     */
+    public static String key(Map<String, String> params) {
+        StringBuilder canonical = new StringBuilder();
+        for (Map.Entry<String, String> param : new TreeMap<>(params).entrySet()) {
+            if (EXCLUDED_PARAMS.contains(param.getKey())) {
+                continue;
+            }
+            canonical.append(param.getKey()).append('=')
+                    .append(param.getValue() == null ? "" : param.getValue().trim())
+                    .append('&');
+        }
+
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256")
+                    .digest(canonical.toString().getBytes(StandardCharsets.UTF_8));
+            char[] out = new char[hash.length * 2];
+            for (int i = 0; i < hash.length; i++) {
+                out[i * 2] = HEX[(hash[i] >> 4) & 0xF];
+                out[i * 2 + 1] = HEX[hash[i] & 0xF];
+            }
+            return new String(out);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Looks up an entry
+     *
+     * @param key Cache key from key(params)
+     * @return The cached response, or null on a miss (absent, unreadable, or past the stale window)
+     */
+    public Entry get(String key) {
+        Path file;
+        synchronized (this) {
+            // get (not containsKey) so the hit moves the key to the recent end
+            if (index.get(key) == null) {
+                misses.incrementAndGet();
+                return null;
+            }
+            file = pathFor(key);
+        }
+
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(file))) {
+            if (in.readInt() != FORMAT_MAGIC) {
+                throw new IOException("Unknown cache entry format");
+            }
+            long storedAt = in.readLong();
+            long expiresAt = in.readLong();
+            long now = System.currentTimeMillis();
+
+            if (now >= expiresAt + staleWindow.toMillis()) {
+                remove(key);
+                misses.incrementAndGet();
+                return null;
+            }
+
+            byte[] body = readGzip(in);
+            boolean stale = now >= expiresAt;
+            (stale ? staleHits : hits).incrementAndGet();
+
+            // Persist recency so LRU order survives restarts
+            Files.setLastModifiedTime(file, FileTime.fromMillis(now));
+            return new Entry(body, storedAt, stale);
+        } catch (IOException e) {
+            System.err.println("  ✗ Cache read error: " + e.getMessage());
+            remove(key);
+            misses.incrementAndGet();
+            return null;
+        }
+    }
+
+    /**
+     * Stores a response with the default TTL
+     */
+    public void put(String key, byte[] body) {
+        put(key, body, ttl);
+    }
+
+    /**
+     * Stores a response, replacing any previous entry for the key
+     * Written to a temp file first so readers never see a partial entry;
+     * the temp file is deleted if the write or the move fails
+     *
+     * @param key Cache key from key(params)
+     * @param body Raw (uncompressed) response body
+     * @param entryTtl How long this entry is fresh
+     */
+    public void put(String key, byte[] body, Duration entryTtl) {
+        long now = System.currentTimeMillis();
+        Path file = pathFor(key);
+
+        Path temp = null;
+        try {
+            temp = Files.createTempFile(directory, key, ".tmp");
+            try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(temp))) {
+                out.writeInt(FORMAT_MAGIC);
+                out.writeLong(now);
+                out.writeLong(now + entryTtl.toMillis());
+                try (OutputStream gzip = new GZIPOutputStream(out)) {
+                    gzip.write(body);
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            temp = null;
+
+            long size = Files.size(file);
+            synchronized (this) {
+                Long previous = index.put(key, size);
+                totalBytes += size - (previous != null ? previous : 0);
+                evictIfNeeded();
+            }
+            stores.incrementAndGet();
+        } catch (IOException e) {
+            System.err.println("  ✗ Cache write error: " + e.getMessage());
+        } finally {
+            if (temp != null) {
+                deleteQuietly(temp);
+            }
+        }
+    }
+
+    /**
+     * Deletes least recently used entries until the cache fits its size limit
+     */
+    private synchronized void evictIfNeeded() {
+        Iterator<Map.Entry<String, Long>> eldest = index.entrySet().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<String, Long> entry = eldest.next();
+            eldest.remove();
+            totalBytes -= entry.getValue();
+            evictions.incrementAndGet();
+            deleteQuietly(pathFor(entry.getKey()));
+        }
+    }
+
+    private synchronized void remove(String key) {
+        Long size = index.remove(key);
+        if (size != null) {
+            totalBytes -= size;
+        }
+        deleteQuietly(pathFor(key));
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            System.err.println("  ✗ Cache delete error: " + e.getMessage());
+        }
+    }
+
+    private Path pathFor(String key) {
+        return directory.resolve(key + SUFFIX);
+    }
+
+    private static byte[] readGzip(InputStream in) throws IOException {
+        try (InputStream gzip = new GZIPInputStream(in)) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            gzip.transferTo(out);
+            return out.toByteArray();
+        }
+    }
+
+    public boolean isStaleWhileRevalidate() { return !staleWindow.isZero(); }
+
+    /**
+     * Snapshot of the cache counters
+     * Every hit (fresh or stale) is one API search not spent
+     */
+    public synchronized Stats getStats() {
+        return new Stats(hits.get(), staleHits.get(), misses.get(), stores.get(),
+                evictions.get(), index.size(), totalBytes);
+    }
+
+    /**
+     * A cached response body
+     */
+    public static class Entry {
+        private final byte[] body;
+        private final long storedAt;
+        private final boolean stale;
+
+        Entry(byte[] body, long storedAt, boolean stale) {
+            this.body = body;
+            this.storedAt = storedAt;
+            this.stale = stale;
+        }
+
+        public byte[] getBody() { return body; }
+        public long getStoredAt() { return storedAt; }
+        /** True if the entry is past its TTL but within the stale window */
+        public boolean isStale() { return stale; }
+    }
+
+    /**
+     * Cache counters
+     */
+    public static class Stats {
+        private final long hits;
+        private final long staleHits;
+        private final long misses;
+        private final long stores;
+        private final long evictions;
+        private final int entries;
+        private final long bytes;
+
+        Stats(long hits, long staleHits, long misses, long stores, long evictions, int entries, long bytes) {
+            this.hits = hits;
+            this.staleHits = staleHits;
+            this.misses = misses;
+            this.stores = stores;
+            this.evictions = evictions;
+            this.entries = entries;
+            this.bytes = bytes;
+        }
+
+        public long getHits() { return hits; }
+        public long getStaleHits() { return staleHits; }
+        public long getMisses() { return misses; }
+        public long getStores() { return stores; }
+        public long getEvictions() { return evictions; }
+        public int getEntries() { return entries; }
+        public long getBytes() { return bytes; }
+
+        /** API searches avoided thanks to the cache */
+        public long getQuotaSaved() { return hits + staleHits; }
+
+        public double getHitRatio() {
+            long lookups = hits + staleHits + misses;
+            return lookups == 0 ? 0 : (double) (hits + staleHits) / lookups;
+        }
+
+        @Override
+        public String toString() {
+            return "CacheStats{" +
+                    "hits=" + hits +
+                    ", staleHits=" + staleHits +
+                    ", misses=" + misses +
+                    ", quotaSaved=" + getQuotaSaved() +
+                    ", entries=" + entries +
+                    ", bytes=" + bytes +
+                    ", evictions=" + evictions +
+                    '}';
+        }
+    }
+}
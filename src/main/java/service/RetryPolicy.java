@@ -0,0 +1,24 @@
+package service;
+
+/**
+ * Decides whether and when ScholarAPIService repeats a failed request
+ */
+public interface RetryPolicy {
+
+    /**
+     * Whether the failure is transient (network, timeout, 429, 5xx)
+     * Transient failures are retried and count against the endpoint's
+     * circuit breaker; anything else means the request itself is wrong
+     */
+    boolean isRetryable(Throwable error);
+
+    /**
+     * Wait before the next attempt
+     *
+     * @param attempt Number of the attempt that failed (1 = first)
+     * @param error Why it failed (unwrapped)
+     * @param previousDelayMillis Wait before the failed attempt (0 after the first)
+     * @return Milliseconds to wait, or -1 to give up
+     */
+    long retryDelayMillis(int attempt, Throwable error, long previousDelayMillis);
+}
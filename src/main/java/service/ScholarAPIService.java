@@ -1,33 +1,220 @@
 package service;
 
+import metrics.Counter;
+import metrics.LatencyHistogram;
+import metrics.MetricsRegistry;
 import model.Article;
-import org.json.JSONArray;
-import org.json.JSONObject;
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
-import java.net.HttpURLConnection;
-import java.net.URL;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Service to interact with Google Scholar API
  * Handles HTTP requests, parsing, and error recovery
  */
-public class ScholarAPIService {
+public class ScholarAPIService implements AutoCloseable {
 
     // IMPORTANT: Get free key at https://serpapi.com/
     private static final String SERPAPI_KEY = "API_KEY";
     private static final String BASE_URL = "https://serpapi.com/search.json";
-    private static final int MAX_RETRIES = 3;
-    private static final int RETRY_DELAY_MS = 2000;
+    // Overrides BASE_URL for services created without an explicit URL (e.g. a local stand-in server)
+    public static final String BASE_URL_PROPERTY = "scholar.api.baseUrl";
+    // Largest "num" Google Scholar accepts per request
+    public static final int MAX_PAGE_SIZE = 20;
+
+    // Default quota: bursts of 5 requests, 1 request/second sustained
+    private static final int DEFAULT_BURST = 5;
+    private static final double DEFAULT_REQUESTS_PER_SECOND = 1.0;
+
+    // Response cache defaults: fresh for a day, served stale for up to a week while refreshing
+    private static final String CACHE_DIR = "scholar_cache";
+    private static final long CACHE_MAX_BYTES = 256L * 1024 * 1024;
+    private static final Duration CACHE_TTL = Duration.ofHours(24);
+    private static final Duration CACHE_STALE_WINDOW = Duration.ofDays(7);
+
+    // Request-path metrics, shared by all service instances
+    private static final MetricsRegistry METRICS = MetricsRegistry.getDefault();
+    private static final LatencyHistogram HTTP_LATENCY = METRICS.histogram(
+            "scholar_http_request_seconds", "Time from sending a request until its response headers arrive");
+    private static final LatencyHistogram RESPONSE_READ = METRICS.histogram(
+            "scholar_response_read_seconds", "Time to stream and decode a successful response body");
+    private static final Counter RETRIES = METRICS.counter(
+            "scholar_http_retries_total", "Requests repeated after a failed attempt");
+    private static final Counter BACKOFF_MS = METRICS.counter(
+            "scholar_http_backoff_milliseconds_total", "Time spent waiting between attempts");
+    private static final Counter QUOTA_WAIT_MS = METRICS.counter(
+            "scholar_quota_wait_milliseconds_total", "Time requests waited for the rate limiter");
+    private static final String CACHE_LOOKUPS_HELP = "Response cache lookups by result; hits are API searches saved";
+    private static final Counter CACHE_HITS = METRICS.counter(
+            "scholar_cache_lookups_total", CACHE_LOOKUPS_HELP, "result", "hit");
+    private static final Counter CACHE_STALE_HITS = METRICS.counter(
+            "scholar_cache_lookups_total", CACHE_LOOKUPS_HELP, "result", "stale");
+    private static final Counter CACHE_MISSES = METRICS.counter(
+            "scholar_cache_lookups_total", CACHE_LOOKUPS_HELP, "result", "miss");
+    private static final String SINGLE_FLIGHT_HELP = "Network fetches by whether they joined an identical one in flight";
+    private static final Counter FETCHES_SENT = METRICS.counter(
+            "scholar_single_flight_fetches_total", SINGLE_FLIGHT_HELP, "result", "sent");
+    private static final Counter FETCHES_COALESCED = METRICS.counter(
+            "scholar_single_flight_fetches_total", SINGLE_FLIGHT_HELP, "result", "coalesced");
+    private static final Counter CIRCUIT_REJECTED = METRICS.counter(
+            "scholar_circuit_rejected_total", "Requests refused without sending because the circuit was open");
+    private static final String REQUESTS_HELP = "HTTP requests by response status (error = no response)";
+
+    // One breaker per endpoint for the whole process, so all services see the same API health
+    private static final Map<String, CircuitBreaker> BREAKERS = new ConcurrentHashMap<>();
+
+    private final RateLimiter rateLimiter;
+    private final ResponseCache cache;
+    private final HttpTransport transport;
+    private final String baseUrl;
+    private final RetryPolicy retryPolicy;
+    private final CircuitBreaker circuitBreaker;
+    private final SerpApiResponseParser responseParser = new SerpApiResponseParser();
+
+    // Runs blocking work (body decoding, cache reads) off the HTTP client threads
+    private final ExecutorService ioExecutor = WorkerExecutors.newWorkerExecutor("scholar-io", 0);
+
+    // Concurrent fetches of the same query (including stale-entry refreshes) share one
+    // request; callers get the response body and parse their own copy
+    private final SingleFlight<byte[]> inFlight = new SingleFlight<>();
+
+    /**
+     * Creates a service with the default request rate limit and response cache
+     */
+    public ScholarAPIService() {
+        this(new RateLimiter(DEFAULT_BURST, DEFAULT_REQUESTS_PER_SECOND), openDefaultCache());
+    }
+
+    /**
+     * Creates a service whose requests all draw from the given limiter
+     * Share one limiter between services that use the same API key
+     *
+     * @param rateLimiter Limiter applied to every HTTP request (including retries)
+     * @param cache Response cache, or null to always hit the network
+     */
+    public ScholarAPIService(RateLimiter rateLimiter, ResponseCache cache) {
+        this(rateLimiter, cache, new JdkHttpTransport());
+    }
+
+    /**
+     * Creates a service with a custom HTTP transport
+     *
+     * @param rateLimiter Limiter applied to every HTTP request (including retries)
+     * @param cache Response cache, or null to always hit the network
+     * @param transport Sends the HTTP requests
+     */
+    public ScholarAPIService(RateLimiter rateLimiter, ResponseCache cache, HttpTransport transport) {
+        this(rateLimiter, cache, transport, System.getProperty(BASE_URL_PROPERTY, BASE_URL));
+    }
+
+    /**
+     * Creates a service that sends its searches to another endpoint
+     *
+     * @param rateLimiter Limiter applied to every HTTP request (including retries)
+     * @param cache Response cache, or null to always hit the network
+     * @param transport Sends the HTTP requests
+     * @param baseUrl URL of the search.json endpoint
+     */
+    public ScholarAPIService(RateLimiter rateLimiter, ResponseCache cache, HttpTransport transport,
+                             String baseUrl) {
+        this(rateLimiter, cache, transport, baseUrl, new BackoffRetryPolicy());
+    }
+
+    /**
+     * Creates a service with a custom retry policy
+     *
+     * @param rateLimiter Limiter applied to every HTTP request (including retries)
+     * @param cache Response cache, or null to always hit the network
+     * @param transport Sends the HTTP requests
+     * @param baseUrl URL of the search.json endpoint
+     * @param retryPolicy Decides which failures are retried and how long to wait
+     */
+    public ScholarAPIService(RateLimiter rateLimiter, ResponseCache cache, HttpTransport transport,
+                             String baseUrl, RetryPolicy retryPolicy) {
+        this.rateLimiter = rateLimiter;
+        this.cache = cache;
+        this.transport = transport;
+        this.baseUrl = baseUrl;
+        this.retryPolicy = retryPolicy;
+        this.circuitBreaker = BREAKERS.computeIfAbsent(baseUrl, ScholarAPIService::newCircuitBreaker);
+    }
+
+    private static CircuitBreaker newCircuitBreaker(String endpoint) {
+        CircuitBreaker breaker = new CircuitBreaker(endpoint);
+        METRICS.gauge("scholar_circuit_open", "1 while requests to the endpoint are refused",
+                () -> breaker.getState() == CircuitBreaker.State.OPEN ? 1 : 0, "endpoint", endpoint);
+        return breaker;
+    }
+
+    /**
+     * Opens the default on-disk cache; runs without cache if the directory is unusable
+     */
+    private static ResponseCache openDefaultCache() {
+        try {
+            return new ResponseCache(Paths.get(CACHE_DIR), CACHE_MAX_BYTES, CACHE_TTL, CACHE_STALE_WINDOW);
+        } catch (IOException e) {
+            System.err.println("✗ Response cache disabled: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Returns cache counters (hits = API searches saved), or null if caching is off
+     */
+    public ResponseCache.Stats getCacheStats() {
+        return cache != null ? cache.getStats() : null;
+    }
+
+    /**
+     * Returns counters of requests sent vs. joined to an identical one in flight
+     */
+    public SingleFlight.Stats getSingleFlightStats() {
+        return inFlight.getStats();
+    }
+
+    /**
+     * Stops the I/O worker threads
+     * Call once the service's fetches are done; pending ones never complete
+     */
+    @Override
+    public void close() {
+        ioExecutor.shutdownNow();
+    }
 
     /**
      * Searches for articles by author name in Google Scholar
      * Implements retry logic for network failures
+     * Blocks until the search finishes; see searchArticlesByAuthorAsync
      *
      * @param authorName Name of the researcher
      * @param maxResults Maximum number of articles to retrieve
@@ -36,152 +223,465 @@ public class ScholarAPIService {
     public List<Article> searchArticlesByAuthor(String authorName, int maxResults)
             throws Exception {
 
-        List<Article> articles = new ArrayList<>();
+        try {
+            return searchArticlesByAuthorAsync(authorName, maxResults).get();
+        } catch (ExecutionException e) {
+            Throwable cause = unwrap(e);
+            if (cause instanceof IllegalArgumentException) {
+                throw (IllegalArgumentException) cause;
+            }
+            throw new Exception("Error querying Google Scholar API: " + cause.getMessage(), cause);
+        }
+    }
 
+    /**
+     * Searches for articles by author name without blocking the caller
+     * Cache lookup, rate limiting, retries and response decoding all happen
+     * asynchronously; the future fails if every attempt failed
+     *
+     * @param authorName Name of the researcher
+     * @param maxResults Maximum number of articles to retrieve
+     * @return Future list of found articles
+     */
+    public CompletableFuture<List<Article>> searchArticlesByAuthorAsync(String authorName, int maxResults) {
         if (authorName == null || authorName.trim().isEmpty()) {
-            throw new IllegalArgumentException("Researcher name cannot be empty");
+            return CompletableFuture.failedFuture(
+                    new IllegalArgumentException("Researcher name cannot be empty"));
         }
 
         System.out.println("\n🔍 Searching articles for: " + authorName);
 
-        try {
-            // Build search URL with encoded query
-            String query = URLEncoder.encode(authorName, StandardCharsets.UTF_8);
-            String urlString = String.format(
-                    "%s?engine=google_scholar&q=%s&api_key=%s&num=%d",
-                    BASE_URL, query, SERPAPI_KEY, maxResults
-            );
+        return fetchPageAsync(authorName, 0, maxResults)
+                .whenComplete((articles, error) -> {
+                    if (error != null) {
+                        System.err.println("✗ Search error: " + unwrap(error).getMessage());
+                        return;
+                    }
+                    for (Article article : articles) {
+                        System.out.println("  ✓ Article found: " + article.getTitle());
+                    }
+                    System.out.println("✓ Total articles found: " + articles.size());
+                });
+    }
 
-            // Make request with retry logic
-            JSONObject response = makeRequestWithRetry(urlString);
+    /**
+     * Streams all articles of an author across result pages
+     * Pages are requested lazily through SerpApi's "start" offset. While the
+     * caller consumes one page, the next is already being fetched; the stream
+     * ends at the last page, after maxResults articles, or when the caller
+     * stops pulling (e.g. limit/findFirst). Close the stream to cancel any
+     * pending prefetch.
+     *
+     * @param authorName Name of the researcher
+     * @param maxResults Upper bound on articles (no page beyond it is requested)
+     * @return Lazy stream of articles in result order
+     */
+    public Stream<Article> streamArticlesByAuthor(String authorName, int maxResults) {
+        return streamArticlesByAuthor(authorName, maxResults, false);
+    }
 
-            // Parse results
-            if (response.has("organic_results")) {
-                JSONArray results = response.getJSONArray("organic_results");
+    /**
+     * Streams all articles of an author, optionally bypassing the response cache
+     * Revalidating streams always ask the API and store the fresh pages in
+     * the cache, so callers that compare against stored data (citation
+     * refreshes) never see a cached, possibly week-old response.
+     *
+     * @param authorName Name of the researcher
+     * @param maxResults Upper bound on articles (no page beyond it is requested)
+     * @param revalidate Request every page from the API instead of the cache
+     * @return Lazy stream of articles in result order
+     */
+    public Stream<Article> streamArticlesByAuthor(String authorName, int maxResults, boolean revalidate) {
+        if (authorName == null || authorName.trim().isEmpty()) {
+            throw new IllegalArgumentException("Researcher name cannot be empty");
+        }
 
-                for (int i = 0; i < Math.min(results.length(), maxResults); i++) {
-                    JSONObject item = results.getJSONObject(i);
-                    Article article = parseArticle(item, authorName);
-                    articles.add(article);
+        ArticlePager pager = new ArticlePager(this, authorName, MAX_PAGE_SIZE, maxResults, revalidate);
+        return StreamSupport.stream(
+                        Spliterators.spliteratorUnknownSize(pager, Spliterator.ORDERED | Spliterator.NONNULL),
+                        false)
+                .onClose(pager::close);
+    }
 
-                    System.out.println("  ✓ Article found: " + article.getTitle());
+    /**
+     * Fetches one page of an author search
+     *
+     * @param authorName Name of the researcher
+     * @param start Offset of the first result (0 for the first page)
+     * @param num Results per page (SerpApi returns at most 20)
+     * @return Future list of the page's articles (fewer than num on the last page)
+     */
+    public CompletableFuture<List<Article>> fetchPageAsync(String authorName, int start, int num) {
+        return fetchPageAsync(authorName, start, num, false);
+    }
 
-                    // Small pause to avoid saturating API
-                    Thread.sleep(500);
-                }
-            }
+    /**
+     * Fetches one page of an author search, optionally bypassing the response cache
+     *
+     * @param revalidate Request the page from the API even if it is cached
+     */
+    public CompletableFuture<List<Article>> fetchPageAsync(String authorName, int start, int num,
+                                                           boolean revalidate) {
+        // Served from cache when possible, otherwise requested with retry logic;
+        // results are decoded while the body streams in
+        return fetchResponseAsync(pageParams(authorName, start, num),
+                body -> responseParser.parsePage(body, authorName, start, num), revalidate);
+    }
 
-            System.out.println("✓ Total articles found: " + articles.size());
+    /**
+     * Fetches one page of an author search without decoding it
+     * For callers that parse in a separate step (see SerpApiResponseParser).
+     * A body from the network is only cached once the caller has parsed it
+     * and passed the page to cachePage(), so an API error page is never
+     * cached and no body is decoded twice. Stale cached pages are refreshed
+     * in the background as usual.
+     *
+     * @param authorName Name of the researcher
+     * @param start Offset of the first result (0 for the first page)
+     * @param num Results per page (SerpApi returns at most 20)
+     * @return Future raw JSON response body
+     */
+    public CompletableFuture<RawPage> fetchRawPageAsync(String authorName, int start, int num) {
+        Map<String, String> params = pageParams(authorName, start, num);
+        String key = ResponseCache.key(params);
+        CompletableFuture<ResponseCache.Entry> lookup = cache == null
+                ? CompletableFuture.completedFuture(null)
+                : lookupCached(key, params, body -> responseParser.parsePage(body, authorName, start, num));
+        return lookup.thenCompose(cached -> cached != null
+                ? CompletableFuture.completedFuture(new RawPage(key, cached.getBody(), true))
+                : fetchCoalesced(key, params, InputStream::readAllBytes, false)
+                        .thenApply(body -> new RawPage(key, body, false)));
+    }
 
-        } catch (Exception e) {
-            System.err.println("✗ Search error: " + e.getMessage());
-            throw new Exception("Error querying Google Scholar API: " + e.getMessage(), e);
+    /**
+     * Caches a page from fetchRawPageAsync() after the caller has parsed it
+     * Pages that came from the cache are left alone.
+     */
+    public void cachePage(RawPage page) {
+        if (cache != null && !page.isFromCache()) {
+            cache.put(page.getCacheKey(), page.getBody());
         }
+    }
 
-        return articles;
+    /**
+     * Search parameters for one page (the API key is added when the URL is built)
+     */
+    private static Map<String, String> pageParams(String authorName, int start, int num) {
+        Map<String, String> params = new LinkedHashMap<>();
+        params.put("engine", "google_scholar");
+        params.put("q", authorName);
+        params.put("num", String.valueOf(num));
+        if (start > 0) {
+            params.put("start", String.valueOf(start));
+        }
+        return params;
     }
 
     /**
-     * Makes HTTP request with automatic retry on failure
-     * Implements exponential backoff strategy
-     *
-     * @param urlString URL to request
-     * @return JSON response
-     */
-    private JSONObject makeRequestWithRetry(String urlString) throws Exception {
-        Exception lastException = null;
-
-        // Retry loop
-        for (int attempt = 1; attempt <= MAX_RETRIES; attempt++) {
-            try {
-                URL url = new URL(urlString);
-                HttpURLConnection conn = (HttpURLConnection) url.openConnection();
-                conn.setRequestMethod("GET");
-                conn.setConnectTimeout(10000); // 10 seconds
-                conn.setReadTimeout(10000);
-
-                int responseCode = conn.getResponseCode();
-
-                if (responseCode == 200) {
-                    // Success - read response
-                    BufferedReader in = new BufferedReader(
-                            new InputStreamReader(conn.getInputStream())
-                    );
-                    StringBuilder content = new StringBuilder();
-                    String line;
-
-                    while ((line = in.readLine()) != null) {
-                        content.append(line);
+     * Fetches and parses a response, using the cache when possible
+     * Fresh entries are returned directly. Stale entries are returned too,
+     * and a background request refreshes them for the next caller.
+     * Only bodies that parse successfully are cached.
+     *
+     * @param params Query parameters (without API key)
+     * @param parser Decodes the response body stream
+     * @param revalidate Skip the cache lookup; the response still replaces the cached one
+     * @return Future parsed response
+     */
+    private <T> CompletableFuture<T> fetchResponseAsync(Map<String, String> params, BodyParser<T> parser,
+                                                        boolean revalidate) {
+        String key = ResponseCache.key(params);
+        if (cache == null || revalidate) {
+            return fetchCoalesced(key, params, parser);
+        }
+
+        return lookupCached(key, params, parser)
+                .thenCompose(cached -> {
+                    if (cached != null) {
+                        return CompletableFuture.supplyAsync(
+                                () -> parse(parser, new ByteArrayInputStream(cached.getBody())), ioExecutor);
+                    }
+                    return fetchCoalesced(key, params, parser);
+                });
+    }
+
+    /**
+     * Looks a response up in the cache, starting a background refresh if it is stale
+     *
+     * @param parser Decodes the refreshed body; only a body that parses replaces the entry
+     * @return Future cached entry, or null on a miss
+     */
+    private CompletableFuture<ResponseCache.Entry> lookupCached(String key, Map<String, String> params,
+                                                                BodyParser<?> parser) {
+        // Cache reads touch the disk, so they run on the I/O executor too
+        return CompletableFuture.supplyAsync(() -> cache.get(key), ioExecutor)
+                .thenApply(cached -> {
+                    (cached == null ? CACHE_MISSES : cached.isStale() ? CACHE_STALE_HITS : CACHE_HITS).increment();
+                    if (cached != null) {
+                        if (cached.isStale()) {
+                            revalidateInBackground(key, params, parser);
+                        }
+                        System.out.println("  ✓ Served from cache" + (cached.isStale() ? " (stale)" : ""));
                     }
+                    return cached;
+                });
+    }
 
-                    in.close();
-                    conn.disconnect();
+    /**
+     * Fetches from the network unless an identical fetch is already in flight
+     * The caller that starts the request decodes the body while it streams
+     * in (and caches it); callers that join get their own decode of the
+     * same bytes, since parsed results (e.g. articles) are mutable.
+     *
+     * @param key Normalized request key (ResponseCache.key)
+     */
+    private <T> CompletableFuture<T> fetchCoalesced(String key, Map<String, String> params, BodyParser<T> parser) {
+        return fetchCoalesced(key, params, parser, true);
+    }
 
-                    return new JSONObject(content.toString());
+    /**
+     * @param cacheable Whether a body the parser accepted may be cached; false
+     *                  when the parser doesn't validate it
+     */
+    private <T> CompletableFuture<T> fetchCoalesced(String key, Map<String, String> params, BodyParser<T> parser,
+                                                    boolean cacheable) {
+        AtomicReference<T> ownResult = new AtomicReference<>();
+        AtomicBoolean sent = new AtomicBoolean();
+        CompletableFuture<byte[]> body = inFlight.execute(key, () -> {
+            sent.set(true);
+            ByteArrayOutputStream copy = new ByteArrayOutputStream();
+            return makeRequestWithRetry(params, capturing(parser, copy))
+                    .thenApply(parsed -> {
+                        ownResult.set(parsed);
+                        byte[] bytes = copy.toByteArray();
+                        if (cache != null && cacheable) {
+                            cache.put(key, bytes);
+                        }
+                        return bytes;
+                    });
+        });
+        (sent.get() ? FETCHES_SENT : FETCHES_COALESCED).increment();
+
+        return body.thenApplyAsync(bytes -> {
+            T own = ownResult.get();
+            return own != null ? own : parse(parser, new ByteArrayInputStream(bytes));
+        }, ioExecutor);
+    }
 
-                } else if (responseCode == 429) {
-                    throw new Exception("API rate limit reached. Wait a moment.");
-                } else {
-                    throw new Exception("HTTP Error: " + responseCode);
+    /**
+     * Wraps a parser so the bytes it reads are also copied into a buffer
+     * The rest of the body is drained after parsing, because the parser may
+     * stop early but the cache needs the complete response
+     */
+    private static <T> BodyParser<T> capturing(BodyParser<T> parser, ByteArrayOutputStream copy) {
+        return in -> {
+            copy.reset(); // a retry starts a new body
+            InputStream tee = new FilterInputStream(in) {
+                @Override
+                public int read() throws IOException {
+                    int b = super.read();
+                    if (b >= 0) {
+                        copy.write(b);
+                    }
+                    return b;
                 }
 
-            } catch (Exception e) {
-                lastException = e;
-                System.err.println("  Attempt " + attempt + " failed: " + e.getMessage());
-
-                // Wait before retry (exponential backoff)
-                if (attempt < MAX_RETRIES) {
-                    Thread.sleep(RETRY_DELAY_MS * attempt);
+                @Override
+                public int read(byte[] buffer, int offset, int length) throws IOException {
+                    int n = super.read(buffer, offset, length);
+                    if (n > 0) {
+                        copy.write(buffer, offset, n);
+                    }
+                    return n;
                 }
-            }
-        }
+            };
+            T parsed = parser.parse(tee);
+            tee.transferTo(OutputStream.nullOutputStream());
+            return parsed;
+        };
+    }
+
+    /**
+     * Refreshes a stale cache entry without making the caller wait
+     * Joins a fetch of the same query that is already in flight
+     */
+    private void revalidateInBackground(String key, Map<String, String> params, BodyParser<?> parser) {
+        fetchCoalesced(key, params, parser)
+                .whenComplete((parsed, error) -> {
+                    if (error != null) {
+                        System.err.println("  ✗ Cache revalidation failed: " + unwrap(error).getMessage());
+                    }
+                });
+    }
 
-        throw new Exception("Failed after " + MAX_RETRIES + " attempts", lastException);
+    /**
+     * Builds the request URI, adding the API key
+     */
+    private URI buildUri(Map<String, String> params) {
+        StringBuilder url = new StringBuilder(baseUrl).append('?');
+        for (Map.Entry<String, String> param : params.entrySet()) {
+            url.append(param.getKey()).append('=')
+                    .append(URLEncoder.encode(param.getValue(), StandardCharsets.UTF_8))
+                    .append('&');
+        }
+        return URI.create(url.append("api_key=").append(SERPAPI_KEY).toString());
     }
 
     /**
-     * Parses a JSON article object into Article model
-     * Extracts relevant fields from API response
+     * Makes HTTP request with automatic retry on failure
+     * The body is handed to the parser as a stream; a body that fails to
+     * parse counts as a failed attempt. The retry policy decides which
+     * failures are repeated and how long to wait (jittered backoff, at least
+     * the server's Retry-After). Transient failures also feed the endpoint's
+     * circuit breaker; while it is open, attempts fail without being sent
+     * or using quota. Waits (rate limit, backoff) are scheduled with delayed
+     * executors, so no thread is blocked meanwhile.
      *
-     * @param item JSON object from API
-     * @param researcherName Name of researcher
-     * @return Parsed Article object
+     * @param params Query parameters (without API key)
+     * @param parser Decodes the response body stream
+     * @return Future parsed response
      */
-    private Article parseArticle(JSONObject item, String researcherName) {
-        Article article = new Article();
-
-        article.setTitle(item.optString("title", "No title"));
-        article.setResearcherName(researcherName);
+    private <T> CompletableFuture<T> makeRequestWithRetry(Map<String, String> params, BodyParser<T> parser) {
+        return attempt(buildUri(params), parser, 1, 0);
+    }
 
-        // Authors
-        if (item.has("publication_info")) {
-            JSONObject pubInfo = item.getJSONObject("publication_info");
-            article.setAuthors(pubInfo.optString("authors", ""));
+    private <T> CompletableFuture<T> attempt(URI uri, BodyParser<T> parser, int attempt, long previousDelayMs) {
+        if (!circuitBreaker.tryAcquire()) {
+            CIRCUIT_REJECTED.increment();
+            return CompletableFuture.failedFuture(new CircuitOpenException(
+                    "API unavailable (circuit open), next try in "
+                            + circuitBreaker.getRemainingOpenMillis() / 1000 + " s"));
         }
 
-        // Abstract/Snippet
-        article.setAbstractText(item.optString("snippet", ""));
+        // Throttle requests (not parsed results) to stay within the API quota
+        long waitNanos = rateLimiter.reserve();
+        QUOTA_WAIT_MS.add(waitNanos / 1_000_000);
+        Executor afterQuota = waitNanos > 0
+                ? CompletableFuture.delayedExecutor(waitNanos, TimeUnit.NANOSECONDS, ioExecutor)
+                : ioExecutor;
+
+        return CompletableFuture.supplyAsync(() -> uri, afterQuota)
+                .thenCompose(this::send)
+                // Decoding reads a blocking stream, so it gets an I/O thread
+                .thenApplyAsync(response -> handleResponse(response, parser), ioExecutor)
+                .handle((parsed, error) -> {
+                    if (error == null) {
+                        circuitBreaker.recordSuccess();
+                        return CompletableFuture.completedFuture(parsed);
+                    }
+                    Throwable cause = unwrap(error);
+                    System.err.println("  Attempt " + attempt + " failed: " + cause.getMessage());
 
-        // Link
-        article.setLink(item.optString("link", ""));
+                    if (retryPolicy.isRetryable(cause)) {
+                        circuitBreaker.recordFailure();
+                    } else {
+                        circuitBreaker.recordSuccess();
+                    }
+
+                    long delayMs = retryPolicy.retryDelayMillis(attempt, cause, previousDelayMs);
+                    if (delayMs < 0) {
+                        return CompletableFuture.<T>failedFuture(
+                                new Exception("Failed after " + attempt + " attempts", cause));
+                    }
+                    RETRIES.increment();
+                    BACKOFF_MS.add(delayMs);
+                    // Wait before retry (jittered, so workers don't retry in lockstep)
+                    Executor afterBackoff = CompletableFuture.delayedExecutor(
+                            delayMs, TimeUnit.MILLISECONDS, ioExecutor);
+                    return CompletableFuture.supplyAsync(() -> null, afterBackoff)
+                            .thenCompose(ignored -> this.<T>attempt(uri, parser, attempt + 1, delayMs));
+                })
+                .thenCompose(Function.identity());
+    }
+
+    /**
+     * Sends one request, timing it until the response headers arrive
+     */
+    private CompletableFuture<HttpTransport.Response> send(URI uri) {
+        long sent = System.nanoTime();
+        return transport.getAsync(uri).whenComplete((response, error) -> {
+            HTTP_LATENCY.recordSince(sent);
+            if (error != null) {
+                METRICS.counter("scholar_http_requests_total", REQUESTS_HELP, "status", "error").increment();
+            }
+        });
+    }
+
+    /**
+     * Checks the status code and decodes a successful body
+     */
+    private static <T> T handleResponse(HttpTransport.Response response, BodyParser<T> parser) {
+        try (response) {
+            int responseCode = response.getStatusCode();
+            METRICS.counter("scholar_http_requests_total", REQUESTS_HELP,
+                    "status", String.valueOf(responseCode)).increment();
+
+            if (responseCode == 200) {
+                // Success - read response
+                long start = System.nanoTime();
+                T parsed = parser.parse(response.getBody());
+                RESPONSE_READ.recordSince(start);
+                return parsed;
+            }
+            long retryAfterMs = parseRetryAfter(response.getHeader("Retry-After"));
+            if (responseCode == 429) {
+                throw new CompletionException(new HttpStatusException(responseCode, retryAfterMs,
+                        "API rate limit reached. Wait a moment."));
+            }
+            throw new CompletionException(new HttpStatusException(responseCode, retryAfterMs,
+                    "HTTP Error: " + responseCode));
+        } catch (IOException e) {
+            throw new CompletionException(e);
+        }
+    }
 
-        // Citations
-        if (item.has("inline_links") &&
-                item.getJSONObject("inline_links").has("cited_by")) {
-            JSONObject citedBy = item.getJSONObject("inline_links").getJSONObject("cited_by");
-            article.setCitedBy(citedBy.optInt("total", 0));
+    /**
+     * Retry-After as milliseconds from now; it is either delta-seconds or an HTTP date
+     *
+     * @return Wait, or -1 if the header is missing or unreadable
+     */
+    static long parseRetryAfter(String value) {
+        if (value == null || value.isBlank()) {
+            return -1;
         }
+        try {
+            return Math.max(0, Long.parseLong(value.trim()) * 1000);
+        } catch (NumberFormatException e) {
+            // Not a number: try the date form
+        }
+        try {
+            ZonedDateTime at = ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+            return Math.max(0, Duration.between(ZonedDateTime.now(at.getZone()), at).toMillis());
+        } catch (DateTimeParseException e) {
+            return -1;
+        }
+    }
 
-        // Publication date (approximate)
-        article.setPublicationDate(LocalDate.now());
+    private static <T> T parse(BodyParser<T> parser, InputStream body) {
+        try {
+            return parser.parse(body);
+        } catch (IOException e) {
+            throw new CompletionException(e);
+        }
+    }
 
-        // Keywords (extract from snippet if possible)
-        String snippet = article.getAbstractText();
-        if (snippet.length() > 50) {
-            article.setKeywords(snippet.substring(0, 50) + "...");
+    /**
+     * Strips the CompletionException/ExecutionException wrappers futures add
+     */
+    static Throwable unwrap(Throwable error) {
+        while ((error instanceof CompletionException || error instanceof ExecutionException)
+                && error.getCause() != null) {
+            error = error.getCause();
         }
+        return error;
+    }
 
-        return article;
+    /**
+     * Decodes a response body stream
+     */
+    @FunctionalInterface
+    private interface BodyParser<T> {
+        T parse(InputStream body) throws IOException;
     }
 
     /**
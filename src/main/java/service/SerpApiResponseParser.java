@@ -0,0 +1,285 @@
+package service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import metrics.LatencyHistogram;
+import metrics.MetricsRegistry;
+import model.Article;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Streaming decoder for SerpApi Google Scholar responses
+ * Reads organic_results token by token straight from the response stream
+ * into Article objects; fields we don't store are skipped without being
+ * materialized, and parsing stops once enough results have been read.
+ * The encoding is detected from the bytes (UTF-8 for SerpApi), never taken
+ * from the platform default.
+ */
+public class SerpApiResponseParser {
+
+    // Thread-safe and reusable; creating one per response is comparatively costly
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    // Trailing year of the summary's middle part ("Physical review, 1935", or just "1935")
+    private static final Pattern SOURCE_YEAR = Pattern.compile("(?:^|,\\s*)((?:19|20)\\d{2})$");
+
+    // SerpApi's "error" for a search without (further) results, e.g. a page past the last one
+    private static final String NO_RESULTS_ERROR = "hasn't returned any results";
+
+    // Includes waiting for body bytes when parsing straight from the network
+    private static final LatencyHistogram PARSE_TIME = MetricsRegistry.getDefault().histogram(
+            "scholar_parse_seconds", "Time to decode the results of one response");
+
+    /**
+     * Parses up to maxResults articles from a search response
+     *
+     * @param in Response body (not closed by this method)
+     * @param researcherName Researcher the results are attributed to
+     * @param maxResults Maximum number of articles to read
+     * @return Parsed articles, in result order
+     * @throws IOException If the body is not valid JSON or the API returned an error
+     */
+    public List<Article> parseOrganicResults(InputStream in, String researcherName, int maxResults)
+            throws IOException {
+
+        return parsePage(in, researcherName, 0, maxResults);
+    }
+
+    /**
+     * Parses one page of a paged search
+     * A page after the first that the API answers with "no results" is the
+     * end of the search, not an error, and comes back empty. Other API
+     * errors (invalid key, exhausted quota) still throw.
+     *
+     * @param in Response body (not closed by this method)
+     * @param researcherName Researcher the results are attributed to
+     * @param start Offset of the page's first result
+     * @param maxResults Maximum number of articles to read
+     * @return Parsed articles, in result order
+     * @throws IOException If the body is not valid JSON or the API returned an error
+     */
+    public List<Article> parsePage(InputStream in, String researcherName, int start, int maxResults)
+            throws IOException {
+
+        long begin = System.nanoTime();
+        try {
+            return readOrganicResults(in, researcherName, maxResults, start > 0);
+        } finally {
+            PARSE_TIME.recordSince(begin);
+        }
+    }
+
+    private List<Article> readOrganicResults(InputStream in, String researcherName, int maxResults,
+                                             boolean continuation) throws IOException {
+
+        List<Article> articles = new ArrayList<>(Math.min(maxResults, 100));
+        String apiError = null;
+
+        try (JsonParser parser = JSON_FACTORY.createParser(in)) {
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new ApiErrorException("Expected a JSON object in API response");
+            }
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+
+                if ("organic_results".equals(field) && value == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        if (articles.size() >= maxResults) {
+                            // Enough results: nothing after this point is needed
+                            return articles;
+                        }
+                        articles.add(readArticle(parser, researcherName));
+                    }
+                } else if ("error".equals(field) && value == JsonToken.VALUE_STRING) {
+                    apiError = parser.getText();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+
+        if (articles.isEmpty() && apiError != null) {
+            if (continuation && apiError.contains(NO_RESULTS_ERROR)) {
+                return articles;
+            }
+            throw new ApiErrorException("API error: " + apiError);
+        }
+        return articles;
+    }
+
+    /**
+     * Reads one organic result; the parser is positioned on its START_OBJECT
+     */
+    private Article readArticle(JsonParser parser, String researcherName) throws IOException {
+        Article article = new Article();
+        article.setTitle("No title");
+        article.setResearcherName(researcherName);
+        article.setAbstractText("");
+        article.setLink("");
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+
+            switch (field) {
+                case "title":
+                    article.setTitle(textOr(parser, value, "No title"));
+                    break;
+                case "snippet":
+                    article.setAbstractText(textOr(parser, value, ""));
+                    break;
+                case "link":
+                    article.setLink(textOr(parser, value, ""));
+                    break;
+                case "publication_info":
+                    readPublicationInfo(parser, value, article);
+                    break;
+                case "inline_links":
+                    readInlineLinks(parser, value, article);
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+
+        // Publication date (approximate): January 1st of the year in the summary, else today
+        if (article.getPublicationDate() == null) {
+            article.setPublicationDate(LocalDate.now());
+        }
+
+        // Keywords are extracted against the whole corpus when the article is stored
+
+        return article;
+    }
+
+    /**
+     * The "summary" line lists every author before the first " - "
+     * ("A Einstein, B Podolsky - Physical review, 1935 - APS"); the "authors"
+     * array only holds those with a Scholar profile, so it is the fallback.
+     * The part after it is the venue and the publication year.
+     */
+    private void readPublicationInfo(JsonParser parser, JsonToken value, Article article) throws IOException {
+        if (value != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return;
+        }
+
+        String authors = null;
+        String summary = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken fieldValue = parser.nextToken();
+
+            if ("authors".equals(field) && fieldValue == JsonToken.START_ARRAY) {
+                authors = readAuthorNames(parser);
+            } else if ("authors".equals(field) && fieldValue == JsonToken.VALUE_STRING) {
+                authors = parser.getText();
+            } else if ("summary".equals(field) && fieldValue == JsonToken.VALUE_STRING) {
+                summary = parser.getText();
+            } else {
+                parser.skipChildren();
+            }
+        }
+
+        if (summary != null) {
+            int dash = summary.indexOf(" - ");
+            authors = dash >= 0 ? summary.substring(0, dash) : summary;
+            if (dash >= 0) {
+                readSource(summary.substring(dash + 3), article);
+            }
+        }
+        article.setAuthors(authors != null ? authors : "");
+    }
+
+    /**
+     * Reads venue and year from "Physical review, 1935 - APS"
+     */
+    private void readSource(String source, Article article) {
+        int dash = source.indexOf(" - ");
+        String middle = (dash >= 0 ? source.substring(0, dash) : source).trim();
+
+        Matcher year = SOURCE_YEAR.matcher(middle);
+        boolean dated = year.find();
+        if (dated) {
+            article.setPublicationDate(LocalDate.of(Integer.parseInt(year.group(1)), 1, 1));
+            middle = middle.substring(0, year.start()).trim();
+        }
+        // With only two parts ("A Einstein - APS") the second one is the publisher
+        if ((dash >= 0 || dated) && !middle.isEmpty() && !middle.equals("…")) {
+            article.setVenue(middle);
+        }
+    }
+
+    private String readAuthorNames(JsonParser parser) throws IOException {
+        StringBuilder names = new StringBuilder();
+
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (parser.currentToken() != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                continue;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken fieldValue = parser.nextToken();
+                if ("name".equals(field) && fieldValue == JsonToken.VALUE_STRING) {
+                    if (names.length() > 0) {
+                        names.append(", ");
+                    }
+                    names.append(parser.getText());
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        return names.toString();
+    }
+
+    /**
+     * Citation count lives at inline_links.cited_by.total
+     */
+    private void readInlineLinks(JsonParser parser, JsonToken value, Article article) throws IOException {
+        if (value != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return;
+        }
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken fieldValue = parser.nextToken();
+
+            if ("cited_by".equals(field) && fieldValue == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String citedField = parser.getCurrentName();
+                    JsonToken citedValue = parser.nextToken();
+                    if ("total".equals(citedField) && citedValue == JsonToken.VALUE_NUMBER_INT) {
+                        article.setCitedBy(parser.getIntValue());
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private static String textOr(JsonParser parser, JsonToken value, String fallback) throws IOException {
+        if (value == JsonToken.VALUE_STRING) {
+            return parser.getText();
+        }
+        parser.skipChildren();
+        return fallback;
+    }
+}
@@ -0,0 +1,139 @@
+package service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent identical calls
+ * The first caller for a key starts the call; everyone asking for the same
+ * key before it completes gets the same future instead of starting another.
+ * Once the call completes the key is free again, so results are never
+ * reused after the fact (that is the response cache's job).
+ *
+ * @param <V> Result type; it is shared between callers, so it must not be mutated
+ */
+public class SingleFlight<V> {
+
+    // Per-key counters are kept for this many recently used keys
+    private static final int MAX_TRACKED_KEYS = 1024;
+
+    private final Map<String, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final Map<String, Counts> countsByKey = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Counts> eldest) {
+            return size() > MAX_TRACKED_KEYS;
+        }
+    };
+
+    /**
+     * Returns the call in flight for the key, starting it if there is none
+     *
+     * @param key Normalized request key
+     * @param call Starts the call; only invoked if no call for the key is in flight
+     * @return Future result, shared by all concurrent callers of the key
+     */
+    public CompletableFuture<V> execute(String key, Supplier<CompletableFuture<V>> call) {
+        CompletableFuture<V> shared = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, shared);
+        if (existing != null) {
+            coalesced.incrementAndGet();
+            count(key, true);
+            return existing;
+        }
+        calls.incrementAndGet();
+        count(key, false);
+
+        CompletableFuture<V> started;
+        try {
+            started = call.get();
+        } catch (RuntimeException e) {
+            started = CompletableFuture.failedFuture(e);
+        }
+        // The key is released before the result is published, so a caller
+        // that sees the result and asks again starts a new call
+        started.whenComplete((result, error) -> {
+            inFlight.remove(key, shared);
+            if (error != null) {
+                shared.completeExceptionally(error);
+            } else {
+                shared.complete(result);
+            }
+        });
+        return shared;
+    }
+
+    private void count(String key, boolean joined) {
+        synchronized (countsByKey) {
+            Counts counts = countsByKey.computeIfAbsent(key, k -> new Counts());
+            if (joined) {
+                counts.coalesced++;
+            } else {
+                counts.calls++;
+            }
+        }
+    }
+
+    /** Calls currently in flight */
+    public int getInFlight() { return inFlight.size(); }
+
+    /**
+     * Totals over all keys
+     */
+    public Stats getStats() {
+        return new Stats(calls.get(), coalesced.get());
+    }
+
+    /**
+     * Counters of one key, or null if it wasn't used recently
+     */
+    public Stats getStats(String key) {
+        synchronized (countsByKey) {
+            Counts counts = countsByKey.get(key);
+            return counts != null ? new Stats(counts.calls, counts.coalesced) : null;
+        }
+    }
+
+    private static final class Counts {
+        long calls;
+        long coalesced;
+    }
+
+    /**
+     * Snapshot of single-flight counters
+     */
+    public static class Stats {
+        private final long calls;
+        private final long coalesced;
+
+        Stats(long calls, long coalesced) {
+            this.calls = calls;
+            this.coalesced = coalesced;
+        }
+
+        /** Calls actually started */
+        public long getCalls() { return calls; }
+
+        /** Callers that shared a call already in flight (requests saved) */
+        public long getCoalesced() { return coalesced; }
+
+        public double getCoalescedRatio() {
+            long total = calls + coalesced;
+            return total == 0 ? 0.0 : (double) coalesced / total;
+        }
+
+        @Override
+        public String toString() {
+            return "SingleFlightStats{" +
+                    "calls=" + calls +
+                    ", coalesced=" + coalesced +
+                    '}';
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package service;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Executors for blocking I/O work (searches, response decoding)
+ */
+final class WorkerExecutors {
+
+    private WorkerExecutors() {}
+
+    /**
+     * Uses a virtual-thread-per-task executor when the runtime has one (Java 21+)
+     * The project targets Java 17, so it is looked up reflectively
+     *
+     * @param name Thread name used by the platform-thread fallback
+     * @param fallbackThreads Pool size of the fallback (0 = unbounded cached pool)
+     */
+    static ExecutorService newWorkerExecutor(String name, int fallbackThreads) {
+        try {
+            return (ExecutorService) MethodHandles.publicLookup()
+                    .findStatic(Executors.class, "newVirtualThreadPerTaskExecutor",
+                            MethodType.methodType(ExecutorService.class))
+                    .invoke();
+        } catch (Throwable e) {
+            if (fallbackThreads <= 0) {
+                return Executors.newCachedThreadPool(r -> daemon(r, name));
+            }
+            return Executors.newFixedThreadPool(fallbackThreads, r -> daemon(r, name));
+        }
+    }
+
+    private static Thread daemon(Runnable task, String name) {
+        Thread thread = new Thread(task, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+}
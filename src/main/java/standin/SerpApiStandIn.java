@@ -0,0 +1,293 @@
+package standin;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import service.ResponseCache;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Local imitation of SerpApi's search.json for tests and load tests
+ *
+ * Answers with a recorded fixture when one exists for the request, and
+ * with a generated page otherwise. Latency, 429s, 5xx errors and truncated
+ * bodies are injected according to a StandInConfig. Delayed responses are
+ * finished from a scheduler, so slow responses don't tie up a thread each.
+ *
+ * Point the application at it with
+ * -Dscholar.api.baseUrl=http://localhost:PORT/search.json
+ */
+public class SerpApiStandIn implements AutoCloseable {
+
+    private static final String PATH = "/search.json";
+
+    private final StandInConfig config;
+    private final HttpServer server;
+    private final ExecutorService handlers;
+    private final ScheduledExecutorService delays;
+    private final Random random;
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder fixtureHits = new LongAdder();
+    private final LongAdder rateLimited = new LongAdder();
+    private final LongAdder serverErrors = new LongAdder();
+    private final LongAdder truncated = new LongAdder();
+
+    /**
+     * Binds to localhost and starts serving
+     */
+    public SerpApiStandIn(StandInConfig config) throws IOException {
+        this.config = config;
+        this.random = new Random(config.getSeed());
+
+        AtomicInteger threadIds = new AtomicInteger();
+        this.handlers = Executors.newFixedThreadPool(
+                Math.max(4, Runtime.getRuntime().availableProcessors()),
+                r -> daemon(r, "standin-http-" + threadIds.getAndIncrement()));
+        this.delays = Executors.newScheduledThreadPool(2, r -> daemon(r, "standin-delay"));
+
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), config.getPort()), 1024);
+        server.createContext(PATH, this::handle);
+        server.setExecutor(handlers);
+        server.start();
+    }
+
+    private static Thread daemon(Runnable r, String name) {
+        Thread thread = new Thread(r, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    /** Port actually bound (useful when the config asked for 0) */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /** Value for ScholarAPIService's base URL */
+    public String getBaseUrl() {
+        return "http://localhost:" + getPort() + PATH;
+    }
+
+    private void handle(HttpExchange exchange) {
+        requests.increment();
+        try {
+            Map<String, String> params = queryParams(exchange.getRequestURI().getRawQuery());
+            Response response = respond(params);
+
+            long delay = latencyMs();
+            if (delay > 0) {
+                delays.schedule(() -> send(exchange, response), delay, TimeUnit.MILLISECONDS);
+            } else {
+                send(exchange, response);
+            }
+        } catch (RuntimeException | IOException e) {
+            send(exchange, new Response(500, error("Stand-in failure: " + e), false));
+        }
+    }
+
+    /**
+     * Decides the outcome of one request
+     */
+    private Response respond(Map<String, String> params) throws IOException {
+        synchronized (random) {
+            if (random.nextDouble() < config.getRateLimitRate()) {
+                rateLimited.increment();
+                return new Response(429, error("Your account has run out of searches."), false);
+            }
+            if (random.nextDouble() < config.getServerErrorRate()) {
+                serverErrors.increment();
+                return new Response(random.nextBoolean() ? 500 : 503, error("Internal error."), false);
+            }
+        }
+
+        String query = params.get("q");
+        if (query == null || query.isBlank()) {
+            return new Response(400, error("Missing query `q` parameter."), false);
+        }
+
+        byte[] body = fixture(params);
+        if (body != null) {
+            fixtureHits.increment();
+        } else {
+            int num = intParam(params, "num", 10);
+            int start = intParam(params, "start", 0);
+            // Like SerpApi, a page past the last result is a 200 with an error message
+            body = start > 0 && start >= config.getResultsPerQuery()
+                    ? error("Google hasn't returned any results for this query.")
+                    : SyntheticResults.page(query, start, num, config.getResultsPerQuery());
+        }
+
+        boolean truncate;
+        synchronized (random) {
+            truncate = random.nextDouble() < config.getTruncatedBodyRate();
+        }
+        if (truncate) {
+            truncated.increment();
+        }
+        return new Response(200, body, truncate);
+    }
+
+    /**
+     * Looks up a recorded response; files are named like cache entries
+     * (ResponseCache.key of the request parameters) so the API key and
+     * parameter order don't matter
+     */
+    private byte[] fixture(Map<String, String> params) throws IOException {
+        Path directory = config.getFixtureDirectory();
+        if (directory == null) {
+            return null;
+        }
+        Path file = directory.resolve(ResponseCache.key(params) + ".json");
+        return Files.isRegularFile(file) ? Files.readAllBytes(file) : null;
+    }
+
+    private long latencyMs() {
+        int min = config.getMinLatencyMs();
+        int max = config.getMaxLatencyMs();
+        if (max == 0) {
+            return 0;
+        }
+        synchronized (random) {
+            return min + (max > min ? random.nextInt(max - min + 1) : 0);
+        }
+    }
+
+    private void send(HttpExchange exchange, Response response) {
+        try (exchange) {
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            if (response.status == 429) {
+                exchange.getResponseHeaders().set("Retry-After", String.valueOf(config.getRetryAfterSeconds()));
+            }
+            // The full length is announced, so a truncated body shows up as a premature EOF
+            exchange.sendResponseHeaders(response.status, response.body.length);
+            OutputStream out = exchange.getResponseBody();
+            out.write(response.body, 0, response.truncate ? response.body.length / 2 : response.body.length);
+            out.flush();
+        } catch (IOException e) {
+            // Client went away, or the truncated write was rejected; nothing to report back
+        }
+    }
+
+    private static byte[] error(String message) {
+        String escaped = message.replace("\\", "\\\\").replace("\"", "\\\"");
+        return ("{\"error\": \"" + escaped + "\"}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static Map<String, String> queryParams(String rawQuery) {
+        Map<String, String> params = new LinkedHashMap<>();
+        if (rawQuery == null) {
+            return params;
+        }
+        for (String pair : rawQuery.split("&")) {
+            if (pair.isEmpty()) {
+                continue;
+            }
+            int eq = pair.indexOf('=');
+            String name = URLDecoder.decode(eq >= 0 ? pair.substring(0, eq) : pair, StandardCharsets.UTF_8);
+            String value = eq >= 0 ? URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8) : "";
+            params.put(name, value);
+        }
+        return params;
+    }
+
+    private static int intParam(Map<String, String> params, String name, int fallback) {
+        try {
+            return params.containsKey(name) ? Math.max(0, Integer.parseInt(params.get(name))) : fallback;
+        } catch (NumberFormatException e) {
+            return fallback;
+        }
+    }
+
+    /**
+     * Request counters by outcome
+     */
+    public String getStats() {
+        return "StandInStats{" +
+                "requests=" + requests.sum() +
+                ", fixtureHits=" + fixtureHits.sum() +
+                ", rateLimited=" + rateLimited.sum() +
+                ", serverErrors=" + serverErrors.sum() +
+                ", truncated=" + truncated.sum() +
+                '}';
+    }
+
+    /**
+     * Stops accepting requests and shuts the worker threads down
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+        delays.shutdownNow();
+        handlers.shutdownNow();
+    }
+
+    /**
+     * Runs the stand-in until the process is killed
+     *
+     * Usage: java -cp ... standin.SerpApiStandIn [--port N] [--fixtures DIR] [--results N]
+     *        [--latency MIN-MAX] [--rate-limit P] [--server-errors P] [--truncate P] [--seed N]
+     */
+    public static void main(String[] args) throws Exception {
+        StandInConfig config = new StandInConfig();
+        config.setPort(8089);
+
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--port": config.setPort(Integer.parseInt(value)); break;
+                case "--fixtures": config.setFixtureDirectory(Paths.get(value)); break;
+                case "--results": config.setResultsPerQuery(Integer.parseInt(value)); break;
+                case "--latency": {
+                    String[] range = value.split("-", 2);
+                    int min = Integer.parseInt(range[0]);
+                    config.setLatencyMs(min, range.length > 1 ? Integer.parseInt(range[1]) : min);
+                    break;
+                }
+                case "--rate-limit": config.setRateLimitRate(Double.parseDouble(value)); break;
+                case "--server-errors": config.setServerErrorRate(Double.parseDouble(value)); break;
+                case "--truncate": config.setTruncatedBodyRate(Double.parseDouble(value)); break;
+                case "--seed": config.setSeed(Long.parseLong(value)); break;
+                default: throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        SerpApiStandIn standIn = new SerpApiStandIn(config);
+        System.out.println("✓ SerpApi stand-in listening on " + standIn.getBaseUrl());
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            System.out.println(standIn.getStats());
+            standIn.close();
+        }));
+        Thread.currentThread().join();
+    }
+
+    /**
+     * Planned reply to one request
+     */
+    private static final class Response {
+        final int status;
+        final byte[] body;
+        final boolean truncate;
+
+        Response(int status, byte[] body, boolean truncate) {
+            this.status = status;
+            this.body = body;
+            this.truncate = truncate;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package standin;
+
+import java.nio.file.Path;
+
+/**
+ * Behaviour of the SerpApi stand-in server
+ * Fault rates are probabilities per request (0 = never, 1 = always) and
+ * are drawn independently in this order: 429, 5xx, truncated body.
+ */
+public class StandInConfig {
+    private int port = 0;
+    private Path fixtureDirectory;
+    private int resultsPerQuery = 100;
+    private int minLatencyMs = 0;
+    private int maxLatencyMs = 0;
+    private double rateLimitRate = 0;
+    private double serverErrorRate = 0;
+    private double truncatedBodyRate = 0;
+    private int retryAfterSeconds = 1;
+    private long seed = 42;
+
+    /** Listen port; 0 picks a free one */
+    public int getPort() { return port; }
+    public void setPort(int port) {
+        if (port < 0 || port > 65535) {
+            throw new IllegalArgumentException("port out of range");
+        }
+        this.port = port;
+    }
+
+    /** Directory of recorded responses named <ResponseCache.key(params)>.json, or null */
+    public Path getFixtureDirectory() { return fixtureDirectory; }
+    public void setFixtureDirectory(Path fixtureDirectory) { this.fixtureDirectory = fixtureDirectory; }
+
+    /** Total results of a synthetic query; pages past it come back short/empty */
+    public int getResultsPerQuery() { return resultsPerQuery; }
+    public void setResultsPerQuery(int resultsPerQuery) {
+        if (resultsPerQuery < 0) {
+            throw new IllegalArgumentException("resultsPerQuery must not be negative");
+        }
+        this.resultsPerQuery = resultsPerQuery;
+    }
+
+    /** Response delay, drawn uniformly between min and max */
+    public int getMinLatencyMs() { return minLatencyMs; }
+    public int getMaxLatencyMs() { return maxLatencyMs; }
+    public void setLatencyMs(int minLatencyMs, int maxLatencyMs) {
+        if (minLatencyMs < 0 || maxLatencyMs < minLatencyMs) {
+            throw new IllegalArgumentException("Latency range must satisfy 0 <= min <= max");
+        }
+        this.minLatencyMs = minLatencyMs;
+        this.maxLatencyMs = maxLatencyMs;
+    }
+
+    /** Share of requests answered with 429 Too Many Requests */
+    public double getRateLimitRate() { return rateLimitRate; }
+    public void setRateLimitRate(double rateLimitRate) {
+        this.rateLimitRate = probability(rateLimitRate, "rateLimitRate");
+    }
+
+    /** Share of requests answered with 500/503 */
+    public double getServerErrorRate() { return serverErrorRate; }
+    public void setServerErrorRate(double serverErrorRate) {
+        this.serverErrorRate = probability(serverErrorRate, "serverErrorRate");
+    }
+
+    /** Share of 200 responses cut off halfway through the body */
+    public double getTruncatedBodyRate() { return truncatedBodyRate; }
+    public void setTruncatedBodyRate(double truncatedBodyRate) {
+        this.truncatedBodyRate = probability(truncatedBodyRate, "truncatedBodyRate");
+    }
+
+    /** Retry-After header sent with 429 responses */
+    public int getRetryAfterSeconds() { return retryAfterSeconds; }
+    public void setRetryAfterSeconds(int retryAfterSeconds) {
+        if (retryAfterSeconds < 0) {
+            throw new IllegalArgumentException("retryAfterSeconds must not be negative");
+        }
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /** Seed for latency and fault draws, so load tests are repeatable */
+    public long getSeed() { return seed; }
+    public void setSeed(long seed) { this.seed = seed; }
+
+    private static double probability(double value, String name) {
+        if (value < 0 || value > 1) {
+            throw new IllegalArgumentException(name + " must be between 0 and 1");
+        }
+        return value;
+    }
+}
@@ -0,0 +1,115 @@
+package standin;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Generates search.json pages shaped like SerpApi google_scholar responses
+ * Content is derived from the query and result position only, so the same
+ * request always yields the same page (and the same natural keys).
+ */
+final class SyntheticResults {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final String[] WORDS = {
+            "quantum", "relativity", "radiation", "polonium", "radium", "electrodynamics",
+            "photon", "statistics", "diffusion", "brownian", "motion", "spectra", "isotopes",
+            "lattice", "thermal", "equilibrium", "field", "equations", "gravitation", "entropy"
+    };
+    private static final String[] COAUTHORS = {"B Podolsky", "N Rosen", "M Curie", "P Curie", "L Infeld"};
+
+    private SyntheticResults() {
+    }
+
+    /**
+     * @param query Search query ("q")
+     * @param start Offset of the first result
+     * @param num Requested page size
+     * @param total Results the query has in total
+     */
+    static byte[] page(String query, int start, int num, int total) {
+        int end = Math.min(total, start + num);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(2048 * Math.max(1, end - start));
+
+        try (JsonGenerator json = JSON_FACTORY.createGenerator(out, JsonEncoding.UTF8)) {
+            json.writeStartObject();
+
+            json.writeObjectFieldStart("search_metadata");
+            json.writeStringField("status", "Success");
+            json.writeStringField("created_at", "stand-in");
+            json.writeEndObject();
+
+            json.writeObjectFieldStart("search_parameters");
+            json.writeStringField("engine", "google_scholar");
+            json.writeStringField("q", query);
+            json.writeStringField("num", String.valueOf(num));
+            json.writeEndObject();
+
+            json.writeObjectFieldStart("search_information");
+            json.writeNumberField("total_results", total);
+            json.writeEndObject();
+
+            json.writeArrayFieldStart("organic_results");
+            for (int position = start; position < end; position++) {
+                writeResult(json, query, position);
+            }
+            json.writeEndArray();
+
+            json.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static void writeResult(JsonGenerator json, String query, int position) throws IOException {
+        int hash = (query.hashCode() * 31 + position) & 0x7fffffff;
+        String id = Integer.toHexString(hash) + "-" + position;
+
+        json.writeStartObject();
+        json.writeNumberField("position", position);
+        json.writeStringField("title", words(hash, 6) + " " + position);
+        json.writeStringField("result_id", id);
+        json.writeStringField("link", "https://standin.example.org/articles/" + id);
+        json.writeStringField("snippet", words(hash >>> 3, 30) + " …");
+
+        json.writeObjectFieldStart("publication_info");
+        json.writeStringField("summary", query + ", " + COAUTHORS[hash % COAUTHORS.length]
+                + " - Stand-in Journal, " + (1900 + hash % 120) + " - standin.example.org");
+        json.writeArrayFieldStart("authors");
+        json.writeStartObject();
+        json.writeStringField("name", query);
+        json.writeStringField("author_id", Integer.toHexString(query.hashCode()));
+        json.writeEndObject();
+        json.writeEndArray();
+        json.writeEndObject();
+
+        json.writeObjectFieldStart("inline_links");
+        json.writeObjectFieldStart("cited_by");
+        json.writeNumberField("total", hash % 10_000);
+        json.writeStringField("cites_id", String.valueOf(hash));
+        json.writeEndObject();
+        json.writeObjectFieldStart("versions");
+        json.writeNumberField("total", 1 + hash % 40);
+        json.writeEndObject();
+        json.writeEndObject();
+
+        json.writeEndObject();
+    }
+
+    private static String words(int seed, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(WORDS[(seed + i * 7) % WORDS.length]);
+            seed = (seed * 1103515245 + 12345) & 0x7fffffff;
+        }
+        return text.toString();
+    }
+}
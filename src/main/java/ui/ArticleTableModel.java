@@ -0,0 +1,339 @@
+package ui;
+
+import database.ArticleRepository;
+import model.Article;
+import javax.swing.SwingUtilities;
+import javax.swing.table.AbstractTableModel;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Virtual table model over the articles table
+ * Only the row count is known up front; pages are read from the database
+ * in the background as the table asks for their rows (i.e. as the user
+ * scrolls) and a bounded number of recently used pages is kept in memory.
+ *
+ * Alternatively the model shows the results of a full-text search, which
+ * are loaded at once (they are bounded by the search limit).
+ *
+ * Articles stored after the table was loaded (e.g. by a running harvest)
+ * are pushed in with addArticles() and shown above the paged rows, so the
+ * table never has to be reloaded to show them.
+ *
+ * All state is confined to the Swing event thread; database reads run on a
+ * single loader thread.
+ */
+public class ArticleTableModel extends AbstractTableModel {
+
+    private static final String[] COLUMNS = {"ID", "Title", "Authors", "Date", "Citations", "Researcher"};
+
+    // Pages kept in memory before the least recently used one is dropped
+    private static final int MAX_CACHED_PAGES = 50;
+
+    private volatile ArticleRepository dbManager;
+    private final int pageSize;
+    private final ExecutorService loader;
+
+    private int rowCount;
+    // Newest article ID the pages cover, -1 until the table is loaded
+    private int headId = -1;
+    // Articles added after loading, newest first, shown above the pages
+    private final List<Article> freshRows = new ArrayList<>();
+    private final Set<Integer> freshIds = new HashSet<>();
+    // Bumped on reload/clear so results of older loads are ignored
+    private int generation;
+    // pageStarts.get(p) is the beforeId that fetches page p (known once page p-1 is loaded)
+    private final List<Integer> pageStarts = new ArrayList<>();
+    private final Set<Integer> pendingPages = new HashSet<>();
+    private int wantedPage = -1;
+    // Non-null while search results are shown instead of the whole table
+    private List<Article> searchResults;
+    private final Map<Integer, List<Article>> pages =
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Integer, List<Article>> eldest) {
+                    return size() > MAX_CACHED_PAGES;
+                }
+            };
+
+    /**
+     * @param pageSize Rows read per database query
+     */
+    public ArticleTableModel(int pageSize) {
+        this.pageSize = pageSize;
+        this.loader = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "article-page-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Sets the source of article pages; call reload() afterwards to show them
+     */
+    public void setDatabaseManager(ArticleRepository dbManager) {
+        this.dbManager = dbManager;
+    }
+
+    /**
+     * Re-reads the row count and the first page in the background
+     * Must be called on the event thread
+     *
+     * @return Row count, completed on the event thread once the table is updated
+     */
+    public CompletableFuture<Integer> reload() {
+        int loadGeneration = resetState();
+        CompletableFuture<Integer> result = new CompletableFuture<>();
+
+        loader.execute(() -> {
+            try {
+                if (dbManager == null) {
+                    throw new IllegalStateException("Database is not initialized");
+                }
+                int count = dbManager.countArticles();
+                List<Article> firstPage = dbManager.getArticlePage(ArticleRepository.FIRST_PAGE, pageSize);
+
+                SwingUtilities.invokeLater(() -> {
+                    if (loadGeneration == generation) {
+                        rowCount = count;
+                        // Pin page 0 so later inserts only arrive through addArticles
+                        headId = firstPage.isEmpty() ? 0 : firstPage.get(0).getId();
+                        pageStarts.set(0, headId + 1);
+                        storePage(0, firstPage);
+                        fireTableDataChanged();
+                    }
+                    result.complete(count);
+                });
+            } catch (Exception e) {
+                SwingUtilities.invokeLater(() -> result.completeExceptionally(e));
+            }
+        });
+
+        return result;
+    }
+
+    /**
+     * Shows the articles matching a full-text query, best match first
+     * Must be called on the event thread; reload() returns to the full table
+     *
+     * @param query Free-text query
+     * @param limit Maximum number of results
+     * @return Number of results, completed on the event thread once the table is updated
+     */
+    public CompletableFuture<Integer> search(String query, int limit) {
+        int loadGeneration = resetState();
+        CompletableFuture<Integer> result = new CompletableFuture<>();
+
+        loader.execute(() -> {
+            try {
+                if (dbManager == null) {
+                    throw new IllegalStateException("Database is not initialized");
+                }
+                List<Article> hits = dbManager.search(query, limit);
+
+                SwingUtilities.invokeLater(() -> {
+                    if (loadGeneration == generation) {
+                        searchResults = hits;
+                        rowCount = hits.size();
+                        fireTableDataChanged();
+                    }
+                    result.complete(hits.size());
+                });
+            } catch (Exception e) {
+                SwingUtilities.invokeLater(() -> result.completeExceptionally(e));
+            }
+        });
+
+        return result;
+    }
+
+    /**
+     * Shows newly stored articles at the top of the table
+     * Ignored unless the whole table is shown; articles the loaded pages
+     * already cover (or that were added before) are skipped.
+     * Must be called on the event thread
+     *
+     * @param articles Stored articles (IDs set), in any order
+     * @return Number of rows added
+     */
+    public int addArticles(List<Article> articles) {
+        if (!isShowingTable()) {
+            return 0;
+        }
+
+        List<Article> added = new ArrayList<>();
+        for (Article article : articles) {
+            if (article.getId() > headId && freshIds.add(article.getId())) {
+                added.add(article);
+            }
+        }
+        if (added.isEmpty()) {
+            return 0;
+        }
+
+        added.sort(Comparator.comparingInt(Article::getId).reversed());
+        freshRows.addAll(0, added);
+        rowCount += added.size();
+        fireTableRowsInserted(0, added.size() - 1);
+        return added.size();
+    }
+
+    /**
+     * True once reload() has shown the whole table (not search results, not cleared)
+     */
+    public boolean isShowingTable() {
+        return headId >= 0;
+    }
+
+    /**
+     * Empties the view (doesn't delete from database)
+     */
+    public void clear() {
+        resetState();
+        fireTableDataChanged();
+    }
+
+    private int resetState() {
+        generation++;
+        rowCount = 0;
+        headId = -1;
+        freshRows.clear();
+        freshIds.clear();
+        pages.clear();
+        pendingPages.clear();
+        pageStarts.clear();
+        pageStarts.add(ArticleRepository.FIRST_PAGE);
+        wantedPage = -1;
+        searchResults = null;
+        return generation;
+    }
+
+    /**
+     * Stops the background loader
+     */
+    public void dispose() {
+        loader.shutdownNow();
+    }
+
+    @Override
+    public int getRowCount() { return rowCount; }
+
+    @Override
+    public int getColumnCount() { return COLUMNS.length; }
+
+    @Override
+    public String getColumnName(int column) { return COLUMNS[column]; }
+
+    @Override
+    public boolean isCellEditable(int row, int column) {
+        return false; // Make table read-only
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        Article article = articleAt(row);
+        if (article == null) {
+            return null;
+        }
+
+        switch (column) {
+            case 0: return article.getId();
+            case 1: return article.getTitle();
+            case 2: return article.getAuthors();
+            case 3: return article.getPublicationDate();
+            case 4: return article.getCitedBy();
+            case 5: return article.getResearcherName();
+            default: return null;
+        }
+    }
+
+    /**
+     * Article shown in a row, or null if its page isn't loaded yet
+     */
+    private Article articleAt(int row) {
+        if (searchResults != null) {
+            return row < searchResults.size() ? searchResults.get(row) : null;
+        }
+        if (row < freshRows.size()) {
+            return freshRows.get(row);
+        }
+        row -= freshRows.size();
+
+        int pageIndex = row / pageSize;
+        List<Article> page = pages.get(pageIndex);
+
+        if (page == null) {
+            // Not loaded yet: show an empty cell and fetch it in the background
+            requestPage(pageIndex);
+            return null;
+        }
+
+        int offset = row % pageSize;
+        return offset < page.size() ? page.get(offset) : null;
+    }
+
+    /**
+     * Schedules loading of a page
+     * Keyset pagination needs the last ID of the previous page, so when
+     * jumping ahead the pages in between are walked first
+     */
+    private void requestPage(int pageIndex) {
+        wantedPage = Math.max(wantedPage, pageIndex);
+
+        int loadable = Math.min(pageIndex, pageStarts.size() - 1);
+        if (pages.containsKey(loadable) || !pendingPages.add(loadable)) {
+            return;
+        }
+
+        int beforeId = pageStarts.get(loadable);
+        int loadGeneration = generation;
+
+        loader.execute(() -> {
+            try {
+                List<Article> page = dbManager.getArticlePage(beforeId, pageSize);
+                SwingUtilities.invokeLater(() -> pageLoaded(loadGeneration, loadable, page));
+            } catch (Exception e) {
+                System.err.println("✗ Page load error: " + e.getMessage());
+                SwingUtilities.invokeLater(() -> {
+                    if (loadGeneration == generation) {
+                        pendingPages.remove(loadable);
+                    }
+                });
+            }
+        });
+    }
+
+    private void pageLoaded(int loadGeneration, int pageIndex, List<Article> page) {
+        if (loadGeneration != generation) {
+            return;
+        }
+        pendingPages.remove(pageIndex);
+        storePage(pageIndex, page);
+
+        int firstRow = freshRows.size() + pageIndex * pageSize;
+        int lastRow = Math.min(firstRow + pageSize, rowCount) - 1;
+        if (firstRow <= lastRow) {
+            fireTableRowsUpdated(firstRow, lastRow);
+        }
+
+        // Continue walking towards a page the table asked for further down
+        if (wantedPage > pageIndex && page.size() == pageSize) {
+            requestPage(wantedPage);
+        }
+    }
+
+    private void storePage(int pageIndex, List<Article> page) {
+        pages.put(pageIndex, page);
+        if (pageIndex == pageStarts.size() - 1 && page.size() == pageSize) {
+            pageStarts.add(page.get(page.size() - 1).getId());
+        }
+    }
+}
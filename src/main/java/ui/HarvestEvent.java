@@ -0,0 +1,44 @@
+package ui;
+
+import model.Article;
+import pipeline.IngestProgress;
+
+/**
+ * Update published by a background harvest to the event thread
+ * Exactly one of article, progress or message is set, matching the type.
+ */
+public final class HarvestEvent {
+
+    public enum Type { ROW, PROGRESS, MESSAGE }
+
+    private final Type type;
+    private final Article article;
+    private final IngestProgress progress;
+    private final String message;
+
+    private HarvestEvent(Type type, Article article, IngestProgress progress, String message) {
+        this.type = type;
+        this.article = article;
+        this.progress = progress;
+        this.message = message;
+    }
+
+    /** A stored article (ID set) to show in the table */
+    public static HarvestEvent row(Article article) {
+        return new HarvestEvent(Type.ROW, article, null, null);
+    }
+
+    public static HarvestEvent progress(IngestProgress progress) {
+        return new HarvestEvent(Type.PROGRESS, null, progress, null);
+    }
+
+    /** A line for the activity log */
+    public static HarvestEvent message(String message) {
+        return new HarvestEvent(Type.MESSAGE, null, null, message);
+    }
+
+    public Type getType() { return type; }
+    public Article getArticle() { return article; }
+    public IngestProgress getProgress() { return progress; }
+    public String getMessage() { return message; }
+}
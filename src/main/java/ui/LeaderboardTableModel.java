@@ -0,0 +1,60 @@
+package ui;
+
+import ranking.ResearcherMetrics;
+import javax.swing.table.AbstractTableModel;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Table model for the researcher leaderboard (one row per researcher, rank order)
+ * Must be used on the Swing event thread
+ */
+public class LeaderboardTableModel extends AbstractTableModel {
+
+    private static final String[] COLUMNS =
+            {"Rank", "Researcher", "h-index", "i10-index", "Citations", "Recent", "Articles"};
+
+    private List<ResearcherMetrics> rows = new ArrayList<>();
+
+    /**
+     * Replaces the rows with a new leaderboard
+     */
+    public void setRows(List<ResearcherMetrics> rows) {
+        this.rows = new ArrayList<>(rows);
+        fireTableDataChanged();
+    }
+
+    @Override
+    public int getRowCount() { return rows.size(); }
+
+    @Override
+    public int getColumnCount() { return COLUMNS.length; }
+
+    @Override
+    public String getColumnName(int column) { return COLUMNS[column]; }
+
+    @Override
+    public Class<?> getColumnClass(int column) {
+        return column == 1 ? String.class : Number.class;
+    }
+
+    @Override
+    public boolean isCellEditable(int row, int column) {
+        return false;
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        ResearcherMetrics metrics = rows.get(row);
+        switch (column) {
+            case 0: return row + 1;
+            case 1: return metrics.getResearcher();
+            case 2: return metrics.getHIndex();
+            case 3: return metrics.getI10Index();
+            case 4: return metrics.getTotalCitations();
+            case 5: return metrics.getRecentCitations();
+            case 6: return metrics.getArticles();
+            default: return null;
+        }
+    }
+}